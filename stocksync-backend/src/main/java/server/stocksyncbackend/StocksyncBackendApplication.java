@@ -2,8 +2,10 @@ package server.stocksyncbackend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class StocksyncBackendApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,217 @@
+package server.stocksyncbackend.config.filters;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import server.stocksyncbackend.dto.responses.ErrorResponse;
+import server.stocksyncbackend.utils.cache.TokenBucketLimiter;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Throttles the unauthenticated auth endpoints before they reach the AuthenticationManager:
+// one bucket per client IP for login/refresh/register, plus one per (username, client IP) for login,
+// so a single source gets limited bcrypt work overall and only a few guesses at any one account.
+// The account bucket includes the IP so that failing logins elsewhere cannot lock its owner out.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN = "/api/auth/login";
+    private static final String REFRESH = "/api/auth/refresh";
+    private static final String REGISTER = "/api/auth/register";
+
+    // a login body is a few hundred bytes; a bigger one is refused rather than let padding
+    // hide the username from the per-account bucket
+    private static final int MAX_BODY_BYTES = 8 * 1024;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${security.rate-limit.enabled}")
+    private boolean enabled;
+
+    @Value("${security.rate-limit.stripes}")
+    private int stripes;
+
+    @Value("${security.rate-limit.ip.capacity}")
+    private long ipCapacity;
+
+    @Value("${security.rate-limit.ip.refill-per-minute}")
+    private long ipRefillPerMinute;
+
+    @Value("${security.rate-limit.username.capacity}")
+    private long usernameCapacity;
+
+    @Value("${security.rate-limit.username.refill-per-minute}")
+    private long usernameRefillPerMinute;
+
+    private TokenBucketLimiter ipLimiter;
+    private TokenBucketLimiter usernameLimiter;
+
+    @PostConstruct
+    private void init() {
+        ipLimiter = new TokenBucketLimiter(stripes, ipCapacity, ipRefillPerMinute);
+        usernameLimiter = new TokenBucketLimiter(stripes, usernameCapacity, usernameRefillPerMinute);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"POST".equalsIgnoreCase(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !LOGIN.equals(path) && !REFRESH.equals(path) && !REGISTER.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        // the client address, already resolved from X-Forwarded-For when a trusted proxy sent it
+        String clientIp = request.getRemoteAddr();
+        long waitNanos = ipLimiter.tryAcquire(clientIp);
+        if (waitNanos > 0) {
+            reject(request, response, waitNanos);
+            return;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (LOGIN.equals(path)) {
+            CachedBodyRequest cached = new CachedBodyRequest(request);
+            if (cached.body.length > MAX_BODY_BYTES) {
+                writeError(request, response, HttpStatus.CONTENT_TOO_LARGE, "Request body too large");
+                return;
+            }
+            String username = usernameOf(cached.body);
+            if (username != null) {
+                waitNanos = usernameLimiter.tryAcquire(username + '|' + clientIp);
+                if (waitNanos > 0) {
+                    reject(request, response, waitNanos);
+                    return;
+                }
+            }
+            request = cached;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate-limit.eviction-interval-ms}")
+    public void evictIdleBuckets() {
+        int evicted = ipLimiter.evictIdle() + usernameLimiter.evictIdle();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+
+    private String usernameOf(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            return username != null && username.isString()
+                    ? username.asString().trim().toLowerCase(Locale.ROOT)
+                    : null;
+        } catch (RuntimeException ex) {
+            // malformed JSON: the controller will reject it, the IP bucket already counted it
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        writeError(request, response, HttpStatus.TOO_MANY_REQUESTS,
+                "Too many requests, retry after " + retryAfterSeconds + "s");
+    }
+
+    // same body shape as GlobalExceptionHandler, which this filter runs in front of
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build());
+    }
+
+    // Reads the body once so the username can be peeked at, then replays it to the controller
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // the whole body is already in memory, so it is all available at once
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException ex) {
+                        readListener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+    }
+}
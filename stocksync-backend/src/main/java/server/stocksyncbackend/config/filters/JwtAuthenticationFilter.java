@@ -6,13 +6,18 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import server.stocksyncbackend.config.security.PermissionAuthenticationToken;
 import server.stocksyncbackend.service.CustomUserDetailsService;
+import server.stocksyncbackend.service.user.UserPrincipal;
+import server.stocksyncbackend.service.user.UserPrincipalCache;
 import server.stocksyncbackend.utils.jwt.JwtService;
+import server.stocksyncbackend.utils.jwt.VerifiedAccessToken;
 
 
 import java.io.IOException;
@@ -23,6 +28,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final UserPrincipalCache userPrincipalCache;
+
+    // true: authorities come from the token's roles claim (no database call per request)
+    @Value("${security.jwt.claims-authentication}")
+    private boolean claimsAuthentication;
 
     @Override
     protected void doFilterInternal(
@@ -41,27 +51,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
 
         try {
-            var claims = jwtService.validateToken(token).getPayload();
+            VerifiedAccessToken verified = jwtService.verifyAccessToken(token);
 
-            if (!"ACCESS".equals(claims.get("type"))) {
+            if (verified == null) {
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            String username = claims.getSubject();
-
             if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails =
-                        userDetailsService.loadUserByUsername(username);
-
-                UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-
-                SecurityContextHolder.getContext().setAuthentication(auth);
+                SecurityContextHolder.getContext().setAuthentication(
+                        claimsAuthentication ? fromClaims(verified) : fromUserDetails(verified.getUsername())
+                );
             }
 
         } catch (JwtException ex) {
@@ -73,4 +73,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // stateless: the signed roles and permission claims are trusted until the token expires
+    private PermissionAuthenticationToken fromClaims(VerifiedAccessToken verified) {
+        return new PermissionAuthenticationToken(
+                verified.getUsername(),
+                verified.getAuthorities(),
+                verified.getPermissions()
+        );
+    }
+
+    // database-backed: current roles and permissions on every request
+    private PermissionAuthenticationToken fromUserDetails(String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        long permissions = userPrincipalCache.get(username)
+                .map(UserPrincipal::getPermissions)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return new PermissionAuthenticationToken(
+                userDetails,
+                userDetails.getAuthorities(),
+                permissions
+        );
+    }
 }
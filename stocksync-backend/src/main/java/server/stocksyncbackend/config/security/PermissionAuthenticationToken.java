@@ -0,0 +1,34 @@
+package server.stocksyncbackend.config.security;
+
+import lombok.Getter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import server.stocksyncbackend.utils.types.Permission;
+
+import java.util.Collection;
+
+// An authenticated request together with its permission mask (see PermissionRegistry).
+// The roles are still exposed as ROLE_ authorities for anything that checks those.
+@Getter
+public class PermissionAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private final long permissions;
+
+    public PermissionAuthenticationToken(
+            Object principal,
+            Collection<? extends GrantedAuthority> authorities,
+            long permissions
+    ) {
+        super(principal, null, authorities);
+        this.permissions = permissions;
+    }
+
+    public boolean hasAll(long required) {
+        return (permissions & required) == required;
+    }
+
+    public static boolean has(Authentication authentication, Permission permission) {
+        return authentication instanceof PermissionAuthenticationToken token && token.hasAll(permission.mask());
+    }
+}
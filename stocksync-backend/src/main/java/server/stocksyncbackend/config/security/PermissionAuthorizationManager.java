@@ -0,0 +1,38 @@
+package server.stocksyncbackend.config.security;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import server.stocksyncbackend.utils.types.Permission;
+
+import java.util.function.Supplier;
+
+// Grants a request when the caller's permission mask contains every required bit.
+// The required mask is built once per rule and both decisions are shared, so a check allocates nothing.
+public final class PermissionAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final long required;
+
+    private PermissionAuthorizationManager(long required) {
+        this.required = required;
+    }
+
+    public static PermissionAuthorizationManager require(Permission... permissions) {
+        return new PermissionAuthorizationManager(Permission.maskOf(permissions));
+    }
+
+    @Override
+    public AuthorizationResult authorize(
+            Supplier<? extends Authentication> authentication,
+            RequestAuthorizationContext context
+    ) {
+        return authentication.get() instanceof PermissionAuthenticationToken token && token.hasAll(required)
+                ? GRANTED
+                : DENIED;
+    }
+}
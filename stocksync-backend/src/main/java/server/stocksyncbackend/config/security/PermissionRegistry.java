@@ -0,0 +1,60 @@
+package server.stocksyncbackend.config.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import server.stocksyncbackend.utils.types.Permission;
+
+import java.util.*;
+
+import static server.stocksyncbackend.utils.types.Permission.*;
+
+// Role -> permissions, compiled once into one long per role. A user's mask is the OR of
+// their roles' masks; it is put into the access token so a request check is a single AND.
+@Slf4j
+@Component
+public class PermissionRegistry {
+
+    private static final Map<String, EnumSet<Permission>> GRANTS = Map.of(
+            "ADMIN", EnumSet.allOf(Permission.class),
+            "MANAGER", EnumSet.complementOf(EnumSet.of(USER_MANAGE, SYSTEM_MONITOR)),
+            "PURCHASING", EnumSet.of(
+                    PO_READ, PO_CREATE, PO_IMPORT, PO_STATUS_CHANGE,
+                    SUPPLIER_READ, SUPPLIER_CREATE, SUPPLIER_UPDATE,
+                    GRN_READ,
+                    INVENTORY_READ
+            ),
+            "WAREHOUSE", EnumSet.of(
+                    PO_READ, PO_PRINT, PO_STATUS_CHANGE,
+                    SUPPLIER_READ,
+                    GRN_READ, GRN_CREATE, GRN_COMPLETE,
+                    INVENTORY_READ, INVENTORY_POST, INVENTORY_RESERVE
+            ),
+            "SALES", EnumSet.of(PO_READ, SUPPLIER_READ, GRN_READ, INVENTORY_READ, INVENTORY_RESERVE)
+    );
+
+    private Map<String, Long> masksByRole;
+
+    @PostConstruct
+    void compile() {
+        if (Permission.values().length > Long.SIZE) {
+            throw new IllegalStateException("More than " + Long.SIZE + " permissions do not fit in a long mask");
+        }
+
+        Map<String, Long> masks = new HashMap<>();
+        GRANTS.forEach((role, permissions) ->
+                masks.put(role, Permission.maskOf(permissions.toArray(Permission[]::new))));
+        masksByRole = Map.copyOf(masks);
+
+        masksByRole.forEach((role, mask) -> log.debug("Role {} -> permissions {}", role, Long.toBinaryString(mask)));
+    }
+
+    // roles without a grant (or unknown) contribute nothing
+    public long maskFor(Collection<String> roleNames) {
+        long mask = 0;
+        for (String roleName : roleNames) {
+            mask |= masksByRole.getOrDefault(roleName, 0L);
+        }
+        return mask;
+    }
+}
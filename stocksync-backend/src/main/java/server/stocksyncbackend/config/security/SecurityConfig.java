@@ -1,24 +1,36 @@
 package server.stocksyncbackend.config.security;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import server.stocksyncbackend.config.filters.AuthRateLimitFilter;
 import server.stocksyncbackend.config.filters.JwtAuthenticationFilter;
+import server.stocksyncbackend.service.password.BcryptCostCalibrator;
+import server.stocksyncbackend.service.password.OffloadedPasswordEncoder;
+import server.stocksyncbackend.service.password.PasswordHashExecutor;
+import server.stocksyncbackend.utils.types.Permission;
+
+import java.util.Map;
+
+import static server.stocksyncbackend.config.security.PermissionAuthorizationManager.require;
 
 @Configuration
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -32,7 +44,10 @@ public class SecurityConfig {
                 )
 
                 .authorizeHttpRequests(auth -> auth
+                        // registration assigns the roles in the request body, so it is an admin action
+                        .requestMatchers(HttpMethod.POST, "/api/auth/register").access(require(Permission.USER_MANAGE))
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
                         // Swagger / OpenAPI
                         .requestMatchers(
                                 "/v3/api-docs/**",
@@ -41,9 +56,52 @@ public class SecurityConfig {
                         ).permitAll()
                         //.requestMatchers("/admin/**").hasRole("ADMIN")
 
+                        // ---- purchase orders ----
+                        .requestMatchers(HttpMethod.GET, "/api/purchase-orders/**", "/api/new-purchase-orders/**")
+                        .access(require(Permission.PO_READ))
+                        .requestMatchers(HttpMethod.POST, "/api/purchase-orders/import")
+                        .access(require(Permission.PO_IMPORT))
+                        .requestMatchers(HttpMethod.POST, "/api/purchase-orders/stickers", "/api/purchase-orders/stickers/batch")
+                        .access(require(Permission.PO_PRINT))
+                        .requestMatchers(HttpMethod.POST, "/api/purchase-orders/status", "/api/purchase-orders/ChangeReceiveStatus")
+                        .access(require(Permission.PO_STATUS_CHANGE))
+                        .requestMatchers(HttpMethod.POST, "/api/purchase-orders", "/api/new-purchase-orders")
+                        .access(require(Permission.PO_CREATE))
+
+                        // ---- suppliers ----
+                        .requestMatchers(HttpMethod.GET, "/api/suppliers/**").access(require(Permission.SUPPLIER_READ))
+                        .requestMatchers(HttpMethod.POST, "/api/suppliers/create").access(require(Permission.SUPPLIER_CREATE))
+                        .requestMatchers(HttpMethod.PUT, "/api/suppliers").access(require(Permission.SUPPLIER_UPDATE))
+                        .requestMatchers(HttpMethod.DELETE, "/api/suppliers/**").access(require(Permission.SUPPLIER_DELETE))
+
+                        // ---- GRNs (completing one additionally needs GRN_COMPLETE, checked in GRNController) ----
+                        .requestMatchers(HttpMethod.GET, "/api/grns/**").access(require(Permission.GRN_READ))
+                        .requestMatchers(HttpMethod.POST, "/api/grns", "/api/grns/intake").access(require(Permission.GRN_CREATE))
+
+                        // ---- inventory ----
+                        .requestMatchers(HttpMethod.GET, "/api/inventory/**").access(require(Permission.INVENTORY_READ))
+                        .requestMatchers(HttpMethod.POST, "/api/inventory/postings", "/api/inventory/reservations/*/fulfil",
+                                "/api/inventory/transfers", "/api/inventory/transfers/import", "/api/inventory/snapshots")
+                        .access(require(Permission.INVENTORY_POST))
+                        .requestMatchers(HttpMethod.POST, "/api/inventory/reservations/*").access(require(Permission.INVENTORY_RESERVE))
+                        .requestMatchers(HttpMethod.DELETE, "/api/inventory/reservations/*").access(require(Permission.INVENTORY_RESERVE))
+                        // reorder rules raise purchase orders
+                        .requestMatchers(HttpMethod.PUT, "/api/inventory/reorder-rules").access(require(Permission.PO_CREATE))
+                        .requestMatchers(HttpMethod.POST, "/api/inventory/reorder-rules/scan").access(require(Permission.PO_CREATE))
+
+                        // ---- users ----
+                        .requestMatchers(HttpMethod.POST, "/api/users/bulk").access(require(Permission.USER_MANAGE))
+                        .requestMatchers(HttpMethod.GET, "/api/users/cache-stats").access(require(Permission.SYSTEM_MONITOR))
+
                         .anyRequest().authenticated()
                 )
 
+                // throttled requests never reach token parsing or the AuthenticationManager
+                .addFilterBefore(
+                        authRateLimitFilter,
+                        UsernamePasswordAuthenticationFilter.class
+                )
+
                 .addFilterBefore(
                         jwtAuthenticationFilter,
                         UsernamePasswordAuthenticationFilter.class
@@ -51,9 +109,23 @@ public class SecurityConfig {
 
                 .build();
     }
+    // New hashes are written as {bcrypt}<hash> at the configured (or calibrated) strength.
+    // Older rows have no {id} prefix; they still match through the default encoder and are
+    // rehashed on the next successful login (see CustomUserDetailsService.updatePassword).
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public OffloadedPasswordEncoder passwordEncoder(
+            PasswordHashExecutor passwordHashExecutor,
+            @Value("${security.password.bcrypt-strength}") int strength,
+            @Value("${security.password.target-hash-ms}") long targetHashMs
+    ) {
+        int bcryptStrength = strength > 0 ? strength : BcryptCostCalibrator.calibrate(targetHashMs);
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(
+                "bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(bcryptStrength))
+        );
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        return new OffloadedPasswordEncoder(delegating, passwordHashExecutor);
     }
 
     @Bean
@@ -52,8 +52,8 @@ public class AuthController {
             summary = "Refresh access token",
             description = "Generate new access token using refresh token from HttpOnly cookie",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Token refreshed"),
-                    @ApiResponse(responseCode = "401", description = "Invalid refresh token")
+                    @ApiResponse(responseCode = "200", description = "Token refreshed, refresh cookie rotated"),
+                    @ApiResponse(responseCode = "401", description = "Invalid, revoked or reused refresh token")
             }
     )
     @PostMapping("/refresh")
@@ -68,9 +68,11 @@ public class AuthController {
     // REGISTER
     @Operation(
             summary = "Register new user",
-            description = "Create a new user with roles",
+            description = "Create a new user with roles (requires USER_MANAGE)",
+            security = @SecurityRequirement(name = "bearerAuth"),
             responses = {
                     @ApiResponse(responseCode = "200", description = "User registered"),
+                    @ApiResponse(responseCode = "403", description = "Missing USER_MANAGE permission"),
                     @ApiResponse(responseCode = "409", description = "Username already exists")
             }
     )
@@ -87,11 +89,11 @@ public class AuthController {
     // LOGOUT
     @Operation(
             summary = "Logout user",
-            description = "Clears refresh token cookie"
+            description = "Revokes the refresh token's session and clears the cookie"
     )
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(HttpServletResponse response) {
-        authService.logout(response);
+    public ResponseEntity<?> logout(HttpServletRequest request, HttpServletResponse response) {
+        authService.logout(request, response);
         return ResponseEntity.ok("User logged out successfully");
     }
 
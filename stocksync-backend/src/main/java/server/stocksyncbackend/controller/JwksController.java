@@ -0,0 +1,42 @@
+package server.stocksyncbackend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import server.stocksyncbackend.utils.jwt.JwtKeyRing;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "Auth, JWT, and Account management APIs")
+public class JwksController {
+
+    private final JwtKeyRing jwtKeyRing;
+
+    // localhost:8080/.well-known/jwks.json
+    // PUBLIC SIGNING KEYS
+    @Operation(
+            summary = "JSON Web Key Set",
+            description = "Public keys (by kid) that verify tokens issued by this service, including keys being rotated out",
+            responses = @ApiResponse(responseCode = "200", description = "Key set")
+    )
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        List<Map<String, Object>> keys = jwtKeyRing.publicJwks().stream()
+                .<Map<String, Object>>map(LinkedHashMap::new)
+                .toList();
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(Map.of("keys", keys));
+    }
+}
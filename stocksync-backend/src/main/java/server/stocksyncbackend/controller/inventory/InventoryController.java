@@ -0,0 +1,108 @@
+package server.stocksyncbackend.controller.inventory;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import server.stocksyncbackend.dto.projections.MovementRow;
+import server.stocksyncbackend.dto.projections.StockLevelRow;
+import server.stocksyncbackend.dto.requests.StockPostingRequest;
+import server.stocksyncbackend.dto.responses.StockMatrixResponse;
+import server.stocksyncbackend.dto.responses.StockPostingResponse;
+import server.stocksyncbackend.service.inventory.InventoryLedgerService;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/inventory")
+@Tag(name = "Inventory", description = "Stock levels and the stock movement ledger")
+public class InventoryController {
+
+    private final InventoryLedgerService inventoryLedgerService;
+
+    // localhost:8080/api/inventory?productId=1&warehouseId=2
+    @Operation(
+            summary = "Get stock levels",
+            description = "Quantity on hand per product and warehouse, optionally filtered by productId and / or warehouseId"
+    )
+    @ApiResponse(responseCode = "200", description = "Stock levels retrieved successfully")
+    @GetMapping
+    public ResponseEntity<List<StockLevelRow>> getLevels(
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) Long warehouseId
+    ) {
+        return ResponseEntity.ok(inventoryLedgerService.getLevels(productId, warehouseId));
+    }
+
+    // localhost:8080/api/inventory/on-hand?productId=1&warehouseId=2
+    @Operation(
+            summary = "Get quantity on hand",
+            description = "Served from the in-memory stock cache; 0 for a location that never had stock"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Quantity retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Missing or invalid id")
+    })
+    @GetMapping("/on-hand")
+    public ResponseEntity<Integer> getOnHand(
+            @RequestParam Long productId,
+            @RequestParam Long warehouseId
+    ) {
+        return ResponseEntity.ok(inventoryLedgerService.getOnHand(productId, warehouseId));
+    }
+
+    // localhost:8080/api/inventory/matrix?productIds=1,2,3&warehouseIds=1,2
+    @Operation(
+            summary = "Get a product x warehouse stock grid",
+            description = "Quantity on hand for every pair of the given products (up to 1000) and warehouses " +
+                    "(all warehouses when omitted), read from the in-memory stock cache as one consistent view"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stock grid retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "No or too many productIds, or an invalid id")
+    })
+    @GetMapping("/matrix")
+    public ResponseEntity<StockMatrixResponse> getMatrix(
+            @RequestParam List<Long> productIds,
+            @RequestParam(required = false) List<Long> warehouseIds
+    ) {
+        return ResponseEntity.ok(inventoryLedgerService.getMatrix(productIds, warehouseIds));
+    }
+
+    // localhost:8080/api/inventory/movements?referenceId=GRN-42
+    @Operation(
+            summary = "Get the movements of a posting",
+            description = "All ledger lines written under one reference (GRN, transfer, adjustment, ...)"
+    )
+    @ApiResponse(responseCode = "200", description = "Movements retrieved successfully")
+    @GetMapping("/movements")
+    public ResponseEntity<List<MovementRow>> getMovements(@RequestParam String referenceId) {
+        return ResponseEntity.ok(inventoryLedgerService.getMovements(referenceId));
+    }
+
+    // localhost:8080/api/inventory/postings
+    @Operation(
+            summary = "Post stock movements",
+            description = "Applies receipts, issues, transfers and adjustments in one transaction: " +
+                    "either every line is booked or, e.g. when one would take stock below zero, none is"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "All lines posted"),
+            @ApiResponse(responseCode = "400", description = "Invalid line, unknown product or warehouse"),
+            @ApiResponse(responseCode = "409", description = "Not enough stock on hand for an outgoing line")
+    })
+    @PostMapping("/postings")
+    public ResponseEntity<StockPostingResponse> post(
+            @RequestBody StockPostingRequest request,
+            Authentication authentication
+    ) {
+        return ResponseEntity.ok(inventoryLedgerService.post(
+                request.getReferenceId(), request.getLines(), authentication.getName()
+        ));
+    }
+}
@@ -0,0 +1,69 @@
+package server.stocksyncbackend.controller.inventory;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import server.stocksyncbackend.dto.projections.ReorderRuleRow;
+import server.stocksyncbackend.dto.requests.ReorderRuleRequest;
+import server.stocksyncbackend.dto.responses.ReorderScanResponse;
+import server.stocksyncbackend.service.inventory.ReorderRuleService;
+import server.stocksyncbackend.service.inventory.ReorderScanService;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/inventory/reorder-rules")
+@Tag(name = "Reorder rules", description = "Reorder points and automatic draft purchase orders")
+public class ReorderController {
+
+    private final ReorderRuleService reorderRuleService;
+    private final ReorderScanService reorderScanService;
+
+    // localhost:8080/api/inventory/reorder-rules?productId=1&warehouseId=2
+    @Operation(
+            summary = "Get reorder rules",
+            description = "Reorder point, reorder quantity and supplier per product and warehouse, " +
+                    "optionally filtered by productId and / or warehouseId"
+    )
+    @ApiResponse(responseCode = "200", description = "Reorder rules retrieved successfully")
+    @GetMapping
+    public ResponseEntity<List<ReorderRuleRow>> getRules(
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) Long warehouseId
+    ) {
+        return ResponseEntity.ok(reorderRuleService.getRules(productId, warehouseId));
+    }
+
+    // localhost:8080/api/inventory/reorder-rules
+    @Operation(
+            summary = "Create or replace reorder rules",
+            description = "Upserts up to 10000 rules keyed by (productId, warehouseId) in one transaction and " +
+                    "returns how many were written. Changed rules are evaluated by the next reorder scan"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rules saved"),
+            @ApiResponse(responseCode = "400", description = "Invalid rule, unknown product, warehouse or supplier")
+    })
+    @PutMapping
+    public ResponseEntity<Integer> saveRules(@RequestBody List<ReorderRuleRequest> rules) {
+        return ResponseEntity.ok(reorderRuleService.saveRules(rules));
+    }
+
+    // localhost:8080/api/inventory/reorder-rules/scan
+    @Operation(
+            summary = "Run the reorder scan now",
+            description = "Evaluates the locations touched by stock movements since the last scan and creates one " +
+                    "DRAFT purchase order per supplier and warehouse for the locations at or below their reorder " +
+                    "point. Also runs on a schedule"
+    )
+    @ApiResponse(responseCode = "200", description = "Scan finished (skipped when another instance is scanning)")
+    @PostMapping("/scan")
+    public ResponseEntity<ReorderScanResponse> scan() {
+        return ResponseEntity.ok(reorderScanService.scan());
+    }
+}
@@ -0,0 +1,87 @@
+package server.stocksyncbackend.controller.inventory;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import server.stocksyncbackend.dto.responses.ReservationResponse;
+import server.stocksyncbackend.service.inventory.StockReservationService;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/inventory/reservations")
+@Tag(name = "Stock reservations", description = "Stock held for sales orders until they ship or expire")
+public class StockReservationController {
+
+    private final StockReservationService stockReservationService;
+
+    // localhost:8080/api/inventory/reservations/12
+    @Operation(
+            summary = "Get the active reservation of a sales order",
+            description = "Reserved quantity per product in the order's warehouse and when it expires"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Reservation retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "The order holds no active reservation")
+    })
+    @GetMapping("/{salesOrderId}")
+    public ResponseEntity<ReservationResponse> getActive(@PathVariable Long salesOrderId) {
+        return ResponseEntity.ok(stockReservationService.getActive(salesOrderId));
+    }
+
+    // localhost:8080/api/inventory/reservations/12?ttlMinutes=60
+    @Operation(
+            summary = "Reserve stock for a sales order",
+            description = "Reserves every item of the order from its warehouse, or nothing when one item is short. " +
+                    "Reserved stock cannot be issued by other postings; the reservation is released automatically " +
+                    "after ttlMinutes (default from configuration). Repeating the call returns the active reservation"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "All items reserved"),
+            @ApiResponse(responseCode = "400", description = "Order without warehouse or items, or invalid ttlMinutes"),
+            @ApiResponse(responseCode = "404", description = "Sales order not found"),
+            @ApiResponse(responseCode = "409", description = "Not enough available stock for an item")
+    })
+    @PostMapping("/{salesOrderId}")
+    public ResponseEntity<ReservationResponse> reserve(
+            @PathVariable Long salesOrderId,
+            @RequestParam(required = false) Integer ttlMinutes
+    ) {
+        return ResponseEntity.ok(stockReservationService.reserve(salesOrderId, ttlMinutes));
+    }
+
+    // localhost:8080/api/inventory/reservations/12
+    @Operation(
+            summary = "Release a reservation",
+            description = "Makes the stock held for the order available again"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Reservation released"),
+            @ApiResponse(responseCode = "400", description = "The order holds no active reservation")
+    })
+    @DeleteMapping("/{salesOrderId}")
+    public ResponseEntity<ReservationResponse> release(@PathVariable Long salesOrderId) {
+        return ResponseEntity.ok(stockReservationService.release(salesOrderId));
+    }
+
+    // localhost:8080/api/inventory/reservations/12/fulfil
+    @Operation(
+            summary = "Fulfil a reservation",
+            description = "Issues the reserved stock to the order (ledger reference SO-<salesOrderId>) in one transaction"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Reserved stock issued"),
+            @ApiResponse(responseCode = "400", description = "The order holds no active reservation")
+    })
+    @PostMapping("/{salesOrderId}/fulfil")
+    public ResponseEntity<ReservationResponse> fulfil(
+            @PathVariable Long salesOrderId,
+            Authentication authentication
+    ) {
+        return ResponseEntity.ok(stockReservationService.fulfil(salesOrderId, authentication.getName()));
+    }
+}
@@ -0,0 +1,73 @@
+package server.stocksyncbackend.controller.inventory;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import server.stocksyncbackend.dto.responses.StockAsOfResponse;
+import server.stocksyncbackend.dto.responses.StockSnapshotResponse;
+import server.stocksyncbackend.service.inventory.StockSnapshotService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/inventory")
+@Tag(name = "Stock history", description = "Stock levels at a point in time, served from ledger snapshots")
+public class StockSnapshotController {
+
+    private final StockSnapshotService stockSnapshotService;
+
+    // localhost:8080/api/inventory/as-of?at=2026-09-30T23:59:59&warehouseId=2
+    @Operation(
+            summary = "Get stock as of a point in time",
+            description = "Quantity per product and warehouse at the given time, optionally filtered by productId " +
+                    "and / or warehouseId: the latest snapshot at or before that time plus the movements after it. " +
+                    "Locations at zero are left out"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stock levels retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Missing or invalid timestamp")
+    })
+    @GetMapping("/as-of")
+    public ResponseEntity<StockAsOfResponse> getAsOf(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) Long warehouseId
+    ) {
+        return ResponseEntity.ok(stockSnapshotService.getAsOf(at, productId, warehouseId));
+    }
+
+    // localhost:8080/api/inventory/snapshots
+    @Operation(
+            summary = "List stock snapshots",
+            description = "All ledger snapshots, newest first"
+    )
+    @ApiResponse(responseCode = "200", description = "Snapshots retrieved successfully")
+    @GetMapping("/snapshots")
+    public ResponseEntity<List<StockSnapshotResponse>> getSnapshots() {
+        return ResponseEntity.ok(stockSnapshotService.getSnapshots());
+    }
+
+    // localhost:8080/api/inventory/snapshots
+    @Operation(
+            summary = "Take a stock snapshot now",
+            description = "Checkpoints every location up to now minus the settle lag, in addition to the scheduled " +
+                    "snapshots. 204 when another instance is taking one or the latest one is not old enough"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Snapshot taken"),
+            @ApiResponse(responseCode = "204", description = "No snapshot taken")
+    })
+    @PostMapping("/snapshots")
+    public ResponseEntity<StockSnapshotResponse> takeSnapshot() {
+        return stockSnapshotService.takeSnapshot()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+}
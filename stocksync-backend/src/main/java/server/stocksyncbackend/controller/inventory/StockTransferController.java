@@ -0,0 +1,77 @@
+package server.stocksyncbackend.controller.inventory;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import server.stocksyncbackend.dto.requests.StockTransferRequest;
+import server.stocksyncbackend.dto.responses.StockPostingResponse;
+import server.stocksyncbackend.dto.responses.StockTransferImportResponse;
+import server.stocksyncbackend.service.inventory.StockTransferService;
+
+import java.io.IOException;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/inventory/transfers")
+@Tag(name = "Stock transfers", description = "Moving stock between warehouses")
+public class StockTransferController {
+
+    private final StockTransferService stockTransferService;
+
+    // localhost:8080/api/inventory/transfers
+    @Operation(
+            summary = "Transfer stock between two warehouses",
+            description = "Books a TRANSFER_OUT / TRANSFER_IN movement pair per line under one referenceId, " +
+                    "all lines in one transaction (up to 5000 lines)"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "All lines transferred"),
+            @ApiResponse(responseCode = "400", description = "Invalid line, same source and destination, unknown product or warehouse"),
+            @ApiResponse(responseCode = "409", description = "Not enough available stock in the source warehouse")
+    })
+    @PostMapping
+    public ResponseEntity<StockPostingResponse> transfer(
+            @RequestBody StockTransferRequest request,
+            Authentication authentication
+    ) {
+        return ResponseEntity.ok(stockTransferService.transfer(request, authentication.getName()));
+    }
+
+    // localhost:8080/api/inventory/transfers/import?referenceId=REBALANCE-2026-10
+    @Operation(
+            summary = "Bulk import stock transfers",
+            description = "Streams a CSV (text/csv, header row with fromWarehouseId, toWarehouseId, productId, quantity) " +
+                    "or NDJSON (application/x-ndjson, one row per line) upload and posts valid rows in batches of 1000, " +
+                    "all under one referenceId. A batch with a row that cannot be booked is rolled back and reported " +
+                    "row by row"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import finished",
+                    content = @Content(schema = @Schema(implementation = StockTransferImportResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Unsupported format or invalid CSV header")
+    })
+    @PostMapping(
+            value = "/import",
+            consumes = {StockTransferService.CSV, StockTransferService.NDJSON}
+    )
+    public ResponseEntity<StockTransferImportResponse> importTransfers(
+            @RequestParam(required = false) String referenceId,
+            HttpServletRequest request,
+            Authentication authentication
+    ) throws IOException {
+        return ResponseEntity.ok(stockTransferService.importTransfers(
+                request.getInputStream(), request.getContentType(), referenceId, authentication.getName()
+        ));
+    }
+}
@@ -8,18 +8,30 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import server.stocksyncbackend.config.security.PermissionAuthenticationToken;
 import server.stocksyncbackend.dto.requests.CreateGRNRequest;
+import server.stocksyncbackend.dto.responses.GrnIntakeResponse;
 import server.stocksyncbackend.dto.responses.GrnKPICardResponse;
-import server.stocksyncbackend.dto.responses.GrnResponse;
+import server.stocksyncbackend.dto.responses.GrnPageResponse;
 import server.stocksyncbackend.model.GRN;
 import server.stocksyncbackend.model.PurchaseOrder;
 import server.stocksyncbackend.service.purches.CreateNewGRNService;
+import server.stocksyncbackend.service.purches.GrnIntakeService;
+import server.stocksyncbackend.utils.exception.AccessDeniedCustomException;
+import server.stocksyncbackend.utils.types.GrnStatus;
+import server.stocksyncbackend.utils.types.LocationLevel;
+import server.stocksyncbackend.utils.types.Permission;
 
-import java.util.List;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/grns")
@@ -31,6 +43,7 @@ import java.util.List;
 public class GRNController {
 
     private final CreateNewGRNService grnService;
+    private final GrnIntakeService grnIntakeService;
 
     // ==================================================
     // Create New GRN
@@ -39,23 +52,80 @@ public class GRNController {
     @Operation(
             summary = "Create a new GRN",
             description = "Creates a GRN for a PENDING purchase order. " +
-                    "If GRN status is COMPLETED, the product is added to store inventory."
+                    "If GRN status is COMPLETED, the product is added to store inventory " +
+                    "and receivedQuantity is booked into the order's warehouse."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "GRN created successfully"),
             @ApiResponse(responseCode = "400", description = "Order not in PENDING state"),
+            @ApiResponse(responseCode = "403", description = "COMPLETED status without GRN_COMPLETE permission"),
             @ApiResponse(responseCode = "404", description = "Purchase order not found")
     })
     @PostMapping
     public ResponseEntity<String> createNewGrn(
-            @RequestBody CreateGRNRequest request
+            @RequestBody CreateGRNRequest request,
+            Authentication authentication
     ) {
+        requireCompletePermission(request, authentication);
         grnService.createNewGRN(request);
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body("GRN created successfully");
     }
 
+    // ==================================================
+    // Async GRN intake
+    // ==================================================
+
+    @Operation(
+            summary = "Submit a GRN for background processing",
+            description = "Records the GRN under the Idempotency-Key header and returns immediately. " +
+                    "Retrying with the same key returns the same intake instead of creating a second GRN. " +
+                    "Poll the status endpoint for the outcome."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "GRN accepted for processing",
+                    content = @Content(schema = @Schema(implementation = GrnIntakeResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Missing Idempotency-Key or poId"),
+            @ApiResponse(responseCode = "403", description = "COMPLETED status without GRN_COMPLETE permission"),
+            @ApiResponse(responseCode = "409", description = "Idempotency-Key already used for another purchase order")
+    })
+    @PostMapping("/intake")
+    public ResponseEntity<GrnIntakeResponse> submitGrn(
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
+            @RequestBody CreateGRNRequest request,
+            Authentication authentication
+    ) {
+        requireCompletePermission(request, authentication);
+        GrnIntakeResponse response = grnIntakeService.accept(idempotencyKey, request);
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/grns/intake/" + URLEncoder.encode(idempotencyKey, StandardCharsets.UTF_8)))
+                .body(response);
+    }
+
+    @Operation(
+            summary = "Get async GRN status",
+            description = "Returns ACCEPTED while queued, then COMPLETED with the GRN id or FAILED with the reason"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Intake status retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = GrnIntakeResponse.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "No intake for this key")
+    })
+    @GetMapping("/intake/{key}")
+    public ResponseEntity<GrnIntakeResponse> getGrnIntakeStatus(
+            @PathVariable("key") String idempotencyKey
+    ) {
+        return ResponseEntity.ok(grnIntakeService.getStatus(idempotencyKey));
+    }
+
     // ==================================================
     // Get Purchase Order by ID
     // ==================================================
@@ -100,19 +170,43 @@ public class GRNController {
     }
 
     // ==================================================
-    // Get All GRNs
+    // Search GRNs
     // ==================================================
 
+    // localhost:8080/api/grns?status=COMPLETED&receivedFrom=2026-01-01&receivedTo=2026-01-31&size=50&cursor=...
     @Operation(
-            summary = "Get all GRNs",
-            description = "Fetch all Goods Received Notes from the system"
-    )
-    @ApiResponse(
-            responseCode = "200",
-            description = "GRN list retrieved successfully"
+            summary = "Search GRNs",
+            description = "Cursor (keyset) paginated GRN list, newest first. Optional filters: status, inspectionLevel, " +
+                    "receivedFrom / receivedTo (inclusive dates) and poId; pass the returned nextCursor to fetch the following page"
     )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "GRN page retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = GrnPageResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid filter value or cursor")
+    })
     @GetMapping
-    public ResponseEntity<List<GrnResponse>> getAllGrns() {
-        return ResponseEntity.ok(grnService.getAllGrnRecords());
+    public ResponseEntity<GrnPageResponse> searchGrns(
+            @RequestParam(required = false) GrnStatus status,
+            @RequestParam(required = false) LocationLevel inspectionLevel,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate receivedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate receivedTo,
+            @RequestParam(required = false) Long poId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(
+                grnService.searchGrns(status, inspectionLevel, receivedFrom, receivedTo, poId, cursor, size)
+        );
+    }
+
+    // a COMPLETED GRN moves stock into inventory, which GRN_CREATE alone does not allow
+    private static void requireCompletePermission(CreateGRNRequest request, Authentication authentication) {
+        if (request.getStatus() == GrnStatus.COMPLETED
+                && !PermissionAuthenticationToken.has(authentication, Permission.GRN_COMPLETE)) {
+            throw new AccessDeniedCustomException("Completing a GRN requires the GRN_COMPLETE permission");
+        }
     }
-}
\ No newline at end of file
+}
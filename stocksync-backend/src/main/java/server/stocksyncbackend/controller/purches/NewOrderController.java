@@ -5,10 +5,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import server.stocksyncbackend.dto.requests.PerchesOderRequest;
 import server.stocksyncbackend.dto.requests.SupplierNameAndIdResponse;
 import server.stocksyncbackend.dto.requests.WareHouseNameAndIdResponse;
@@ -32,17 +34,24 @@ public class NewOrderController {
     // ===============================
     @Operation(
             summary = "Get all suppliers",
-            description = "Retrieve all supplier names with their corresponding IDs"
+            description = "Retrieve all supplier names with their corresponding IDs. " +
+                    "Supports If-None-Match with the returned ETag"
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Suppliers retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Suppliers not modified"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/suppliers")
-    public ResponseEntity<List<SupplierNameAndIdResponse>> getAllSuppliers() {
-        return ResponseEntity.ok(
-                purchaseOrderService.getAllSupplierNamesAndId()
-        );
+    public ResponseEntity<List<SupplierNameAndIdResponse>> getAllSuppliers(WebRequest webRequest) {
+        String etag = purchaseOrderService.referenceDataEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(purchaseOrderService.getAllSupplierNamesAndId());
     }
 
     // =================================
@@ -50,17 +59,24 @@ public class NewOrderController {
     // =================================
     @Operation(
             summary = "Get all warehouses",
-            description = "Retrieve all warehouse locations with their corresponding IDs"
+            description = "Retrieve all warehouse locations with their corresponding IDs. " +
+                    "Supports If-None-Match with the returned ETag"
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Warehouses retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Warehouses not modified"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/warehouses")
-    public ResponseEntity<List<WareHouseNameAndIdResponse>> getAllWarehouses() {
-        return ResponseEntity.ok(
-                purchaseOrderService.getAllWarehouseLocationsAndId()
-        );
+    public ResponseEntity<List<WareHouseNameAndIdResponse>> getAllWarehouses(WebRequest webRequest) {
+        String etag = purchaseOrderService.referenceDataEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(purchaseOrderService.getAllWarehouseLocationsAndId());
     }
 
     // ===============================
@@ -4,22 +4,36 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import server.stocksyncbackend.dto.requests.BulkStatusTransitionRequest;
 import server.stocksyncbackend.dto.requests.PerchesOderRequest;
+import server.stocksyncbackend.dto.responses.BulkStatusTransitionResponse;
 import server.stocksyncbackend.dto.responses.PerchesOderResponse;
+import server.stocksyncbackend.dto.responses.PurchaseOrderImportResponse;
+import server.stocksyncbackend.dto.responses.PurchaseOrderPageResponse;
+import server.stocksyncbackend.dto.responses.StickerBatchResponse;
 import server.stocksyncbackend.dto.responses.StickerPrintingDataResponse;
+import server.stocksyncbackend.service.purches.NewPurchaseOrderService;
 import server.stocksyncbackend.service.purches.PerchesOderService;
+import server.stocksyncbackend.service.purches.PurchaseOrderImportService;
 import server.stocksyncbackend.utils.exception.OrderNotFoundExceptionn;
 import server.stocksyncbackend.utils.exception.SuplierNotFoundException;
 import server.stocksyncbackend.utils.exception.WarehouseNotFoundException;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -29,6 +43,8 @@ import java.util.List;
 public class PurchaseOderController {
 
     private final PerchesOderService perchesOderService;
+    private final PurchaseOrderImportService purchaseOrderImportService;
+    private final NewPurchaseOrderService newPurchaseOrderService;
 
     // GET ALL PURCHASE ORDERS
     @Operation(
@@ -43,19 +59,47 @@ public class PurchaseOderController {
         return ResponseEntity.ok(perchesOderService.getAll());
     }
 
+    // localhost:8080/api/purchase-orders/page?sort=orderDate&direction=desc&size=50&cursor=...
+    // GET PURCHASE ORDERS (KEYSET PAGINATED)
+    @Operation(
+            summary = "Get a page of purchase orders",
+            description = "Cursor (keyset) paginated purchase order list. Sort by orderDate, poId or totalAmount; " +
+                    "pass the returned nextCursor to fetch the following page"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Purchase order page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid sort key or cursor")
+    })
+    @GetMapping("/page")
+    public ResponseEntity<PurchaseOrderPageResponse> getPurchaseOrderPage(
+            @RequestParam(defaultValue = "poId") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(perchesOderService.getPage(sort, direction, cursor, size));
+    }
+
     // GET FORM DATA
     @Operation(
             summary = "Get purchase order form data",
-            description = "Retrieve supplier and warehouse IDs and names for purchase order form"
+            description = "Retrieve supplier and warehouse IDs and names for purchase order form. " +
+                    "Supports If-None-Match with the returned ETag"
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Form data retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Form data retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Form data not modified")
     })
     @GetMapping("/form-data")
-    public ResponseEntity<?> getPurchaseOrderFormData() {
-        return ResponseEntity.ok(
-                perchesOderService.supplierNameAndIdAndWarehouseNameAndIdResponse()
-        );
+    public ResponseEntity<?> getPurchaseOrderFormData(WebRequest webRequest) {
+        String etag = newPurchaseOrderService.referenceDataEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(perchesOderService.supplierNameAndIdAndWarehouseNameAndIdResponse());
     }
 
     // localhost:8080/api/purchase-orders
@@ -132,7 +176,81 @@ public class PurchaseOderController {
         );
     }
 
+    // localhost:8080/api/purchase-orders/stickers/batch
+    @Operation(
+            summary = "Stream sticker printing data for a large batch",
+            description = "Streams sticker data for PENDING purchase orders in the requested order and reports " +
+                    "every missing or non-PENDING purchase order ID at the end of the response"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Sticker batch streamed successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StickerBatchResponse.class)
+                    )
+            )
+    })
+    @PostMapping("/stickers/batch")
+    public ResponseEntity<StreamingResponseBody> getStickerPrintingBatch(
+            @RequestBody List<Long> poIds
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> perchesOderService.writeStickerBatch(poIds, out));
+    }
+
+    // localhost:8080/api/purchase-orders/import
+    @Operation(
+            summary = "Bulk import purchase orders",
+            description = "Streams a CSV (text/csv, header row with itemName, orderDate, expectedDeliveryDate, " +
+                    "status, totalAmount, supplierId, warehouseId) or NDJSON (application/x-ndjson, one purchase " +
+                    "order request per line) upload and inserts valid rows in batches. Returns a per-row error report"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import finished",
+                    content = @Content(schema = @Schema(implementation = PurchaseOrderImportResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Unsupported format or invalid CSV header"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized user")
+    })
+    @PostMapping(
+            value = "/import",
+            consumes = {PurchaseOrderImportService.CSV, PurchaseOrderImportService.NDJSON}
+    )
+    public ResponseEntity<PurchaseOrderImportResponse> importPurchaseOrders(
+            HttpServletRequest request,
+            Authentication authentication
+    ) throws IOException {
+        return ResponseEntity.ok(
+                purchaseOrderImportService.importPurchaseOrders(
+                        request.getInputStream(), request.getContentType(), authentication)
+        );
+    }
 
+    // localhost:8080/api/purchase-orders/status
+    @Operation(
+            summary = "Bulk change purchase order status",
+            description = "Moves many purchase orders with conditional updates (DRAFT to PENDING or CANCELLED, " +
+                    "PENDING to RECEIVED or CANCELLED) and reports the outcome for every purchase order ID"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Transitions applied",
+                    content = @Content(schema = @Schema(implementation = BulkStatusTransitionResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Missing target status")
+    })
+    @PostMapping("/status")
+    public ResponseEntity<BulkStatusTransitionResponse> changeStatuses(
+            @RequestBody BulkStatusTransitionRequest request
+    ) {
+        return ResponseEntity.ok(perchesOderService.changeStatuses(request));
+    }
 
     @PostMapping("/ChangeReceiveStatus")
     public ResponseEntity<?> changeReceiveStatus(
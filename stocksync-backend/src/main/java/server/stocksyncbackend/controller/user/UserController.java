@@ -4,12 +4,16 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
-import server.stocksyncbackend.model.User;
+import org.springframework.web.bind.annotation.*;
+import server.stocksyncbackend.dto.requests.RegisterRequest;
+import server.stocksyncbackend.dto.responses.AuthCacheStatsResponse;
+import server.stocksyncbackend.dto.responses.BulkRegisterResponse;
+import server.stocksyncbackend.dto.responses.UserResponse;
 import server.stocksyncbackend.repository.UserRepository;
 import server.stocksyncbackend.service.AuthService;
+import server.stocksyncbackend.service.user.UserProvisioningService;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/users")
@@ -18,6 +22,7 @@ public class UserController {
 
     private final AuthService authService;
     private final UserRepository userRepository;
+    private final UserProvisioningService userProvisioningService;
 
     // localhost:8080/api/users/me
     @Operation(
@@ -26,8 +31,30 @@ public class UserController {
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @GetMapping("/me")
-    public User me(Authentication authentication) {
+    public UserResponse me(Authentication authentication) {
         return authService.me(authentication);
     }
 
+    // localhost:8080/api/users/cache-stats
+    @Operation(
+            summary = "Get auth cache statistics",
+            description = "Size, hits, misses, evictions and hit rate of the user principal and verified token caches",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/cache-stats")
+    public AuthCacheStatsResponse cacheStats() {
+        return authService.cacheStats();
+    }
+
+    // localhost:8080/api/users/bulk
+    @Operation(
+            summary = "Register users in bulk",
+            description = "Creates up to 1000 users in one transaction; fails as a whole on any duplicate username or email, or unknown role",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PostMapping("/bulk")
+    public BulkRegisterResponse registerAll(@RequestBody List<RegisterRequest> requests) {
+        return userProvisioningService.registerAll(requests);
+    }
+
 }
@@ -0,0 +1,21 @@
+package server.stocksyncbackend.dto.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import server.stocksyncbackend.utils.types.GrnStatus;
+import server.stocksyncbackend.utils.types.LocationLevel;
+
+import java.time.LocalDateTime;
+
+// Flat GRN list row (PO id read from the FK column, no PO graph),
+// built by the GRNRepository queries (JPQL constructor expression).
+@Getter
+@AllArgsConstructor
+public class GrnRow {
+    private Long id;
+    private Long poId;
+    private LocalDateTime receivedDate;
+    private String grnNote;
+    private GrnStatus status;
+    private LocationLevel inspectionLevel;
+}
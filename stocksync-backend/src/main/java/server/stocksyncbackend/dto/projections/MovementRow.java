@@ -0,0 +1,19 @@
+package server.stocksyncbackend.dto.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import server.stocksyncbackend.utils.types.MovementType;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class MovementRow {
+    private Long movementId;
+    private Long productId;
+    private Long warehouseId;
+    private MovementType movementType;
+    private Integer quantity;
+    private LocalDateTime movementDate;
+    private String referenceId;
+}
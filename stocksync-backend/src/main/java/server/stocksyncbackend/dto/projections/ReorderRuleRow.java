@@ -0,0 +1,19 @@
+package server.stocksyncbackend.dto.projections;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReorderRuleRow {
+    private Long productId;
+    private Long warehouseId;
+    private Long supplierId;
+    private Integer reorderPoint;
+    private Integer reorderQuantity;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package server.stocksyncbackend.dto.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import server.stocksyncbackend.utils.types.OrderStatus;
+
+import java.time.LocalDate;
+
+// Sticker fields of one PO plus its status, built by
+// PurchaseOrderRepository.findStickerRowsByPoIds() (JPQL constructor expression).
+@Getter
+@AllArgsConstructor
+public class StickerRow {
+    private Long poId;
+    private OrderStatus status;
+    private String supplierName;
+    private String warehouseName;
+    private LocalDate expectedDeliveryDate;
+}
@@ -0,0 +1,13 @@
+package server.stocksyncbackend.dto.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StockLevelRow {
+    private Long productId;
+    private Long warehouseId;
+    private Integer quantityOnHand;
+    private Integer reservedQuantity;
+}
@@ -0,0 +1,11 @@
+package server.stocksyncbackend.dto.projections;
+
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+public class StockQuantityRow {
+    private Long productId;
+    private Long warehouseId;
+    private Integer quantity;
+}
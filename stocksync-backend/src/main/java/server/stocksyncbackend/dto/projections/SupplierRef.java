@@ -0,0 +1,13 @@
+package server.stocksyncbackend.dto.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class SupplierRef {
+    private long supplierId;
+    private String supplierName;
+}
@@ -0,0 +1,22 @@
+package server.stocksyncbackend.dto.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+// One row per supplier with its purchase order aggregates, built by
+// SupplierRepository.findSupplierScorecards() (JPQL constructor expression).
+@Getter
+@AllArgsConstructor
+public class SupplierScorecardRow {
+    private long supplierId;
+    private String supplierName;
+    private String phone;
+    private String email;
+    private Integer leanTime;
+
+    private Long totalOrders;
+    private BigDecimal totalSpent;
+    private Double avgLeadTimeDays;
+}
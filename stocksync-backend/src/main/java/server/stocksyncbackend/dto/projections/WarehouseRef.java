@@ -0,0 +1,14 @@
+package server.stocksyncbackend.dto.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class WarehouseRef {
+    private Long warehouseId;
+    private String warehouseName;
+    private String location;
+}
@@ -0,0 +1,16 @@
+package server.stocksyncbackend.dto.requests;
+
+import lombok.*;
+import server.stocksyncbackend.utils.types.OrderStatus;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkStatusTransitionRequest {
+    private List<Long> poIds;
+    private OrderStatus targetStatus;
+}
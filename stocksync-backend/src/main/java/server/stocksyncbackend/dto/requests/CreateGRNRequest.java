@@ -27,4 +27,7 @@ public class CreateGRNRequest {
     @Enumerated(EnumType.STRING)
     private GrnStatus status;
 
+    // units booked into the order's warehouse when the GRN is COMPLETED
+    private Integer receivedQuantity;
+
 }
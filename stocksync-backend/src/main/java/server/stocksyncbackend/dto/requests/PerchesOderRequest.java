@@ -1,5 +1,6 @@
 package server.stocksyncbackend.dto.requests;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -14,6 +15,7 @@ public class PerchesOderRequest {
 
     private LocalDate orderDate;
 
+    @JsonAlias("itemName")
     private String ItemName;
 
     private LocalDate expectedDeliveryDate;
@@ -0,0 +1,16 @@
+package server.stocksyncbackend.dto.requests;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReorderRuleRequest {
+    private Long productId;
+    private Long warehouseId;
+    private Long supplierId;
+    private Integer reorderPoint;
+    private Integer reorderQuantity;
+}
@@ -0,0 +1,19 @@
+package server.stocksyncbackend.dto.requests;
+
+import lombok.*;
+import server.stocksyncbackend.utils.types.MovementType;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockPostingLine {
+    private Long productId;
+    private Long warehouseId;
+    private MovementType movementType;
+    // positive; signed only for ADJUSTMENT
+    private Integer quantity;
+    // optional, defaults to the posting's referenceId
+    private String referenceId;
+}
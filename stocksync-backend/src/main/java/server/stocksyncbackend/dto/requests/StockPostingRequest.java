@@ -0,0 +1,15 @@
+package server.stocksyncbackend.dto.requests;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockPostingRequest {
+    private String referenceId;
+    private List<StockPostingLine> lines;
+}
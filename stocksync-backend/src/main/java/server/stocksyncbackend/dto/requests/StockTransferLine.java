@@ -0,0 +1,13 @@
+package server.stocksyncbackend.dto.requests;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockTransferLine {
+    private Long productId;
+    private Integer quantity;
+}
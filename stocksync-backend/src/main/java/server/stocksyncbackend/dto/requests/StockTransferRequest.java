@@ -0,0 +1,18 @@
+package server.stocksyncbackend.dto.requests;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockTransferRequest {
+    private Long fromWarehouseId;
+    private Long toWarehouseId;
+    // optional, generated (TRF-...) when missing
+    private String referenceId;
+    private List<StockTransferLine> lines;
+}
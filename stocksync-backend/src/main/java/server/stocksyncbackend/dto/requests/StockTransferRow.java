@@ -0,0 +1,16 @@
+package server.stocksyncbackend.dto.requests;
+
+import lombok.*;
+
+// One line of a bulk transfer file
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockTransferRow {
+    private Long fromWarehouseId;
+    private Long toWarehouseId;
+    private Long productId;
+    private Integer quantity;
+}
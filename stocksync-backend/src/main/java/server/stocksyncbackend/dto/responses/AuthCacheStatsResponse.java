@@ -0,0 +1,14 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+import server.stocksyncbackend.utils.cache.ExpiringCache;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AuthCacheStatsResponse {
+    private ExpiringCache.Stats userPrincipals;
+    private ExpiringCache.Stats verifiedTokens;
+}
@@ -0,0 +1,15 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkRegisterResponse {
+    private int created;
+    private List<String> usernames;
+}
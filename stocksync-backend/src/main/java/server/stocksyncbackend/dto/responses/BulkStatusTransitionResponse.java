@@ -0,0 +1,18 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+import server.stocksyncbackend.utils.types.OrderStatus;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkStatusTransitionResponse {
+    private OrderStatus targetStatus;
+    private int transitioned;
+    private int rejected;
+    private List<StatusTransitionResult> results;
+}
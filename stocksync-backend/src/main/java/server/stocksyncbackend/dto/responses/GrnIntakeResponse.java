@@ -0,0 +1,23 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+import server.stocksyncbackend.utils.types.GrnIntakeStatus;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GrnIntakeResponse {
+    private String idempotencyKey;
+    private Long poId;
+    private GrnIntakeStatus status;
+    // set once the GRN has been written
+    private Long grnId;
+    // reason the intake was rejected (status FAILED)
+    private String error;
+    private LocalDateTime acceptedAt;
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,16 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GrnPageResponse {
+    private List<GrnResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
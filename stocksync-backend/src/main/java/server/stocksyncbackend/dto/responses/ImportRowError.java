@@ -0,0 +1,14 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportRowError {
+    // 1-based line number in the uploaded file
+    private long line;
+    private String message;
+}
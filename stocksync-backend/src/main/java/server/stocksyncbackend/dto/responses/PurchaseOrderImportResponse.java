@@ -0,0 +1,19 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PurchaseOrderImportResponse {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private List<ImportRowError> errors;
+    // true when more rows failed than are listed in errors
+    private boolean errorsTruncated;
+}
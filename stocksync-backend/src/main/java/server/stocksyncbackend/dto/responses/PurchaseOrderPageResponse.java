@@ -0,0 +1,18 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PurchaseOrderPageResponse {
+    private List<PurchaseOrderSummaryResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private String sort;
+    private String direction;
+}
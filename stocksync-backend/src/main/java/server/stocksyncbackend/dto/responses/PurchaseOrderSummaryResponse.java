@@ -0,0 +1,26 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+import server.stocksyncbackend.utils.types.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Flat purchase order row, filled directly by a JPQL constructor expression
+// so no Supplier / Warehouse / User entities are loaded.
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PurchaseOrderSummaryResponse {
+    private Long poId;
+    private String itemName;
+    private LocalDate orderDate;
+    private LocalDate expectedDeliveryDate;
+    private OrderStatus status;
+    private BigDecimal totalAmount;
+    private String supplierName;
+    private String warehouseLocation;
+    private String createdByUsername;
+}
@@ -0,0 +1,19 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReorderScanResponse {
+    // another node held the scan cursor, nothing was evaluated
+    private boolean skipped;
+    private long movementsScanned;
+    // (product, warehouse) pairs looked at: touched by a movement or with a changed rule
+    private long locationsEvaluated;
+    private long belowReorderPoint;
+    private long draftOrders;
+    private long lastMovementId;
+}
@@ -0,0 +1,20 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+import server.stocksyncbackend.utils.types.ReservationStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReservationResponse {
+    private Long salesOrderId;
+    private ReservationStatus status;
+    // one line per (product, warehouse), items of the same product summed
+    private List<ReservedLine> lines;
+    private LocalDateTime expiresAt;
+}
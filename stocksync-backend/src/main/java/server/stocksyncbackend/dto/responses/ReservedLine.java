@@ -0,0 +1,14 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReservedLine {
+    private Long productId;
+    private Long warehouseId;
+    private Integer quantity;
+}
@@ -0,0 +1,17 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+import server.stocksyncbackend.utils.types.OrderStatus;
+import server.stocksyncbackend.utils.types.TransitionOutcome;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StatusTransitionResult {
+    private Long poId;
+    private TransitionOutcome outcome;
+    // status the order had when the transition was refused (null when transitioned / not found)
+    private OrderStatus currentStatus;
+}
@@ -0,0 +1,17 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+
+import java.util.List;
+
+// Shape of the streamed /api/purchase-orders/stickers/batch body
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StickerBatchResponse {
+    private List<StickerPrintingDataResponse> stickers;
+    private List<Long> missingIds;
+    private List<Long> notPendingIds;
+}
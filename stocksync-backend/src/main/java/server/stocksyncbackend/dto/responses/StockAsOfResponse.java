@@ -0,0 +1,20 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+import server.stocksyncbackend.dto.projections.StockQuantityRow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockAsOfResponse {
+    private LocalDateTime at;
+    // snapshot the answer started from; null when at is before the first snapshot
+    private LocalDateTime snapshotTakenAt;
+    // locations with a non-zero quantity at that time
+    private List<StockQuantityRow> levels;
+}
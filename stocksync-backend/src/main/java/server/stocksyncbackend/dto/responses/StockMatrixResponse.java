@@ -0,0 +1,17 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockMatrixResponse {
+    private List<Long> productIds;
+    private List<Long> warehouseIds;
+    // quantities[i][j]: on hand of productIds[i] in warehouseIds[j]
+    private int[][] quantities;
+}
@@ -0,0 +1,16 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockPostingResponse {
+    private String referenceId;
+    // movements written, one per line
+    private int movements;
+    // distinct (product, warehouse) rows updated
+    private int locations;
+}
@@ -0,0 +1,17 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockSnapshotResponse {
+    private Long snapshotId;
+    private LocalDateTime takenAt;
+    private LocalDateTime createdAt;
+    private Integer locations;
+}
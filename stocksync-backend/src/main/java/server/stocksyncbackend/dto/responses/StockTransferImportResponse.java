@@ -0,0 +1,21 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockTransferImportResponse {
+    // shared by the movements of every transferred row
+    private String referenceId;
+    private long totalRows;
+    private long transferred;
+    private long failed;
+    private List<ImportRowError> errors;
+    // true when more rows failed than are listed in errors
+    private boolean errorsTruncated;
+}
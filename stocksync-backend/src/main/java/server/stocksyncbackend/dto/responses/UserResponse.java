@@ -0,0 +1,19 @@
+package server.stocksyncbackend.dto.responses;
+
+import lombok.*;
+import server.stocksyncbackend.utils.types.UserStatus;
+
+import java.util.Set;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserResponse {
+    private Long userId;
+    private String username;
+    private String email;
+    private UserStatus status;
+    private Set<String> roles;
+}
@@ -9,6 +9,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(
+        indexes = {
+                // GRN search: each filter column paired with id for the newest-first keyset scan
+                @Index(name = "idx_grn_status_id", columnList = "status, id"),
+                @Index(name = "idx_grn_inspection_level_id", columnList = "inspectionLevel, id"),
+                @Index(name = "idx_grn_received_date_id", columnList = "receivedDate, id")
+        }
+)
 @Setter
 @Getter
 @AllArgsConstructor
@@ -16,9 +24,11 @@ import java.time.LocalDateTime;
 @Builder
 public class GRN {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grn_seq")
+    @SequenceGenerator(name = "grn_seq", sequenceName = "grn_seq", allocationSize = 50)
     private Long id;
 
+    @Builder.Default
     private LocalDateTime receivedDate = LocalDateTime.now();
 
     private String GrnNote;
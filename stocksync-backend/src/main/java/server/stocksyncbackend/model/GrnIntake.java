@@ -0,0 +1,64 @@
+package server.stocksyncbackend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import server.stocksyncbackend.utils.types.CaregoryStatus;
+import server.stocksyncbackend.utils.types.GrnIntakeStatus;
+import server.stocksyncbackend.utils.types.GrnStatus;
+import server.stocksyncbackend.utils.types.LocationLevel;
+
+import java.time.LocalDateTime;
+
+// A GRN submitted through the async intake: the request as received plus its processing state.
+// The unique idempotency key makes client retries return the same intake instead of a second GRN.
+@Entity
+@Table(
+        name = "grn_intake",
+        indexes = {
+                @Index(name = "uk_grn_intake_idempotency_key", columnList = "idempotencyKey", unique = true),
+                // workers claim ACCEPTED rows in id order
+                @Index(name = "idx_grn_intake_status_id", columnList = "status, id")
+        }
+)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GrnIntake {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grn_intake_seq")
+    @SequenceGenerator(name = "grn_intake_seq", sequenceName = "grn_intake_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private Long poId;
+
+    private String grnNote;
+
+    @Enumerated(EnumType.STRING)
+    private CaregoryStatus category;
+
+    @Enumerated(EnumType.STRING)
+    private LocationLevel locationLevel;
+
+    @Enumerated(EnumType.STRING)
+    private GrnStatus grnStatus;
+
+    private Integer receivedQuantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private GrnIntakeStatus status;
+
+    private Long grnId;
+
+    private String error;
+
+    private LocalDateTime acceptedAt;
+
+    private LocalDateTime processedAt;
+}
@@ -7,8 +7,15 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
+@Table(
+        indexes = {
+                // one stock row per product and warehouse; the ledger upserts against it
+                @Index(name = "uk_inventory_product_warehouse", columnList = "product_product_id, warehouse_warehouse_id", unique = true)
+        }
+)
 @Getter
 @Setter
 @AllArgsConstructor
@@ -17,7 +24,8 @@ import lombok.*;
 public class Inventory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_seq")
+    @SequenceGenerator(name = "inventory_seq", sequenceName = "inventory_seq", allocationSize = 50)
     private Long inventoryId;
 
     @ManyToOne
@@ -26,5 +34,12 @@ public class Inventory {
     @ManyToOne
     private Warehouse warehouse;
 
+    // only changed through InventoryLedgerService, never below zero
     private Integer quantityOnHand;
+
+    // held for active sales order reservations; quantityOnHand - reservedQuantity is available
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer reservedQuantity = 0;
 }
@@ -9,8 +9,20 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import lombok.*;
+import server.stocksyncbackend.utils.types.MovementType;
 
+// Append-only stock ledger: one row per posted line, written by InventoryLedgerService
 @Entity
+@Table(
+        name = "inventory_movement",
+        indexes = {
+                @Index(name = "idx_inventory_movement_product_warehouse_date",
+                        columnList = "product_product_id, warehouse_warehouse_id, movementDate"),
+                @Index(name = "idx_inventory_movement_reference", columnList = "referenceId"),
+                // reorder scan look-back over recent movements
+                @Index(name = "idx_inventory_movement_date", columnList = "movementDate")
+        }
+)
 @Getter
 @Setter
 @AllArgsConstructor
@@ -19,7 +31,8 @@ import lombok.*;
 public class InventoryMovement {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_movement_seq")
+    @SequenceGenerator(name = "inventory_movement_seq", sequenceName = "inventory_movement_seq", allocationSize = 50)
     private Long movementId;
 
     @ManyToOne
@@ -28,7 +41,10 @@ public class InventoryMovement {
     @ManyToOne
     private Warehouse warehouse;
 
-    private String movementType; // IN, OUT, TRANSFER
+    @Enumerated(EnumType.STRING)
+    private MovementType movementType;
+
+    // signed change of quantity on hand (negative for issues and transfers out)
     private Integer quantity;
     private LocalDateTime movementDate;
     private String referenceId;
@@ -8,6 +8,11 @@ import server.stocksyncbackend.utils.types.LocationLevel;
 import java.math.BigDecimal;
 
 @Entity
+@Table(
+        indexes = {
+                @Index(name = "uk_product_sku", columnList = "sku", unique = true)
+        }
+)
 @Getter
 @Setter
 @AllArgsConstructor
@@ -16,7 +21,8 @@ import java.math.BigDecimal;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long productId;
 
     private String productName;
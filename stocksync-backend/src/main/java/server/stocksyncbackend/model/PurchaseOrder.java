@@ -13,7 +13,16 @@ import lombok.*;
 import server.stocksyncbackend.utils.types.OrderStatus;
 
 @Entity
-@Table(name = "purchase_order")
+@Table(
+        name = "purchase_order",
+        indexes = {
+                // keyset pagination: (sort key, po_id)
+                @Index(name = "idx_purchase_order_order_date_po_id", columnList = "orderDate, poId"),
+                @Index(name = "idx_purchase_order_total_amount_po_id", columnList = "totalAmount, poId"),
+                // supplier scorecard GROUP BY / join
+                @Index(name = "idx_purchase_order_supplier", columnList = "supplier_supplier_id")
+        }
+)
 @Getter
 @Setter
 @AllArgsConstructor
@@ -22,7 +31,8 @@ import server.stocksyncbackend.utils.types.OrderStatus;
 public class PurchaseOrder {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchase_order_seq")
+    @SequenceGenerator(name = "purchase_order_seq", sequenceName = "purchase_order_seq", allocationSize = 50)
     private Long poId;
 
     private String ItemName;
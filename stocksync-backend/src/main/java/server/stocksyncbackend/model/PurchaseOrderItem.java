@@ -0,0 +1,39 @@
+package server.stocksyncbackend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+// Product line of a purchase order; written for the draft orders ReorderScanService generates
+@Entity
+@Table(
+        name = "purchase_order_item",
+        indexes = {
+                @Index(name = "idx_purchase_order_item_order", columnList = "purchase_order_po_id"),
+                // quantity on order per product (reorder evaluation)
+                @Index(name = "idx_purchase_order_item_product", columnList = "product_product_id")
+        }
+)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PurchaseOrderItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchase_order_item_seq")
+    @SequenceGenerator(name = "purchase_order_item_seq", sequenceName = "purchase_order_item_seq", allocationSize = 50)
+    private Long purchaseOrderItemId;
+
+    @ManyToOne
+    private PurchaseOrder purchaseOrder;
+
+    @ManyToOne
+    private Product product;
+
+    private Integer quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal lineTotal;
+}
@@ -0,0 +1,52 @@
+package server.stocksyncbackend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import server.stocksyncbackend.utils.types.RefreshTokenRevocationReason;
+
+import java.time.LocalDateTime;
+
+// One login session: every refresh token minted from it shares the family id.
+// Only currentTokenId may be exchanged; presenting any older token of the family means it was copied,
+// apart from previousTokenId within the grace window after rotatedAt.
+@Entity
+@Table(
+        name = "refresh_token_family",
+        indexes = {
+                @Index(name = "idx_refresh_token_family_username", columnList = "username"),
+                @Index(name = "idx_refresh_token_family_expires_at", columnList = "expiresAt")
+        }
+)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RefreshTokenFamily {
+    @Id
+    @Column(length = 36)
+    private String familyId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false, length = 36)
+    private String currentTokenId;
+
+    // the token rotatedAt retired
+    @Column(length = 36)
+    private String previousTokenId;
+
+    private boolean revoked;
+
+    @Enumerated(EnumType.STRING)
+    private RefreshTokenRevocationReason revokedReason;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime rotatedAt;
+
+    // expiry of the current token; the row can be purged after this
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,47 @@
+package server.stocksyncbackend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Replenishment rule for one (product, warehouse): when available plus on-order stock is at or
+// below reorderPoint, reorderQuantity is ordered from supplier
+@Entity
+@Table(
+        name = "reorder_rule",
+        indexes = {
+                @Index(name = "uk_reorder_rule_product_warehouse",
+                        columnList = "product_product_id, warehouse_warehouse_id", unique = true)
+        }
+)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReorderRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reorder_rule_seq")
+    @SequenceGenerator(name = "reorder_rule_seq", sequenceName = "reorder_rule_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(optional = false)
+    private Product product;
+
+    @ManyToOne(optional = false)
+    private Warehouse warehouse;
+
+    @ManyToOne(optional = false)
+    private Supplier supplier;
+
+    @Column(nullable = false)
+    private Integer reorderPoint;
+
+    @Column(nullable = false)
+    private Integer reorderQuantity;
+
+    // new / changed rules are evaluated by the next scan even without a movement
+    private LocalDateTime updatedAt;
+}
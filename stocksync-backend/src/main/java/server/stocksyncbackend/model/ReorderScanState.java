@@ -0,0 +1,25 @@
+package server.stocksyncbackend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Single-row cursor of ReorderScanService; the row lock also keeps scans on several nodes apart
+@Entity
+@Table(name = "reorder_scan_state")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReorderScanState {
+
+    @Id
+    private Integer id;
+
+    // highest inventory_movement.movement_id evaluated so far
+    private Long lastMovementId;
+
+    private LocalDateTime lastScanAt;
+}
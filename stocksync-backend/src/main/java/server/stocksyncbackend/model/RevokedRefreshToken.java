@@ -0,0 +1,50 @@
+package server.stocksyncbackend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+import server.stocksyncbackend.utils.types.RefreshTokenRevocationReason;
+
+import java.time.LocalDateTime;
+
+// Persistent side of the revocation index: a rotated-out token id, or a whole family id.
+// Rows are only needed until the token they cover would have expired anyway.
+// Ids are assigned and each is written once, so save() persists straight away instead of merging
+// (which would SELECT the id first).
+@Entity
+@Table(
+        name = "revoked_refresh_token",
+        indexes = @Index(name = "idx_revoked_refresh_token_expires_at", columnList = "expiresAt")
+)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RevokedRefreshToken implements Persistable<String> {
+    @Id
+    @Column(length = 36)
+    private String tokenId;
+
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RefreshTokenRevocationReason reason;
+
+    private LocalDateTime revokedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Override
+    public String getId() {
+        return tokenId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
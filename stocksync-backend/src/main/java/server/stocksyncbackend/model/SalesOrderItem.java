@@ -19,7 +19,8 @@ import lombok.*;
 public class SalesOrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_order_item_seq")
+    @SequenceGenerator(name = "sales_order_item_seq", sequenceName = "sales_order_item_seq", allocationSize = 50)
     private Long salesOrderItemId;
 
     @ManyToOne
@@ -0,0 +1,52 @@
+package server.stocksyncbackend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import server.stocksyncbackend.utils.types.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+// One reserved line of a sales order. The quantity is also counted in
+// Inventory.reservedQuantity while the line is ACTIVE; rows are written by StockReservationService.
+@Entity
+@Table(
+        name = "stock_reservation",
+        indexes = {
+                @Index(name = "idx_stock_reservation_order_status", columnList = "salesOrderId, status"),
+                // expiry sweep
+                @Index(name = "idx_stock_reservation_status_expires", columnList = "status, expiresAt")
+        }
+)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockReservation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_reservation_seq")
+    @SequenceGenerator(name = "stock_reservation_seq", sequenceName = "stock_reservation_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long salesOrderId;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Long warehouseId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus status;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime closedAt;
+}
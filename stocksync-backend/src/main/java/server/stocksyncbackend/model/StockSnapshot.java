@@ -0,0 +1,41 @@
+package server.stocksyncbackend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Checkpoint of the stock ledger: its StockSnapshotLines hold, per (product, warehouse), the sum
+// of every movement dated at or before takenAt. Written by StockSnapshotService.
+@Entity
+@Table(
+        name = "stock_snapshot",
+        indexes = {
+                @Index(name = "uk_stock_snapshot_taken_at", columnList = "takenAt", unique = true)
+        }
+)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_snapshot_seq")
+    @SequenceGenerator(name = "stock_snapshot_seq", sequenceName = "stock_snapshot_seq", allocationSize = 1)
+    private Long id;
+
+    // movements up to and including this time are in the snapshot
+    @Column(nullable = false)
+    private LocalDateTime takenAt;
+
+    private LocalDateTime createdAt;
+
+    // lines written (locations with a non-zero quantity)
+    private Integer locations;
+
+    // ledger movements dated after the previous snapshot's takenAt and up to this one's when the
+    // lines were built; a different count later means a posting committed after the settle lag
+    private Long movements;
+}
@@ -0,0 +1,22 @@
+package server.stocksyncbackend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Quantity of one (product, warehouse) in a StockSnapshot; locations at zero have no line.
+// Plain ids instead of associations: lines are only written and read in bulk with SQL.
+@Entity
+@Table(name = "stock_snapshot_line")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockSnapshotLine {
+
+    @EmbeddedId
+    private StockSnapshotLineId id;
+
+    @Column(nullable = false)
+    private Integer quantity;
+}
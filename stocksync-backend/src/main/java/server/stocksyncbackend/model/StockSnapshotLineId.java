@@ -0,0 +1,18 @@
+package server.stocksyncbackend.model;
+
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class StockSnapshotLineId implements Serializable {
+    private Long snapshotId;
+    private Long productId;
+    private Long warehouseId;
+}
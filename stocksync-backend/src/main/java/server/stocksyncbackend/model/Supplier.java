@@ -9,9 +9,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.EntityListeners;
 import lombok.*;
+import server.stocksyncbackend.service.reference.ReferenceDataListener;
 
 @Entity
+@EntityListeners(ReferenceDataListener.class)
 @Getter
 @Setter
 @AllArgsConstructor
@@ -5,11 +5,13 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import server.stocksyncbackend.service.user.UserPrincipalListener;
 import server.stocksyncbackend.utils.types.UserStatus;
 
 import java.util.Set;
 
 @Entity
+@EntityListeners(UserPrincipalListener.class)
 @Table(name = "users")
 @Data
 @Builder
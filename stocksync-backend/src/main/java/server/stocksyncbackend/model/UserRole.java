@@ -19,8 +19,11 @@ public class UserRole {
     @EmbeddedId
     private UserRoleId id;
 
+    // back-reference: kept out of equals/hashCode/toString, which otherwise recurse through User.roles
     @ManyToOne
     @MapsId("userId")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private User user;
 
     @ManyToOne
@@ -1,9 +1,30 @@
 package server.stocksyncbackend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import server.stocksyncbackend.dto.projections.GrnRow;
 import server.stocksyncbackend.model.GRN;
 import server.stocksyncbackend.utils.types.GrnStatus;
 
-public interface GRNRepository extends JpaRepository<GRN, String> {
+import java.util.Collection;
+import java.util.List;
+
+public interface GRNRepository extends JpaRepository<GRN, String>, GRNRepositoryCustom {
+
+    String SELECT_ROW = """
+            SELECT new server.stocksyncbackend.dto.projections.GrnRow(
+                g.id, g.purchaseOrder.poId, g.receivedDate, g.GrnNote, g.status, g.inspectionLevel
+            )
+            FROM GRN g""";
+
     int countAllByStatus(GrnStatus status);
+
+    // [status, count] pairs for KPI reconciliation
+    @Query("SELECT g.status, COUNT(g) FROM GRN g GROUP BY g.status")
+    List<Object[]> countGroupedByStatus();
+
+    // POs from the given set that already have a GRN (a PO gets at most one)
+    @Query("SELECT g.purchaseOrder.poId FROM GRN g WHERE g.purchaseOrder.poId IN :poIds")
+    List<Long> findPoIdsWithGrn(@Param("poIds") Collection<Long> poIds);
 }
@@ -0,0 +1,25 @@
+package server.stocksyncbackend.repository;
+
+import server.stocksyncbackend.dto.projections.GrnRow;
+import server.stocksyncbackend.utils.types.GrnStatus;
+import server.stocksyncbackend.utils.types.LocationLevel;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface GRNRepositoryCustom {
+
+    // Keyset page, newest first by (receivedDate, id): rows after the (afterReceivedDate, afterId)
+    // position (afterId == null means first page, afterReceivedDate == null the NULL-date block).
+    // Every filter is optional; receivedFrom is inclusive, receivedTo exclusive.
+    List<GrnRow> searchRows(
+            GrnStatus status,
+            LocationLevel inspectionLevel,
+            LocalDateTime receivedFrom,
+            LocalDateTime receivedTo,
+            Long poId,
+            LocalDateTime afterReceivedDate,
+            Long afterId,
+            int limit
+    );
+}
@@ -0,0 +1,81 @@
+package server.stocksyncbackend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import server.stocksyncbackend.dto.projections.GrnRow;
+import server.stocksyncbackend.utils.types.GrnStatus;
+import server.stocksyncbackend.utils.types.LocationLevel;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GRNRepositoryImpl implements GRNRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<GrnRow> searchRows(
+            GrnStatus status,
+            LocationLevel inspectionLevel,
+            LocalDateTime receivedFrom,
+            LocalDateTime receivedTo,
+            Long poId,
+            LocalDateTime afterReceivedDate,
+            Long afterId,
+            int limit
+    ) {
+        // only the filters that were given go into the WHERE clause, so each
+        // combination gets its own plan instead of "(:x IS NULL OR col = :x)" guesses
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder where = new StringBuilder();
+
+        if (status != null) {
+            and(where, "g.status = :status");
+            params.put("status", status);
+        }
+        if (inspectionLevel != null) {
+            and(where, "g.inspectionLevel = :inspectionLevel");
+            params.put("inspectionLevel", inspectionLevel);
+        }
+        if (receivedFrom != null) {
+            and(where, "g.receivedDate >= :receivedFrom");
+            params.put("receivedFrom", receivedFrom);
+        }
+        if (receivedTo != null) {
+            and(where, "g.receivedDate < :receivedTo");
+            params.put("receivedTo", receivedTo);
+        }
+        if (poId != null) {
+            and(where, "g.purchaseOrder.poId = :poId");
+            params.put("poId", poId);
+        }
+        // ids come from pooled per-node blocks, so only (receivedDate, id) is "newest first";
+        // Postgres puts NULL dates first for DESC, which is a backward scan of that index
+        if (afterId != null) {
+            if (afterReceivedDate == null) {
+                // still inside the leading NULL block
+                and(where, "((g.receivedDate IS NULL AND g.id < :afterId) OR g.receivedDate IS NOT NULL)");
+            } else {
+                and(where, "(g.receivedDate < :afterReceivedDate"
+                        + " OR (g.receivedDate = :afterReceivedDate AND g.id < :afterId))");
+                params.put("afterReceivedDate", afterReceivedDate);
+            }
+            params.put("afterId", afterId);
+        }
+
+        String jpql = GRNRepository.SELECT_ROW + where + " ORDER BY g.receivedDate DESC NULLS FIRST, g.id DESC";
+
+        TypedQuery<GrnRow> query = entityManager.createQuery(jpql, GrnRow.class);
+        params.forEach(query::setParameter);
+
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private static void and(StringBuilder where, String predicate) {
+        where.append(where.isEmpty() ? " WHERE " : " AND ").append(predicate);
+    }
+}
@@ -0,0 +1,33 @@
+package server.stocksyncbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import server.stocksyncbackend.model.GrnIntake;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface GrnIntakeRepository extends JpaRepository<GrnIntake, Long> {
+
+    Optional<GrnIntake> findByIdempotencyKey(String idempotencyKey);
+
+    // Claims the oldest waiting intakes for the current transaction.
+    // SKIP LOCKED lets several workers (or instances) drain the table without blocking each other.
+    @Query(value = """
+            SELECT * FROM grn_intake
+            WHERE status = 'ACCEPTED'
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<GrnIntake> claimAccepted(@Param("limit") int limit);
+
+    // Single-row claim, used when a batch has to be retried one intake at a time
+    @Query(value = """
+            SELECT * FROM grn_intake
+            WHERE id = :id AND status = 'ACCEPTED'
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<GrnIntake> claimAcceptedById(@Param("id") Long id);
+}
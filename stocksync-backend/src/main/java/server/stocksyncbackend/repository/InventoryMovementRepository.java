@@ -0,0 +1,18 @@
+package server.stocksyncbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import server.stocksyncbackend.dto.projections.MovementRow;
+import server.stocksyncbackend.model.InventoryMovement;
+
+import java.util.List;
+
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, Long> {
+
+    @Query("SELECT new server.stocksyncbackend.dto.projections.MovementRow(" +
+            "m.movementId, m.product.productId, m.warehouse.warehouseId, m.movementType, " +
+            "m.quantity, m.movementDate, m.referenceId) " +
+            "FROM InventoryMovement m WHERE m.referenceId = :referenceId ORDER BY m.movementId")
+    List<MovementRow> findRowsByReferenceId(@Param("referenceId") String referenceId);
+}
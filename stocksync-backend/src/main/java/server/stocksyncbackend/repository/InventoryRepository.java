@@ -0,0 +1,21 @@
+package server.stocksyncbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import server.stocksyncbackend.dto.projections.StockLevelRow;
+import server.stocksyncbackend.model.Inventory;
+
+import java.util.List;
+
+// Reads only: quantities are written by InventoryLedgerService with conditional JDBC updates
+public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+
+    @Query("SELECT new server.stocksyncbackend.dto.projections.StockLevelRow(" +
+            "i.product.productId, i.warehouse.warehouseId, i.quantityOnHand, i.reservedQuantity) " +
+            "FROM Inventory i " +
+            "WHERE (:productId IS NULL OR i.product.productId = :productId) " +
+            "AND (:warehouseId IS NULL OR i.warehouse.warehouseId = :warehouseId) " +
+            "ORDER BY i.product.productId, i.warehouse.warehouseId")
+    List<StockLevelRow> findLevels(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId);
+}
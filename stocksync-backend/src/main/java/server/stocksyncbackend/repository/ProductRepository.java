@@ -1,7 +1,18 @@
 package server.stocksyncbackend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import server.stocksyncbackend.model.Product;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    @Query("SELECT p.productId FROM Product p")
+    List<Long> findAllProductIds();
+
+    @Query("SELECT p.productId FROM Product p WHERE p.productId IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
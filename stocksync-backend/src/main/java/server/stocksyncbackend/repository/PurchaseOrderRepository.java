@@ -2,12 +2,33 @@ package server.stocksyncbackend.repository;
 
 import org.apache.catalina.util.ErrorPageSupport;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import server.stocksyncbackend.dto.projections.StickerRow;
+import server.stocksyncbackend.dto.responses.PurchaseOrderSummaryResponse;
 import server.stocksyncbackend.model.PurchaseOrder;
 import server.stocksyncbackend.model.Supplier;
 import server.stocksyncbackend.utils.types.OrderStatus;
 
-public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder,Long> {
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder,Long>, PurchaseOrderRepositoryCustom {
+
+    // Single-query projection of a PO row with its supplier name, warehouse location and creator
+    String SELECT_SUMMARY = """
+            SELECT new server.stocksyncbackend.dto.responses.PurchaseOrderSummaryResponse(
+                p.poId, p.ItemName, p.orderDate, p.expectedDeliveryDate, p.status, p.totalAmount,
+                s.supplierName, w.location, u.username)
+            FROM PurchaseOrder p
+            LEFT JOIN p.supplier s
+            LEFT JOIN p.warehouse w
+            LEFT JOIN p.createdBy u
+            """;
+
     @Query("SELECT SUM(totalAmount) FROM PurchaseOrder")
     Double findTotalValueOfAllPurchaseOrders();
 
@@ -17,4 +38,63 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder,Lon
     int countByStatus(OrderStatus status);
 
     ErrorPageSupport existsBySupplier(Supplier supplier);
+
+    // [status, count] pairs for KPI reconciliation
+    @Query("SELECT p.status, COUNT(p) FROM PurchaseOrder p GROUP BY p.status")
+    List<Object[]> countGroupedByStatus();
+
+    // spend leaves out DRAFT orders: nobody has committed to those yet
+    @Query("""
+            SELECT COALESCE(SUM(p.totalAmount), 0) FROM PurchaseOrder p
+            WHERE p.status IS NULL OR p.status <> server.stocksyncbackend.utils.types.OrderStatus.DRAFT
+            """)
+    BigDecimal sumTotalAmount();
+
+    @Query("""
+            SELECT COALESCE(SUM(p.totalAmount), 0) FROM PurchaseOrder p
+            WHERE p.supplier IS NOT NULL
+              AND (p.status IS NULL OR p.status <> server.stocksyncbackend.utils.types.OrderStatus.DRAFT)
+            """)
+    BigDecimal sumTotalAmountWithSupplier();
+
+    @Query(SELECT_SUMMARY + " ORDER BY p.poId")
+    List<PurchaseOrderSummaryResponse> findAllSummaries();
+
+    // Compare-and-set status change: only applies while the row still has the expected status
+    @Transactional
+    @Modifying
+    @Query("UPDATE PurchaseOrder p SET p.status = :to WHERE p.poId = :poId AND p.status = :from")
+    int compareAndSetStatus(
+            @Param("poId") Long poId,
+            @Param("from") OrderStatus from,
+            @Param("to") OrderStatus to
+    );
+
+    // Bulk compare-and-set in one statement; returns the ids that actually moved
+    @Transactional
+    @Query(value = """
+            UPDATE purchase_order SET status = :to
+            WHERE po_id IN (:poIds) AND status = :from
+            RETURNING po_id
+            """, nativeQuery = true)
+    List<Long> compareAndSetStatusReturningIds(
+            @Param("poIds") Collection<Long> poIds,
+            @Param("from") String from,
+            @Param("to") String to
+    );
+
+    // [poId, status] pairs, used to explain refused transitions
+    @Query("SELECT p.poId, p.status FROM PurchaseOrder p WHERE p.poId IN :poIds")
+    List<Object[]> findStatusesByPoIds(@Param("poIds") Collection<Long> poIds);
+
+    // Sticker data for a set of POs in one query (callers chunk the id list)
+    @Query("""
+            SELECT new server.stocksyncbackend.dto.projections.StickerRow(
+                p.poId, p.status, s.supplierName, w.warehouseName, p.expectedDeliveryDate)
+            FROM PurchaseOrder p
+            LEFT JOIN p.supplier s
+            LEFT JOIN p.warehouse w
+            WHERE p.poId IN :poIds
+            """)
+    List<StickerRow> findStickerRowsByPoIds(@Param("poIds") Collection<Long> poIds);
 }
@@ -0,0 +1,19 @@
+package server.stocksyncbackend.repository;
+
+import server.stocksyncbackend.dto.responses.PurchaseOrderSummaryResponse;
+import server.stocksyncbackend.utils.types.PurchaseOrderSortKey;
+
+import java.util.List;
+
+public interface PurchaseOrderRepositoryCustom {
+
+    // Keyset page: rows strictly after (afterKey, afterId) in the given order.
+    // afterId == null means first page; afterKey may be null for nullable sort columns.
+    List<PurchaseOrderSummaryResponse> findSummaryPage(
+            PurchaseOrderSortKey sortKey,
+            boolean ascending,
+            Object afterKey,
+            Long afterId,
+            int limit
+    );
+}
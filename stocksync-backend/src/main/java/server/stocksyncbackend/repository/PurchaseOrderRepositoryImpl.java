@@ -0,0 +1,70 @@
+package server.stocksyncbackend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import server.stocksyncbackend.dto.responses.PurchaseOrderSummaryResponse;
+import server.stocksyncbackend.utils.types.PurchaseOrderSortKey;
+
+import java.util.List;
+
+public class PurchaseOrderRepositoryImpl implements PurchaseOrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PurchaseOrderSummaryResponse> findSummaryPage(
+            PurchaseOrderSortKey sortKey,
+            boolean ascending,
+            Object afterKey,
+            Long afterId,
+            int limit
+    ) {
+        String key = sortKey.getPath();
+        String cmp = ascending ? ">" : "<";
+        String dir = ascending ? "ASC" : "DESC";
+
+        StringBuilder jpql = new StringBuilder(PurchaseOrderRepository.SELECT_SUMMARY);
+
+        // Postgres puts NULLs last for ASC and first for DESC, which is exactly a
+        // forward / backward scan of the (key, po_id) index, so spell that out here.
+        if (afterId != null) {
+            if (sortKey == PurchaseOrderSortKey.PO_ID) {
+                jpql.append(" WHERE p.poId ").append(cmp).append(" :afterId");
+            } else if (afterKey == null && ascending) {
+                // already inside the trailing NULL block
+                jpql.append(" WHERE ").append(key).append(" IS NULL AND p.poId > :afterId");
+            } else if (afterKey == null) {
+                // still inside the leading NULL block
+                jpql.append(" WHERE (").append(key).append(" IS NULL AND p.poId < :afterId)")
+                        .append(" OR ").append(key).append(" IS NOT NULL");
+            } else {
+                jpql.append(" WHERE (").append(key).append(' ').append(cmp).append(" :afterKey")
+                        .append(" OR (").append(key).append(" = :afterKey AND p.poId ").append(cmp).append(" :afterId)");
+                if (ascending) {
+                    jpql.append(" OR ").append(key).append(" IS NULL");
+                }
+                jpql.append(')');
+            }
+        }
+
+        jpql.append(" ORDER BY ");
+        if (sortKey != PurchaseOrderSortKey.PO_ID) {
+            jpql.append(key).append(' ').append(dir).append(ascending ? " NULLS LAST, " : " NULLS FIRST, ");
+        }
+        jpql.append("p.poId ").append(dir);
+
+        TypedQuery<PurchaseOrderSummaryResponse> query =
+                entityManager.createQuery(jpql.toString(), PurchaseOrderSummaryResponse.class);
+
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+            if (afterKey != null && sortKey != PurchaseOrderSortKey.PO_ID) {
+                query.setParameter("afterKey", afterKey);
+            }
+        }
+
+        return query.setMaxResults(limit).getResultList();
+    }
+}
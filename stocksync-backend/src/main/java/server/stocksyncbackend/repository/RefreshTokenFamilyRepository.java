@@ -0,0 +1,45 @@
+package server.stocksyncbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import server.stocksyncbackend.model.RefreshTokenFamily;
+import server.stocksyncbackend.utils.types.RefreshTokenRevocationReason;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, String> {
+
+    // Compare-and-set rotation: succeeds only for the family's current token of a live family,
+    // so two requests racing with the same token cannot both get a successor.
+    @Modifying
+    @Query("""
+            UPDATE RefreshTokenFamily f
+            SET f.previousTokenId = :current, f.currentTokenId = :next, f.rotatedAt = :now, f.expiresAt = :expiresAt
+            WHERE f.familyId = :familyId AND f.currentTokenId = :current AND f.revoked = false
+            """)
+    int rotate(
+            @Param("familyId") String familyId,
+            @Param("current") String current,
+            @Param("next") String next,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    @Modifying
+    @Query("""
+            UPDATE RefreshTokenFamily f
+            SET f.revoked = true, f.revokedReason = :reason
+            WHERE f.familyId = :familyId AND f.revoked = false
+            """)
+    int revoke(@Param("familyId") String familyId, @Param("reason") RefreshTokenRevocationReason reason);
+
+    @Query("SELECT f FROM RefreshTokenFamily f WHERE f.username = :username AND f.revoked = false")
+    List<RefreshTokenFamily> findActiveByUsername(@Param("username") String username);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenFamily f WHERE f.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,22 @@
+package server.stocksyncbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import server.stocksyncbackend.dto.projections.ReorderRuleRow;
+import server.stocksyncbackend.model.ReorderRule;
+
+import java.util.List;
+
+// Reads only: rules are upserted by ReorderRuleService with JDBC batches
+public interface ReorderRuleRepository extends JpaRepository<ReorderRule, Long> {
+
+    @Query("SELECT new server.stocksyncbackend.dto.projections.ReorderRuleRow(" +
+            "r.product.productId, r.warehouse.warehouseId, r.supplier.supplierId, " +
+            "r.reorderPoint, r.reorderQuantity, r.updatedAt) " +
+            "FROM ReorderRule r " +
+            "WHERE (:productId IS NULL OR r.product.productId = :productId) " +
+            "AND (:warehouseId IS NULL OR r.warehouse.warehouseId = :warehouseId) " +
+            "ORDER BY r.product.productId, r.warehouse.warehouseId")
+    List<ReorderRuleRow> findRows(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId);
+}
@@ -0,0 +1,24 @@
+package server.stocksyncbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import server.stocksyncbackend.model.RevokedRefreshToken;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+public interface RevokedRefreshTokenRepository extends JpaRepository<RevokedRefreshToken, String> {
+
+    @Query("SELECT COUNT(r) FROM RevokedRefreshToken r WHERE r.expiresAt >= :now")
+    long countLive(@Param("now") LocalDateTime now);
+
+    // ids only, streamed, so rebuilding the filter does not load every row as an entity
+    @Query("SELECT r.tokenId FROM RevokedRefreshToken r WHERE r.expiresAt >= :now")
+    Stream<String> streamLiveIds(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RevokedRefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,14 @@
+package server.stocksyncbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import server.stocksyncbackend.model.SalesOrderItem;
+
+import java.util.List;
+
+public interface SalesOrderItemRepository extends JpaRepository<SalesOrderItem, Long> {
+
+    @Query("SELECT i FROM SalesOrderItem i JOIN FETCH i.product WHERE i.salesOrder.salesOrderId = :salesOrderId")
+    List<SalesOrderItem> findBySalesOrderId(@Param("salesOrderId") Long salesOrderId);
+}
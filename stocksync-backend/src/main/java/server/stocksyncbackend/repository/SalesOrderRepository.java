@@ -0,0 +1,7 @@
+package server.stocksyncbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import server.stocksyncbackend.model.SalesOrder;
+
+public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long> {
+}
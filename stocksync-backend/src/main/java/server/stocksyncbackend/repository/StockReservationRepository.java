@@ -0,0 +1,27 @@
+package server.stocksyncbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import server.stocksyncbackend.model.StockReservation;
+import server.stocksyncbackend.utils.types.ReservationStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    List<StockReservation> findBySalesOrderIdAndStatus(Long salesOrderId, ReservationStatus status);
+
+    boolean existsBySalesOrderIdAndStatus(Long salesOrderId, ReservationStatus status);
+
+    // keyset page: orders after the given id, so a sweep visits each order once
+    @Query(value = """
+            SELECT DISTINCT sales_order_id FROM stock_reservation
+            WHERE status = 'ACTIVE' AND expires_at < :now AND sales_order_id > :after
+            ORDER BY sales_order_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findOrdersWithExpiredReservations(@Param("now") LocalDateTime now, @Param("after") long after,
+                                                 @Param("limit") int limit);
+}
@@ -0,0 +1,25 @@
+package server.stocksyncbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import server.stocksyncbackend.model.StockSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    // the snapshot an as-of query starts from
+    Optional<StockSnapshot> findFirstByTakenAtLessThanEqualOrderByTakenAtDesc(LocalDateTime at);
+
+    Optional<StockSnapshot> findFirstByOrderByTakenAtDesc();
+
+    Optional<StockSnapshot> findFirstByTakenAtLessThanOrderByTakenAtDesc(LocalDateTime before);
+
+    List<StockSnapshot> findByTakenAtGreaterThanEqualOrderByTakenAtAsc(LocalDateTime from);
+
+    @Query("SELECT s FROM StockSnapshot s ORDER BY s.takenAt DESC")
+    List<StockSnapshot> findAllNewestFirst();
+}
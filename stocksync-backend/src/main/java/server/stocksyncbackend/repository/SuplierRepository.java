@@ -2,6 +2,7 @@ package server.stocksyncbackend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import server.stocksyncbackend.dto.projections.SupplierRef;
 import server.stocksyncbackend.model.Supplier;
 
 import java.util.List;
@@ -10,6 +11,11 @@ import java.util.Optional;
 
 public interface SuplierRepository extends JpaRepository<Supplier, Long> {
     Optional<Boolean> existsBySupplierId(long supplierId);
-    @Query("SELECT supplierName, supplierId FROM Supplier")
-    List<String> findBySupplierName();
+
+    @Query("SELECT new server.stocksyncbackend.dto.projections.SupplierRef(s.supplierId, s.supplierName) " +
+            "FROM Supplier s ORDER BY s.supplierId")
+    List<SupplierRef> findAllSupplierRefs();
+
+    @Query("SELECT s.supplierId FROM Supplier s")
+    List<Long> findAllSupplierIds();
 }
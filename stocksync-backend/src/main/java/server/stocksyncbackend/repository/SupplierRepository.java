@@ -1,7 +1,28 @@
 package server.stocksyncbackend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import server.stocksyncbackend.dto.projections.SupplierScorecardRow;
 import server.stocksyncbackend.model.Supplier;
 
+import java.util.List;
+
 public interface SupplierRepository extends JpaRepository<Supplier,Long> {
+
+    // Supplier scorecard (total orders, total spent, avg lead time) aggregated in the database.
+    // Lead time is only averaged over orders that have both dates, like the old in-memory version.
+    // DRAFT orders (reorder scan proposals nobody has approved) are left out, as in the spend KPIs.
+    @Query("""
+            SELECT new server.stocksyncbackend.dto.projections.SupplierScorecardRow(
+                s.supplierId, s.supplierName, s.phone, s.email, s.leanTime,
+                COUNT(p),
+                COALESCE(SUM(p.totalAmount), 0),
+                AVG((p.expectedDeliveryDate - p.orderDate) BY DAY))
+            FROM Supplier s
+            LEFT JOIN PurchaseOrder p ON p.supplier = s
+                AND (p.status IS NULL OR p.status <> server.stocksyncbackend.utils.types.OrderStatus.DRAFT)
+            GROUP BY s.supplierId, s.supplierName, s.phone, s.email, s.leanTime
+            ORDER BY s.supplierId
+            """)
+    List<SupplierScorecardRow> findSupplierScorecards();
 }
@@ -3,14 +3,24 @@ package server.stocksyncbackend.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import server.stocksyncbackend.dto.projections.WarehouseRef;
 import server.stocksyncbackend.model.Warehouse;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface WarehouseRepository extends JpaRepository<Warehouse, Long> {
     Optional<Boolean> existsByWarehouseId(long warehouseId);
 
-    @Query("SELECT warehouseName, warehouseId FROM Warehouse")
-    List<String> findAllWarehouseNames();
+    @Query("SELECT new server.stocksyncbackend.dto.projections.WarehouseRef(w.warehouseId, w.warehouseName, w.location) " +
+            "FROM Warehouse w ORDER BY w.warehouseId")
+    List<WarehouseRef> findAllWarehouseRefs();
+
+    @Query("SELECT w.warehouseId FROM Warehouse w")
+    List<Long> findAllWarehouseIds();
+
+    @Query("SELECT w.warehouseId FROM Warehouse w WHERE w.warehouseId IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
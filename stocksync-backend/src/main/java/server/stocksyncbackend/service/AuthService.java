@@ -9,17 +9,23 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import server.stocksyncbackend.dto.requests.*;
+import server.stocksyncbackend.dto.responses.AuthCacheStatsResponse;
 import server.stocksyncbackend.dto.responses.TokenResponse;
+import server.stocksyncbackend.dto.responses.UserResponse;
 import server.stocksyncbackend.model.*;
 import server.stocksyncbackend.repository.*;
+import server.stocksyncbackend.service.user.RefreshTokenRegistry;
+import server.stocksyncbackend.service.user.UserPrincipal;
+import server.stocksyncbackend.service.user.UserPrincipalCache;
+import server.stocksyncbackend.service.user.UserProvisioningService;
 import server.stocksyncbackend.utils.CookieUtil;
+import server.stocksyncbackend.utils.types.RefreshTokenRevocationReason;
 import server.stocksyncbackend.utils.types.UserStatus;
 import server.stocksyncbackend.utils.exception.*;
 import server.stocksyncbackend.utils.jwt.JwtService;
 
-import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,7 +35,9 @@ public class AuthService {
     private final JwtService jwtService;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final RoleRepository roleRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final RefreshTokenRegistry refreshTokenRegistry;
+    private final UserProvisioningService userProvisioningService;
 
     // 🔐 LOGIN
     public TokenResponse login(LoginRequest request, HttpServletResponse response) {
@@ -41,15 +49,14 @@ public class AuthService {
                 )
         );
 
-        User user = userRepository.findByUsername(request.getUsername())
+        // principal was just cached by the authentication above
+        UserPrincipal user = userPrincipalCache.get(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        Set<String> roles = user.getRoles().stream()
-                .map(ur -> ur.getRole().getRoleName())
-                .collect(Collectors.toSet());
+        Set<String> roles = user.getRoleNames();
 
         String accessToken = jwtService.generateAccessToken(user.getUsername(), roles);
-        String refreshToken = jwtService.generateRefreshToken(user.getUsername());
+        String refreshToken = refreshTokenRegistry.issue(user.getUsername());
 
         CookieUtil.addRefreshToken(response, refreshToken);
 
@@ -63,30 +70,32 @@ public class AuthService {
 
         String refreshToken = CookieUtil.extractRefreshToken(request);
 
+        // the presented token is spent either way; a reused one also ends its whole session
+        RefreshTokenRegistry.Rotation rotation;
         try {
-            jwtService.validateRefreshToken(refreshToken);
+            rotation = refreshTokenRegistry.rotate(refreshToken);
+        } catch (RefreshTokenReuseException ex) {
+            CookieUtil.clearRefreshToken(response);
+            throw ex;
         } catch (RuntimeException ex) {
             CookieUtil.clearRefreshToken(response);
             throw new RefreshTokenExpiredException("REFRESH_TOKEN_EXPIRED");
         }
 
-        String username = jwtService.extractUsername(refreshToken);
+        String username = rotation.getUsername();
 
-        User user = userRepository.findByUsername(username)
+        UserPrincipal user = userPrincipalCache.get(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         if (user.getStatus() != UserStatus.ACTIVE) {
             throw new RuntimeException("User is not active");
         }
 
-        Set<String> roles = user.getRoles().stream()
-                .map(ur -> ur.getRole().getRoleName())
-                .collect(Collectors.toSet());
+        Set<String> roles = user.getRoleNames();
 
         String newAccessToken = jwtService.generateAccessToken(username, roles);
-        String newRefreshToken = jwtService.generateRefreshToken(username);
 
-        CookieUtil.addRefreshToken(response, newRefreshToken);
+        CookieUtil.addRefreshToken(response, rotation.getRefreshToken());
 
         return TokenResponse.builder()
                 .accessToken(newAccessToken)
@@ -96,42 +105,20 @@ public class AuthService {
 
     // 📝 REGISTER
     public void registerUser(RegisterRequest request) throws UsernameAlreadyExistsException {
-
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new UsernameAlreadyExistsException("Username already exists");
-        }
-
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new UsernameAlreadyExistsException("Email already exists");
-        }
-
-        User user = User.builder()
-                .username(request.getUsername())
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .status(UserStatus.ACTIVE)
-                .build();
-
-        User savedUser = userRepository.save(user);
-
-        Set<UserRole> roles = request.getRoles().stream()
-                .map(roleName -> {
-                    Role role = roleRepository.findByRoleName(roleName)
-                            .orElseThrow(() -> new RuntimeException("Role not found: " + roleName));
-
-                    return UserRole.builder()
-                            .user(savedUser)
-                            .role(role)
-                            .assignedDate(LocalDateTime.now())
-                            .build();
-                }).collect(Collectors.toSet());
-
-        savedUser.setRoles(roles);
-        userRepository.save(savedUser);
+        userProvisioningService.registerAll(List.of(request));
     }
 
     // 🚪 LOGOUT
-    public void logout(HttpServletResponse response) {
+    public void logout(HttpServletRequest request, HttpServletResponse response) {
+        String refreshToken;
+        try {
+            refreshToken = CookieUtil.extractRefreshToken(request);
+        } catch (RuntimeException ex) {
+            refreshToken = null;
+        }
+        if (refreshToken != null) {
+            refreshTokenRegistry.revoke(refreshToken, RefreshTokenRevocationReason.LOGOUT);
+        }
         CookieUtil.clearRefreshToken(response);
     }
 
@@ -148,17 +135,35 @@ public class AuthService {
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        userPrincipalCache.invalidate(user.getUsername());
+        refreshTokenRegistry.revokeAll(user.getUsername(), RefreshTokenRevocationReason.PASSWORD_CHANGED);
     }
 
     // me function for the authentication
-    public User me(Authentication authentication) throws UsernameNotFoundException {
+    public UserResponse me(Authentication authentication) throws UsernameNotFoundException {
 
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new AuthenticationCredentialsNotFoundException("UNAUTHORIZED");
         }
 
-        return userRepository.findByUsername(authentication.getName())
+        UserPrincipal user = userPrincipalCache.get(authentication.getName())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        return UserResponse.builder()
+                .userId(user.getUserId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .status(user.getStatus())
+                .roles(user.getRoleNames())
+                .build();
+    }
+
+    // hit / miss counters of the auth caches
+    public AuthCacheStatsResponse cacheStats() {
+        return AuthCacheStatsResponse.builder()
+                .userPrincipals(userPrincipalCache.stats())
+                .verifiedTokens(jwtService.verifiedTokenCacheStats())
+                .build();
     }
 
 }
@@ -1,32 +1,44 @@
 package server.stocksyncbackend.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import server.stocksyncbackend.model.User;
 import server.stocksyncbackend.repository.UserRepository;
+import server.stocksyncbackend.service.user.UserPrincipal;
+import server.stocksyncbackend.service.user.UserPrincipalCache;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
+    private final UserPrincipalCache userPrincipalCache;
     private final UserRepository userRepository;
 
     @Override
     public UserDetails loadUserByUsername(String username) {
 
-        User user = userRepository.findByUsername(username)
+        UserPrincipal user = userPrincipalCache.get(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
         return new org.springframework.security.core.userdetails.User(
                 user.getUsername(),
-                user.getPassword(),
-                user.getRoles().stream()
-                        .map(ur -> new SimpleGrantedAuthority("ROLE_" + ur.getRole().getRoleName()))
-                        .toList()
+                user.getPasswordHash(),
+                user.getAuthorities()
         );
     }
+
+    // Called by the authentication provider after a successful login when the stored hash
+    // is legacy or weaker than the current strength; newPassword is already encoded.
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        userPrincipalCache.invalidate(user.getUsername());
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
 }
@@ -0,0 +1,310 @@
+package server.stocksyncbackend.service.inventory;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import server.stocksyncbackend.dto.projections.MovementRow;
+import server.stocksyncbackend.dto.projections.StockLevelRow;
+import server.stocksyncbackend.dto.requests.StockPostingLine;
+import server.stocksyncbackend.dto.responses.StockMatrixResponse;
+import server.stocksyncbackend.dto.responses.StockPostingResponse;
+import server.stocksyncbackend.repository.InventoryMovementRepository;
+import server.stocksyncbackend.repository.InventoryRepository;
+import server.stocksyncbackend.repository.ProductRepository;
+import server.stocksyncbackend.repository.WarehouseRepository;
+import server.stocksyncbackend.service.sequence.PooledSequence;
+import server.stocksyncbackend.service.sequence.SequenceAllocator;
+import server.stocksyncbackend.service.user.UserPrincipal;
+import server.stocksyncbackend.service.user.UserPrincipalCache;
+import server.stocksyncbackend.utils.exception.InsufficientStockException;
+import server.stocksyncbackend.utils.exception.InvalidStockPostingException;
+import server.stocksyncbackend.utils.exception.InvalidStockQueryException;
+import server.stocksyncbackend.utils.types.MovementType;
+
+import java.sql.Types;
+import java.util.*;
+import java.util.function.Function;
+
+// The only writer of stock. A posting is any number of lines (receipts, issues, transfers,
+// adjustments) applied in one transaction: every line appends an InventoryMovement, and each
+// touched (product, warehouse) row gets one conditional UPDATE quantity_on_hand = quantity_on_hand + ?
+// that refuses to go below reserved_quantity (what StockReservationService holds for sales orders,
+// 0 when nothing is reserved). Nothing reads the row first, so concurrent postings cannot lose
+// updates, and rows are updated in (productId, warehouseId) order so two multi-line postings
+// always lock shared rows in the same order and wait on each other instead of deadlocking.
+// Committed changes are written through to StockCache.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryLedgerService {
+
+    public static final int MAX_LINES = 10_000;
+    public static final int MAX_MATRIX_PRODUCTS = 1000;
+
+    // rows per JDBC batch, and ids per IN list
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_SHORTAGES = 20;
+
+    private static final String APPLY_DELTA = """
+            UPDATE inventory
+               SET quantity_on_hand = quantity_on_hand + ?
+             WHERE product_product_id = ? AND warehouse_warehouse_id = ?
+               AND quantity_on_hand + ? >= reserved_quantity
+            """;
+
+    // first stock for a location; the conflict branch covers a concurrent first receipt
+    private static final String INSERT_STOCK = """
+            INSERT INTO inventory (inventory_id, product_product_id, warehouse_warehouse_id, quantity_on_hand)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (product_product_id, warehouse_warehouse_id)
+            DO UPDATE SET quantity_on_hand = inventory.quantity_on_hand + EXCLUDED.quantity_on_hand
+            """;
+
+    // movement_date is the database's transaction start: one clock for every node, and a whole
+    // posting shares one date
+    private static final String INSERT_MOVEMENT = """
+            INSERT INTO inventory_movement
+                (movement_id, product_product_id, warehouse_warehouse_id, movement_type,
+                 quantity, movement_date, reference_id, performed_by_user_id)
+            VALUES (?, ?, ?, ?, ?, LOCALTIMESTAMP, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceAllocator sequenceAllocator;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryMovementRepository inventoryMovementRepository;
+    private final ProductRepository productRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final StockCache stockCache;
+
+    // Applies all lines or none; joins the caller's transaction if there is one
+    @Transactional
+    public StockPostingResponse post(String referenceId, List<StockPostingLine> lines, String performedBy) {
+        validate(lines);
+        checkReferences(lines);
+
+        String defaultReference = referenceId == null || referenceId.isBlank()
+                ? "STK-" + UUID.randomUUID()
+                : referenceId;
+        Long userId = performedBy == null
+                ? null
+                : userPrincipalCache.get(performedBy).map(UserPrincipal::getUserId).orElse(null);
+
+        SortedMap<Long, Integer> deltas = netDeltas(lines);
+        applyDeltas(deltas);
+        appendMovements(lines, defaultReference, userId);
+
+        log.debug("Posted {} stock lines over {} locations as {}", lines.size(), deltas.size(), defaultReference);
+
+        return StockPostingResponse.builder()
+                .referenceId(defaultReference)
+                .movements(lines.size())
+                .locations(deltas.size())
+                .build();
+    }
+
+    public List<StockLevelRow> getLevels(Long productId, Long warehouseId) {
+        return inventoryRepository.findLevels(productId, warehouseId);
+    }
+
+    public List<MovementRow> getMovements(String referenceId) {
+        return inventoryMovementRepository.findRowsByReferenceId(referenceId);
+    }
+
+    // served from StockCache
+    public int getOnHand(Long productId, Long warehouseId) {
+        return stockCache.onHand(checkedId("productId", productId), checkedId("warehouseId", warehouseId));
+    }
+
+    // served from StockCache; without warehouseIds every warehouse is a column
+    public StockMatrixResponse getMatrix(List<Long> productIds, List<Long> warehouseIds) {
+        if (productIds == null || productIds.isEmpty() || productIds.size() > MAX_MATRIX_PRODUCTS) {
+            throw new InvalidStockQueryException("Between 1 and " + MAX_MATRIX_PRODUCTS + " productIds are required");
+        }
+        List<Long> columns = warehouseIds == null || warehouseIds.isEmpty()
+                ? warehouseRepository.findAllWarehouseIds().stream().sorted().toList()
+                : warehouseIds;
+        productIds.forEach(id -> checkedId("productId", id));
+        columns.forEach(id -> checkedId("warehouseId", id));
+
+        return StockMatrixResponse.builder()
+                .productIds(productIds)
+                .warehouseIds(columns)
+                .quantities(stockCache.matrix(productIds, columns))
+                .build();
+    }
+
+    private static long checkedId(String name, Long id) {
+        if (id == null || id <= 0) {
+            throw new InvalidStockQueryException("Invalid " + name + ": " + id);
+        }
+        return id;
+    }
+
+    // ==========================
+    // Validation
+    // ==========================
+
+    private void validate(List<StockPostingLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new InvalidStockPostingException("No stock lines to post");
+        }
+        if (lines.size() > MAX_LINES) {
+            throw new InvalidStockPostingException("At most " + MAX_LINES + " stock lines can be posted at once");
+        }
+
+        for (int i = 0; i < lines.size(); i++) {
+            StockPostingLine line = lines.get(i);
+            if (line == null
+                    || line.getProductId() == null
+                    || line.getWarehouseId() == null
+                    || line.getMovementType() == null
+                    || line.getQuantity() == null) {
+                throw new InvalidStockPostingException(
+                        "Line " + i + ": productId, warehouseId, movementType and quantity are required");
+            }
+            boolean signed = line.getMovementType() == MovementType.ADJUSTMENT;
+            if (line.getQuantity() == 0 || (!signed && line.getQuantity() < 0)) {
+                throw new InvalidStockPostingException(signed
+                        ? "Line " + i + ": adjustment quantity must not be zero"
+                        : "Line " + i + ": quantity must be positive");
+            }
+        }
+    }
+
+    private void checkReferences(List<StockPostingLine> lines) {
+        Set<Long> productIds = new TreeSet<>();
+        Set<Long> warehouseIds = new TreeSet<>();
+        lines.forEach(line -> {
+            productIds.add(line.getProductId());
+            warehouseIds.add(line.getWarehouseId());
+        });
+
+        rejectUnknown("Product", productIds, productRepository::findExistingIds);
+        rejectUnknown("Warehouse", warehouseIds, warehouseRepository::findExistingIds);
+    }
+
+    private static void rejectUnknown(String what, Set<Long> ids, Function<List<Long>, List<Long>> lookup) {
+        List<Long> all = new ArrayList<>(ids);
+        Set<Long> missing = new TreeSet<>(ids);
+        for (int start = 0; start < all.size(); start += BATCH_SIZE) {
+            lookup.apply(all.subList(start, Math.min(start + BATCH_SIZE, all.size()))).forEach(missing::remove);
+        }
+        if (!missing.isEmpty()) {
+            throw new InvalidStockPostingException(what + " not found with id: " + missing.iterator().next());
+        }
+    }
+
+    // ==========================
+    // Stock rows
+    // ==========================
+
+    // one net change per location, keyed and ordered by StockLocation key (= lock order)
+    private static SortedMap<Long, Integer> netDeltas(List<StockPostingLine> lines) {
+        SortedMap<Long, Long> sums = new TreeMap<>();
+        for (StockPostingLine line : lines) {
+            long delta = line.getMovementType().delta(line.getQuantity());
+            long key;
+            try {
+                key = StockLocation.key(line.getProductId(), line.getWarehouseId());
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidStockPostingException(ex.getMessage());
+            }
+            sums.merge(key, delta, Long::sum);
+        }
+
+        SortedMap<Long, Integer> deltas = new TreeMap<>();
+        sums.forEach((key, sum) -> {
+            if (sum > Integer.MAX_VALUE || sum < Integer.MIN_VALUE) {
+                throw new InvalidStockPostingException("Quantity out of range for " + StockLocation.describe(key));
+            }
+            if (sum != 0) {
+                deltas.put(key, sum.intValue());
+            }
+        });
+        return deltas;
+    }
+
+    private void applyDeltas(SortedMap<Long, Integer> deltas) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(deltas.entrySet());
+        List<Map.Entry<Long, Integer>> missingRows = new ArrayList<>();
+        List<Long> shortages = new ArrayList<>();
+
+        for (int start = 0; start < entries.size(); start += BATCH_SIZE) {
+            List<Map.Entry<Long, Integer>> batch = entries.subList(start, Math.min(start + BATCH_SIZE, entries.size()));
+            int[] counts = jdbcTemplate.batchUpdate(APPLY_DELTA, batch, batch.size(), (ps, entry) -> {
+                ps.setInt(1, entry.getValue());
+                ps.setLong(2, StockLocation.productId(entry.getKey()));
+                ps.setLong(3, StockLocation.warehouseId(entry.getKey()));
+                ps.setInt(4, entry.getValue());
+            })[0];
+
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    // no row yet, or not enough on hand
+                    if (batch.get(i).getValue() > 0) {
+                        missingRows.add(batch.get(i));
+                    } else {
+                        shortages.add(batch.get(i).getKey());
+                    }
+                }
+            }
+        }
+
+        if (!shortages.isEmpty()) {
+            throw new InsufficientStockException("Insufficient stock for " + describe(shortages));
+        }
+
+        if (!missingRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_STOCK, missingRows, BATCH_SIZE, (ps, entry) -> {
+                ps.setLong(1, sequenceAllocator.next(PooledSequence.INVENTORY));
+                ps.setLong(2, StockLocation.productId(entry.getKey()));
+                ps.setLong(3, StockLocation.warehouseId(entry.getKey()));
+                ps.setInt(4, entry.getValue());
+            });
+        }
+
+        long[] keys = new long[entries.size()];
+        int[] changes = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i).getKey();
+            changes[i] = entries.get(i).getValue();
+        }
+        stockCache.applyAfterCommit(keys, changes);
+    }
+
+    // also used by StockReservationService
+    static String describe(List<Long> shortages) {
+        StringBuilder message = new StringBuilder();
+        shortages.stream().limit(MAX_REPORTED_SHORTAGES).forEach(key -> message
+                .append(message.isEmpty() ? "" : ", ")
+                .append(StockLocation.describe(key)));
+        if (shortages.size() > MAX_REPORTED_SHORTAGES) {
+            message.append(" (+").append(shortages.size() - MAX_REPORTED_SHORTAGES).append(" more)");
+        }
+        return message.toString();
+    }
+
+    // ==========================
+    // Movements
+    // ==========================
+
+    private void appendMovements(List<StockPostingLine> lines, String defaultReference, Long userId) {
+        jdbcTemplate.batchUpdate(INSERT_MOVEMENT, lines, BATCH_SIZE, (ps, line) -> {
+            ps.setLong(1, sequenceAllocator.next(PooledSequence.INVENTORY_MOVEMENT));
+            ps.setLong(2, line.getProductId());
+            ps.setLong(3, line.getWarehouseId());
+            ps.setString(4, line.getMovementType().name());
+            ps.setInt(5, line.getMovementType().delta(line.getQuantity()));
+            ps.setString(6, line.getReferenceId() != null ? line.getReferenceId() : defaultReference);
+            if (userId != null) {
+                ps.setLong(7, userId);
+            } else {
+                ps.setNull(7, Types.BIGINT);
+            }
+        });
+    }
+}
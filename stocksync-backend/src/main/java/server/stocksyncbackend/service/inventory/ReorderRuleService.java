@@ -0,0 +1,128 @@
+package server.stocksyncbackend.service.inventory;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import server.stocksyncbackend.dto.projections.ReorderRuleRow;
+import server.stocksyncbackend.dto.requests.ReorderRuleRequest;
+import server.stocksyncbackend.repository.ProductRepository;
+import server.stocksyncbackend.repository.ReorderRuleRepository;
+import server.stocksyncbackend.repository.SuplierRepository;
+import server.stocksyncbackend.repository.WarehouseRepository;
+import server.stocksyncbackend.service.sequence.PooledSequence;
+import server.stocksyncbackend.service.sequence.SequenceAllocator;
+import server.stocksyncbackend.utils.exception.InvalidReorderRuleException;
+
+import java.util.*;
+
+// Numeric reorder point / reorder quantity per (product, warehouse), with the supplier to order from.
+// Rules are evaluated by ReorderScanService.
+@Service
+@RequiredArgsConstructor
+public class ReorderRuleService {
+
+    public static final int MAX_RULES = 10_000;
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT = """
+            INSERT INTO reorder_rule
+                (id, product_product_id, warehouse_warehouse_id, supplier_supplier_id,
+                 reorder_point, reorder_quantity, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, LOCALTIMESTAMP)
+            ON CONFLICT (product_product_id, warehouse_warehouse_id)
+            DO UPDATE SET supplier_supplier_id = EXCLUDED.supplier_supplier_id,
+                          reorder_point = EXCLUDED.reorder_point,
+                          reorder_quantity = EXCLUDED.reorder_quantity,
+                          updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceAllocator sequenceAllocator;
+    private final ReorderRuleRepository reorderRuleRepository;
+    private final ProductRepository productRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final SuplierRepository suplierRepository;
+
+    public List<ReorderRuleRow> getRules(Long productId, Long warehouseId) {
+        return reorderRuleRepository.findRows(productId, warehouseId);
+    }
+
+    // Creates or replaces the rule of every (product, warehouse) given; all or nothing.
+    // Returns the number of rules written.
+    @Transactional
+    public int saveRules(List<ReorderRuleRequest> rules) {
+        if (rules == null || rules.isEmpty()) {
+            throw new InvalidReorderRuleException("No reorder rules given");
+        }
+        if (rules.size() > MAX_RULES) {
+            throw new InvalidReorderRuleException("At most " + MAX_RULES + " reorder rules can be saved at once");
+        }
+
+        // one row per location (a later entry wins), so one batch never upserts a row twice
+        Map<Long, ReorderRuleRequest> byLocation = new TreeMap<>();
+        for (int i = 0; i < rules.size(); i++) {
+            ReorderRuleRequest rule = rules.get(i);
+            if (rule == null
+                    || rule.getProductId() == null
+                    || rule.getWarehouseId() == null
+                    || rule.getSupplierId() == null
+                    || rule.getReorderPoint() == null
+                    || rule.getReorderQuantity() == null) {
+                throw new InvalidReorderRuleException(
+                        "Rule " + i + ": productId, warehouseId, supplierId, reorderPoint and reorderQuantity are required");
+            }
+            if (rule.getReorderPoint() < 0 || rule.getReorderQuantity() <= 0) {
+                throw new InvalidReorderRuleException(
+                        "Rule " + i + ": reorderPoint must not be negative and reorderQuantity must be positive");
+            }
+            try {
+                byLocation.put(StockLocation.key(rule.getProductId(), rule.getWarehouseId()), rule);
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidReorderRuleException("Rule " + i + ": " + ex.getMessage());
+            }
+        }
+        checkReferences(byLocation.values());
+
+        jdbcTemplate.batchUpdate(UPSERT, new ArrayList<>(byLocation.values()), BATCH_SIZE, (ps, rule) -> {
+            ps.setLong(1, sequenceAllocator.next(PooledSequence.REORDER_RULE));
+            ps.setLong(2, rule.getProductId());
+            ps.setLong(3, rule.getWarehouseId());
+            ps.setLong(4, rule.getSupplierId());
+            ps.setInt(5, rule.getReorderPoint());
+            ps.setInt(6, rule.getReorderQuantity());
+        });
+        return byLocation.size();
+    }
+
+    private void checkReferences(Collection<ReorderRuleRequest> rules) {
+        Set<Long> productIds = new TreeSet<>();
+        Set<Long> warehouseIds = new TreeSet<>();
+        Set<Long> supplierIds = new TreeSet<>();
+        rules.forEach(rule -> {
+            productIds.add(rule.getProductId());
+            warehouseIds.add(rule.getWarehouseId());
+            supplierIds.add(rule.getSupplierId());
+        });
+
+        List<Long> products = new ArrayList<>(productIds);
+        for (int start = 0; start < products.size(); start += BATCH_SIZE) {
+            productRepository.findExistingIds(products.subList(start, Math.min(start + BATCH_SIZE, products.size())))
+                    .forEach(productIds::remove);
+        }
+        productIds.stream().findFirst().ifPresent(id -> {
+            throw new InvalidReorderRuleException("Product not found with id: " + id);
+        });
+
+        warehouseIds.removeAll(warehouseRepository.findAllWarehouseIds());
+        warehouseIds.stream().findFirst().ifPresent(id -> {
+            throw new InvalidReorderRuleException("Warehouse not found with id: " + id);
+        });
+
+        supplierIds.removeAll(suplierRepository.findAllSupplierIds());
+        supplierIds.stream().findFirst().ifPresent(id -> {
+            throw new InvalidReorderRuleException("Supplier not found with id: " + id);
+        });
+    }
+}
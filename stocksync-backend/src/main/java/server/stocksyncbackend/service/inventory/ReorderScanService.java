@@ -0,0 +1,356 @@
+package server.stocksyncbackend.service.inventory;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.stocksyncbackend.dto.responses.ReorderScanResponse;
+import server.stocksyncbackend.model.PurchaseOrder;
+import server.stocksyncbackend.model.Supplier;
+import server.stocksyncbackend.model.Warehouse;
+import server.stocksyncbackend.service.kpi.KpiCounterService;
+import server.stocksyncbackend.service.sequence.PooledSequence;
+import server.stocksyncbackend.service.sequence.SequenceAllocator;
+import server.stocksyncbackend.utils.types.OrderStatus;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.*;
+
+// Turns reorder rules into draft purchase orders. Each run reads only the inventory movements
+// after the stored cursor (movement_id), collects the (product, warehouse) pairs they touched
+// and evaluates just those pairs that have a rule, so the work follows the movement rate and
+// not the size of the catalog.
+//
+// A pair is short when available (on hand - reserved) plus on order (DRAFT / PENDING purchase
+// order items) is at or below the reorder point; short pairs are grouped by (supplier, warehouse)
+// into one DRAFT purchase order each, reorderQuantity per item. Counting drafts as on order keeps
+// a later run from ordering the same shortfall again.
+//
+// Movement ids come from pooled id blocks, so a posting can commit with an id below the cursor.
+// The first batch of every run therefore also re-reads the movements dated within the look-back
+// window, plus rules changed since the last run. Cursor, drafts and evaluation commit together,
+// under a row lock that keeps concurrent scans (other nodes) out.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReorderScanService {
+
+    // pairs per evaluation query
+    private static final int EVALUATE_CHUNK = 500;
+
+    // the cursor starts at the current end of the ledger; the first run evaluates every rule instead
+    private static final String INIT_STATE = """
+            INSERT INTO reorder_scan_state (id, last_movement_id)
+            SELECT 1, COALESCE(MAX(movement_id), 0) FROM inventory_movement
+            ON CONFLICT (id) DO NOTHING
+            """;
+
+    private static final String CLAIM_STATE = """
+            SELECT last_movement_id, last_scan_at FROM reorder_scan_state
+            WHERE id = 1
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String UPDATE_STATE = """
+            UPDATE reorder_scan_state SET last_movement_id = ?, last_scan_at = LOCALTIMESTAMP WHERE id = 1
+            """;
+
+    private static final String NEW_MOVEMENTS = """
+            SELECT movement_id, product_product_id, warehouse_warehouse_id FROM inventory_movement
+            WHERE movement_id > ?
+            ORDER BY movement_id
+            LIMIT ?
+            """;
+
+    private static final String LATE_MOVEMENTS = """
+            SELECT DISTINCT product_product_id, warehouse_warehouse_id FROM inventory_movement
+            WHERE movement_date >= ? AND movement_id <= ?
+            """;
+
+    private static final String CHANGED_RULES = """
+            SELECT product_product_id, warehouse_warehouse_id FROM reorder_rule
+            WHERE updated_at >= ?
+            """;
+
+    private static final String ALL_RULES = """
+            SELECT product_product_id, warehouse_warehouse_id FROM reorder_rule
+            """;
+
+    private static final String EVALUATE = """
+            SELECT r.product_product_id, r.warehouse_warehouse_id, r.supplier_supplier_id,
+                   r.reorder_quantity, p.unit_price, s.lean_time
+              FROM unnest(?::bigint[], ?::bigint[]) AS t(product_id, warehouse_id)
+              JOIN reorder_rule r
+                ON r.product_product_id = t.product_id AND r.warehouse_warehouse_id = t.warehouse_id
+              JOIN product p ON p.product_id = r.product_product_id
+              JOIN supplier s ON s.supplier_id = r.supplier_supplier_id
+              LEFT JOIN inventory i
+                ON i.product_product_id = r.product_product_id AND i.warehouse_warehouse_id = r.warehouse_warehouse_id
+             WHERE COALESCE(i.quantity_on_hand - i.reserved_quantity, 0)
+                   + COALESCE((SELECT SUM(poi.quantity)
+                                 FROM purchase_order_item poi
+                                 JOIN purchase_order po ON po.po_id = poi.purchase_order_po_id
+                                WHERE poi.product_product_id = r.product_product_id
+                                  AND po.warehouse_warehouse_id = r.warehouse_warehouse_id
+                                  AND po.status IN ('DRAFT', 'PENDING')), 0)
+                   <= r.reorder_point
+            """;
+
+    private static final String INSERT_ORDER = """
+            INSERT INTO purchase_order
+                (po_id, item_name, order_date, expected_delivery_date, status, total_amount,
+                 supplier_supplier_id, warehouse_warehouse_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_ITEM = """
+            INSERT INTO purchase_order_item
+                (purchase_order_item_id, purchase_order_po_id, product_product_id, quantity, unit_price, line_total)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SequenceAllocator sequenceAllocator;
+    private final KpiCounterService kpiCounterService;
+
+    // movements read per transaction
+    @Value("${inventory.reorder.scan-batch-size}")
+    private int scanBatchSize;
+
+    // how far back the first batch re-reads movements that may have committed below the cursor
+    @Value("${inventory.reorder.late-commit-lookback-ms}")
+    private long lookbackMs;
+
+    @Scheduled(fixedDelayString = "${inventory.reorder.scan-interval-ms}")
+    public void scheduledScan() {
+        ReorderScanResponse result = scan();
+        if (result.getDraftOrders() > 0) {
+            log.info("Reorder scan: {} movements, {} locations evaluated, {} below reorder point, {} draft orders",
+                    result.getMovementsScanned(), result.getLocationsEvaluated(),
+                    result.getBelowReorderPoint(), result.getDraftOrders());
+        }
+    }
+
+    // Evaluates everything up to the current end of the ledger, one batch per transaction
+    public ReorderScanResponse scan() {
+        jdbcTemplate.update(INIT_STATE);
+
+        ReorderScanResponse total = new ReorderScanResponse();
+        boolean firstBatch = true;
+        while (true) {
+            boolean withLookback = firstBatch;
+            ReorderScanResponse batch = transactionTemplate.execute(status -> scanBatch(withLookback));
+            if (batch == null || batch.isSkipped()) {
+                total.setSkipped(firstBatch);
+                return total;
+            }
+            total.setMovementsScanned(total.getMovementsScanned() + batch.getMovementsScanned());
+            total.setLocationsEvaluated(total.getLocationsEvaluated() + batch.getLocationsEvaluated());
+            total.setBelowReorderPoint(total.getBelowReorderPoint() + batch.getBelowReorderPoint());
+            total.setDraftOrders(total.getDraftOrders() + batch.getDraftOrders());
+            total.setLastMovementId(batch.getLastMovementId());
+
+            if (batch.getMovementsScanned() < scanBatchSize) {
+                return total;
+            }
+            firstBatch = false;
+        }
+    }
+
+    private ReorderScanResponse scanBatch(boolean withLookback) {
+        List<Map<String, Object>> state = jdbcTemplate.queryForList(CLAIM_STATE);
+        if (state.isEmpty()) {
+            return ReorderScanResponse.builder().skipped(true).build();
+        }
+        long cursor = ((Number) state.get(0).get("last_movement_id")).longValue();
+        Timestamp lastScanAt = (Timestamp) state.get(0).get("last_scan_at");
+
+        // StockLocation keys, sorted so the evaluation reads rows in index order
+        SortedSet<Long> locations = new TreeSet<>();
+        long[] last = {cursor};
+        int movements = jdbcTemplate.query(NEW_MOVEMENTS, rs -> {
+            int count = 0;
+            while (rs.next()) {
+                count++;
+                last[0] = rs.getLong(1);
+                locations.add(StockLocation.key(rs.getLong(2), rs.getLong(3)));
+            }
+            return count;
+        }, cursor, scanBatchSize);
+
+        if (withLookback && lastScanAt == null) {
+            // first run: nothing evaluated yet
+            jdbcTemplate.query(ALL_RULES, rs -> {
+                locations.add(StockLocation.key(rs.getLong(1), rs.getLong(2)));
+            });
+        } else if (withLookback) {
+            Timestamp since = new Timestamp(lastScanAt.getTime() - lookbackMs);
+            jdbcTemplate.query(LATE_MOVEMENTS, rs -> {
+                locations.add(StockLocation.key(rs.getLong(1), rs.getLong(2)));
+            }, since, cursor);
+            jdbcTemplate.query(CHANGED_RULES, rs -> {
+                locations.add(StockLocation.key(rs.getLong(1), rs.getLong(2)));
+            }, since);
+        }
+
+        List<Shortfall> shortfalls = evaluate(new ArrayList<>(locations));
+        int drafts = createDrafts(shortfalls);
+
+        jdbcTemplate.update(UPDATE_STATE, last[0]);
+
+        return ReorderScanResponse.builder()
+                .movementsScanned(movements)
+                .locationsEvaluated(locations.size())
+                .belowReorderPoint(shortfalls.size())
+                .draftOrders(drafts)
+                .lastMovementId(last[0])
+                .build();
+    }
+
+    // ==========================
+    // Evaluation
+    // ==========================
+
+    private List<Shortfall> evaluate(List<Long> locations) {
+        List<Shortfall> shortfalls = new ArrayList<>();
+        for (int start = 0; start < locations.size(); start += EVALUATE_CHUNK) {
+            List<Long> chunk = locations.subList(start, Math.min(start + EVALUATE_CHUNK, locations.size()));
+            Long[] productIds = new Long[chunk.size()];
+            Long[] warehouseIds = new Long[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                productIds[i] = StockLocation.productId(chunk.get(i));
+                warehouseIds[i] = StockLocation.warehouseId(chunk.get(i));
+            }
+
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(EVALUATE);
+                Array products = con.createArrayOf("bigint", productIds);
+                Array warehouses = con.createArrayOf("bigint", warehouseIds);
+                ps.setArray(1, products);
+                ps.setArray(2, warehouses);
+                return ps;
+            }, rs -> {
+                shortfalls.add(new Shortfall(
+                        rs.getLong(1),
+                        rs.getLong(2),
+                        rs.getLong(3),
+                        rs.getInt(4),
+                        rs.getBigDecimal(5),
+                        // null when the supplier has no lead time
+                        rs.getObject(6, Integer.class)
+                ));
+            });
+        }
+        return shortfalls;
+    }
+
+    // ==========================
+    // Draft purchase orders
+    // ==========================
+
+    private int createDrafts(List<Shortfall> shortfalls) {
+        if (shortfalls.isEmpty()) {
+            return 0;
+        }
+
+        // one draft per (supplier, warehouse): consecutive runs after sorting
+        shortfalls.sort(Comparator.<Shortfall>comparingLong(line -> line.supplierId)
+                .thenComparingLong(line -> line.warehouseId)
+                .thenComparingLong(line -> line.productId));
+
+        LocalDate today = LocalDate.now();
+        List<PurchaseOrder> orders = new ArrayList<>();
+
+        for (int from = 0, to; from < shortfalls.size(); from = to) {
+            Shortfall first = shortfalls.get(from);
+            to = from + 1;
+            while (to < shortfalls.size()
+                    && shortfalls.get(to).supplierId == first.supplierId
+                    && shortfalls.get(to).warehouseId == first.warehouseId) {
+                to++;
+            }
+
+            long poId = sequenceAllocator.next(PooledSequence.PURCHASE_ORDER);
+            BigDecimal total = null;
+            for (Shortfall line : shortfalls.subList(from, to)) {
+                line.poId = poId;
+                if (line.unitPrice != null) {
+                    line.lineTotal = line.unitPrice.multiply(BigDecimal.valueOf(line.reorderQuantity));
+                    total = total == null ? line.lineTotal : total.add(line.lineTotal);
+                }
+            }
+
+            int products = to - from;
+            orders.add(PurchaseOrder.builder()
+                    .poId(poId)
+                    .ItemName("Reorder: " + products + (products == 1 ? " product" : " products"))
+                    .orderDate(today)
+                    .expectedDeliveryDate(first.leadTimeDays == null ? null : today.plusDays(first.leadTimeDays))
+                    .status(OrderStatus.DRAFT)
+                    .totalAmount(total)
+                    // id-only references, only used for the insert and the KPI counters
+                    .supplier(Supplier.builder().supplierId(first.supplierId).build())
+                    .warehouse(Warehouse.builder().warehouseId(first.warehouseId).build())
+                    .build());
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ORDER, orders, orders.size(), (ps, order) -> {
+            ps.setLong(1, order.getPoId());
+            ps.setString(2, order.getItemName());
+            ps.setDate(3, Date.valueOf(order.getOrderDate()));
+            if (order.getExpectedDeliveryDate() != null) {
+                ps.setDate(4, Date.valueOf(order.getExpectedDeliveryDate()));
+            } else {
+                ps.setNull(4, Types.DATE);
+            }
+            ps.setString(5, order.getStatus().name());
+            ps.setBigDecimal(6, order.getTotalAmount());
+            ps.setLong(7, order.getSupplier().getSupplierId());
+            ps.setLong(8, order.getWarehouse().getWarehouseId());
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_ITEM, shortfalls, shortfalls.size(), (ps, line) -> {
+            ps.setLong(1, sequenceAllocator.next(PooledSequence.PURCHASE_ORDER_ITEM));
+            ps.setLong(2, line.poId);
+            ps.setLong(3, line.productId);
+            ps.setInt(4, line.reorderQuantity);
+            ps.setBigDecimal(5, line.unitPrice);
+            ps.setBigDecimal(6, line.lineTotal);
+        });
+
+        orders.forEach(kpiCounterService::purchaseOrderCreated);
+        return orders.size();
+    }
+
+    // A (product, warehouse) at or below its reorder point, and the draft item it becomes
+    private static final class Shortfall {
+        private final long productId;
+        private final long warehouseId;
+        private final long supplierId;
+        private final int reorderQuantity;
+        private final BigDecimal unitPrice;
+        private final Integer leadTimeDays;
+        private long poId;
+        private BigDecimal lineTotal;
+
+        private Shortfall(long productId, long warehouseId, long supplierId, int reorderQuantity,
+                          BigDecimal unitPrice, Integer leadTimeDays) {
+            this.productId = productId;
+            this.warehouseId = warehouseId;
+            this.supplierId = supplierId;
+            this.reorderQuantity = reorderQuantity;
+            this.unitPrice = unitPrice;
+            this.leadTimeDays = leadTimeDays;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package server.stocksyncbackend.service.inventory;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.stocksyncbackend.utils.cache.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+// Node-local copy of Inventory.quantityOnHand keyed by packed StockLocation keys, for
+// availability checks and product x warehouse grids without a query per cell.
+//
+// InventoryLedgerService writes its deltas through after commit (deltas commute, so commit
+// order does not matter). The map is loaded at startup and re-read on a schedule, which
+// also picks up postings made by other nodes. The database stays authoritative: the ledger
+// never trusts this cache to decide whether stock may go below zero.
+//
+// A delta must reach a map exactly once, whether its commit landed before, during or after the
+// load. Each load therefore keeps the PostgreSQL snapshot it read under, each delta carries its
+// posting's transaction id, and a delta is added to a map only if that map's snapshot could not
+// see the transaction. Deltas committed while a load runs are buffered and replayed the same way.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockCache {
+
+    private static final String LOAD_SQL = """
+            SELECT product_product_id, warehouse_warehouse_id, quantity_on_hand
+              FROM inventory
+             WHERE product_product_id IS NOT NULL AND warehouse_warehouse_id IS NOT NULL
+            """;
+
+    // "xmin:xmax:xip,..." of the load; the same 64-bit ids as pg_current_xact_id()
+    private static final String CURRENT_SNAPSHOT = "SELECT pg_current_snapshot()::text";
+    private static final String CURRENT_XACT = "SELECT pg_current_xact_id()::text::bigint";
+
+    // for deltas applied outside a transaction: never seen by any load
+    private static final long NO_XACT = -1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    // injected only so the schema (ddl-auto) exists before the first load
+    private final EntityManagerFactory entityManagerFactory;
+
+    // sizes the map up front so it does not rehash while loading
+    @Value("${inventory.stock-cache.expected-size}")
+    private int expectedSize;
+
+    private final StampedLock lock = new StampedLock();
+    // swapped whole by rebuild(); volatile so optimistic readers never see a half-built map
+    private volatile LongIntHashMap quantities;
+    // what the current map's load saw; guarded by lock
+    private LoadSnapshot loadedAt;
+    // deltas committed while a load is running, null otherwise; guarded by lock
+    private List<CommittedDelta> pending;
+
+    // pg_current_snapshot() and the rows have to come from one snapshot
+    private TransactionTemplate loadTransaction;
+
+    @PostConstruct
+    void init() {
+        loadTransaction = new TransactionTemplate(transactionManager);
+        loadTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        loadTransaction.setReadOnly(true);
+        rebuild();
+    }
+
+    // ==========================
+    // Reads
+    // ==========================
+
+    // quantity on hand, 0 for a location that never had stock
+    public int onHand(long productId, long warehouseId) {
+        long key = StockLocation.key(productId, warehouseId);
+        long stamp = lock.tryOptimisticRead();
+        int value = quantities.get(key, 0);
+        if (lock.validate(stamp)) {
+            return value;
+        }
+        stamp = lock.readLock();
+        try {
+            return quantities.get(key, 0);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // quantities[i][j] = on hand of productIds[i] in warehouseIds[j], read as one consistent view
+    public int[][] matrix(List<Long> productIds, List<Long> warehouseIds) {
+        int[][] grid = new int[productIds.size()][warehouseIds.size()];
+        long stamp = lock.readLock();
+        try {
+            for (int i = 0; i < productIds.size(); i++) {
+                for (int j = 0; j < warehouseIds.size(); j++) {
+                    grid[i][j] = quantities.get(StockLocation.key(productIds.get(i), warehouseIds.get(j)), 0);
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return grid;
+    }
+
+    // visits every cached location; the visitor runs under the read lock, keep it short
+    public void forEach(LongIntHashMap.Visitor visitor) {
+        long stamp = lock.readLock();
+        try {
+            quantities.forEach(visitor);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return quantities.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // ==========================
+    // Writes
+    // ==========================
+
+    // Applies ledger deltas once the posting transaction commits (straight away outside one).
+    // Called from inside the posting transaction, which is how its transaction id is known.
+    public void applyAfterCommit(long[] keys, int[] deltas) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            CommittedDelta delta = new CommittedDelta(
+                    jdbcTemplate.queryForObject(CURRENT_XACT, Long.class), keys, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(delta);
+                }
+            });
+        } else {
+            apply(new CommittedDelta(NO_XACT, keys, deltas));
+        }
+    }
+
+    private void apply(CommittedDelta delta) {
+        long stamp = lock.writeLock();
+        try {
+            if (pending != null) {
+                pending.add(delta);
+            }
+            if (loadedAt == null || !loadedAt.sees(delta.xact)) {
+                delta.addTo(quantities);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Reloads every row into a fresh map and swaps it in, together with the deltas committed
+    // meanwhile that the load did not see. Runs on one thread at a time (startup, then the scheduler).
+    @Scheduled(fixedDelayString = "${inventory.stock-cache.rebuild-interval-ms}")
+    public void rebuild() {
+        long started = System.nanoTime();
+        long stamp = lock.writeLock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        LongIntHashMap loaded = new LongIntHashMap(expectedSize);
+        LoadSnapshot snapshot;
+        try {
+            snapshot = loadTransaction.execute(status -> {
+                LoadSnapshot at = LoadSnapshot.parse(jdbcTemplate.queryForObject(CURRENT_SNAPSHOT, String.class));
+                jdbcTemplate.query(LOAD_SQL, rs -> {
+                    loaded.put(StockLocation.key(rs.getLong(1), rs.getLong(2)), rs.getInt(3));
+                });
+                return at;
+            });
+        } catch (RuntimeException ex) {
+            stamp = lock.writeLock();
+            try {
+                pending = null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            throw ex;
+        }
+
+        stamp = lock.writeLock();
+        try {
+            for (CommittedDelta delta : pending) {
+                if (!snapshot.sees(delta.xact)) {
+                    delta.addTo(loaded);
+                }
+            }
+            pending = null;
+            quantities = loaded;
+            loadedAt = snapshot;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        log.debug("Stock cache loaded {} locations in {} ms ({} slots, {} KB)",
+                loaded.size(), (System.nanoTime() - started) / 1_000_000,
+                loaded.capacity(), loaded.footprintBytes() / 1024);
+    }
+
+    // Deltas of one post() call and the transaction that committed them
+    private static final class CommittedDelta {
+        private final long xact;
+        private final long[] keys;
+        private final int[] deltas;
+
+        private CommittedDelta(long xact, long[] keys, int[] deltas) {
+            this.xact = xact;
+            this.keys = keys;
+            this.deltas = deltas;
+        }
+
+        private void addTo(LongIntHashMap map) {
+            for (int i = 0; i < keys.length; i++) {
+                map.addTo(keys[i], deltas[i]);
+            }
+        }
+    }
+
+    // A pg_snapshot: transactions below xmin, or below xmax and not in progress, had committed
+    // (or aborted) when it was taken. Only asked about committed transactions.
+    private static final class LoadSnapshot {
+        private final long xmin;
+        private final long xmax;
+        private final long[] inProgress;
+
+        private LoadSnapshot(long xmin, long xmax, long[] inProgress) {
+            this.xmin = xmin;
+            this.xmax = xmax;
+            this.inProgress = inProgress;
+        }
+
+        private static LoadSnapshot parse(String text) {
+            String[] parts = text.split(":", -1);
+            long[] inProgress = parts[2].isEmpty()
+                    ? new long[0]
+                    : Arrays.stream(parts[2].split(",")).mapToLong(Long::parseLong).sorted().toArray();
+            return new LoadSnapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), inProgress);
+        }
+
+        private boolean sees(long xact) {
+            if (xact == NO_XACT) {
+                return false;
+            }
+            return xact < xmin || (xact < xmax && Arrays.binarySearch(inProgress, xact) < 0);
+        }
+    }
+}
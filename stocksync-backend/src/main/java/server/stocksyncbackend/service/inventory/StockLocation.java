@@ -0,0 +1,33 @@
+package server.stocksyncbackend.service.inventory;
+
+// (productId, warehouseId) packed into one long: product in the high 40 bits, warehouse in the
+// low 24. Packed keys sort by product first, then warehouse, which is the ledger's lock order.
+public final class StockLocation {
+
+    private static final int WAREHOUSE_BITS = 24;
+    private static final long WAREHOUSE_MASK = (1L << WAREHOUSE_BITS) - 1;
+    private static final long MAX_PRODUCT_ID = (1L << (Long.SIZE - 1 - WAREHOUSE_BITS)) - 1;
+
+    private StockLocation() {
+    }
+
+    public static long key(long productId, long warehouseId) {
+        if (productId <= 0 || productId > MAX_PRODUCT_ID || warehouseId <= 0 || warehouseId > WAREHOUSE_MASK) {
+            throw new IllegalArgumentException("Stock location out of range: product "
+                    + productId + ", warehouse " + warehouseId);
+        }
+        return productId << WAREHOUSE_BITS | warehouseId;
+    }
+
+    public static long productId(long key) {
+        return key >>> WAREHOUSE_BITS;
+    }
+
+    public static long warehouseId(long key) {
+        return key & WAREHOUSE_MASK;
+    }
+
+    public static String describe(long key) {
+        return "product " + productId(key) + " in warehouse " + warehouseId(key);
+    }
+}
@@ -0,0 +1,387 @@
+package server.stocksyncbackend.service.inventory;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.stocksyncbackend.dto.requests.StockPostingLine;
+import server.stocksyncbackend.dto.responses.ReservationResponse;
+import server.stocksyncbackend.dto.responses.ReservedLine;
+import server.stocksyncbackend.model.SalesOrder;
+import server.stocksyncbackend.model.SalesOrderItem;
+import server.stocksyncbackend.model.StockReservation;
+import server.stocksyncbackend.repository.SalesOrderItemRepository;
+import server.stocksyncbackend.repository.SalesOrderRepository;
+import server.stocksyncbackend.repository.StockReservationRepository;
+import server.stocksyncbackend.service.sequence.PooledSequence;
+import server.stocksyncbackend.service.sequence.SequenceAllocator;
+import server.stocksyncbackend.utils.concurrent.StripedLocks;
+import server.stocksyncbackend.utils.exception.InsufficientStockException;
+import server.stocksyncbackend.utils.exception.InvalidReservationException;
+import server.stocksyncbackend.utils.exception.SalesOrderNotFoundException;
+import server.stocksyncbackend.utils.types.MovementType;
+import server.stocksyncbackend.utils.types.ReservationStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Holds stock for sales orders. Every item of an order is reserved or none is: one conditional
+// UPDATE per (product, warehouse) raises reserved_quantity only while quantity_on_hand - reserved_quantity
+// covers it, and the ledger will not issue into reserved stock.
+//
+// Before touching the database a caller takes the StripedLocks stripes of all its locations, in
+// ascending stripe order, so orders sharing hot SKUs queue here (without holding a pooled
+// connection) instead of deadlocking on row locks taken in item order. Rows are still updated in
+// StockLocation key order, which keeps callers on other nodes deadlock-free too. Stripes are
+// always taken before any row lock, never while holding one.
+//
+// The stripes are per process, so "one active reservation per order" rests on the sales_order
+// row: reserve locks it FOR UPDATE before looking for an active reservation, and a second node
+// reserving the same order waits there and then finds the first one's rows. Closing takes the
+// same lock, so reserve also sees a fulfilment and refuses to hold (and later issue) the stock again.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    public static final int MAX_TTL_MINUTES = 7 * 24 * 60;
+
+    private static final int BATCH_SIZE = 500;
+    // orders released per query by the expiry sweep
+    private static final int EXPIRY_BATCH = 100;
+
+    private static final String RESERVE = """
+            UPDATE inventory
+               SET reserved_quantity = reserved_quantity + ?
+             WHERE product_product_id = ? AND warehouse_warehouse_id = ?
+               AND quantity_on_hand - reserved_quantity >= ?
+            """;
+
+    private static final String UNRESERVE = """
+            UPDATE inventory
+               SET reserved_quantity = reserved_quantity - ?
+             WHERE product_product_id = ? AND warehouse_warehouse_id = ?
+            """;
+
+    private static final String LOCK_ORDER = """
+            SELECT sales_order_id FROM sales_order WHERE sales_order_id = ? FOR UPDATE
+            """;
+
+    private static final String INSERT_RESERVATION = """
+            INSERT INTO stock_reservation
+                (id, sales_order_id, product_id, warehouse_id, quantity, status, created_at, expires_at)
+            VALUES (?, ?, ?, ?, ?, 'ACTIVE', ?, ?)
+            """;
+
+    // closes whatever is still active; a concurrent release / expiry gets no rows back
+    private static final String CLOSE = """
+            UPDATE stock_reservation
+               SET status = ?, closed_at = ?
+             WHERE sales_order_id = ? AND status = 'ACTIVE'
+            RETURNING product_id, warehouse_id, quantity
+            """;
+
+    private static final RowMapper<ReservedLine> LINE_MAPPER = (rs, rowNum) -> ReservedLine.builder()
+            .productId(rs.getLong(1))
+            .warehouseId(rs.getLong(2))
+            .quantity(rs.getInt(3))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SequenceAllocator sequenceAllocator;
+    private final SalesOrderRepository salesOrderRepository;
+    private final SalesOrderItemRepository salesOrderItemRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final InventoryLedgerService inventoryLedgerService;
+
+    @Value("${inventory.reservation.stripes}")
+    private int stripeCount;
+
+    @Value("${inventory.reservation.ttl-minutes}")
+    private int defaultTtlMinutes;
+
+    private StripedLocks stripes;
+
+    @PostConstruct
+    void init() {
+        stripes = new StripedLocks(stripeCount);
+    }
+
+    // Reserves every item of the order from the order's warehouse, or throws and reserves nothing.
+    // An order that already holds an active reservation gets that one back unchanged.
+    public ReservationResponse reserve(Long salesOrderId, Integer ttlMinutes) {
+        int ttl = ttlMinutes == null ? defaultTtlMinutes : ttlMinutes;
+        if (ttl <= 0 || ttl > MAX_TTL_MINUTES) {
+            throw new InvalidReservationException("ttlMinutes must be between 1 and " + MAX_TTL_MINUTES);
+        }
+
+        SortedMap<Long, Integer> quantities = orderQuantities(salesOrderId);
+        long[] keys = keys(quantities.keySet());
+
+        StripedLocks.Held held = stripes.lockAll(keys);
+        try {
+            return transactionTemplate.execute(status -> {
+                if (jdbcTemplate.queryForList(LOCK_ORDER, Long.class, salesOrderId).isEmpty()) {
+                    throw new SalesOrderNotFoundException("Sales order not found with id: " + salesOrderId);
+                }
+                List<StockReservation> active = stockReservationRepository
+                        .findBySalesOrderIdAndStatus(salesOrderId, ReservationStatus.ACTIVE);
+                if (!active.isEmpty()) {
+                    return toResponse(salesOrderId, active);
+                }
+                if (stockReservationRepository.existsBySalesOrderIdAndStatus(salesOrderId, ReservationStatus.FULFILLED)) {
+                    throw new InvalidReservationException("Sales order " + salesOrderId + " has already been fulfilled");
+                }
+
+                holdStock(quantities);
+
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime expiresAt = now.plusMinutes(ttl);
+                insertReservations(salesOrderId, quantities, now, expiresAt);
+
+                log.debug("Reserved {} locations for sales order {} until {}", quantities.size(), salesOrderId, expiresAt);
+
+                return ReservationResponse.builder()
+                        .salesOrderId(salesOrderId)
+                        .status(ReservationStatus.ACTIVE)
+                        .lines(toLines(quantities))
+                        .expiresAt(expiresAt)
+                        .build();
+            });
+        } finally {
+            held.close();
+        }
+    }
+
+    public ReservationResponse getActive(Long salesOrderId) {
+        List<StockReservation> active = stockReservationRepository
+                .findBySalesOrderIdAndStatus(salesOrderId, ReservationStatus.ACTIVE);
+        if (active.isEmpty()) {
+            throw new InvalidReservationException("No active reservation for sales order " + salesOrderId);
+        }
+        return toResponse(salesOrderId, active);
+    }
+
+    // Gives the reserved stock back
+    public ReservationResponse release(Long salesOrderId) {
+        return closeOrThrow(salesOrderId, ReservationStatus.RELEASED, null);
+    }
+
+    // Turns the reservation into ISSUE movements (reference SO-<id>) in the same transaction
+    // that gives the reserved quantity back, so the stock never becomes free in between
+    public ReservationResponse fulfil(Long salesOrderId, String performedBy) {
+        return closeOrThrow(salesOrderId, ReservationStatus.FULFILLED, performedBy);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.expiry-sweep-interval-ms}")
+    public void expireOverdue() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = 0;
+        long after = 0;
+        List<Long> orderIds;
+        do {
+            orderIds = stockReservationRepository.findOrdersWithExpiredReservations(now, after, EXPIRY_BATCH);
+            for (Long orderId : orderIds) {
+                after = orderId;
+                try {
+                    if (!close(orderId, ReservationStatus.EXPIRED, null).isEmpty()) {
+                        expired++;
+                    }
+                } catch (RuntimeException ex) {
+                    // skipped for the rest of this sweep and retried on the next one
+                    log.warn("Could not expire reservation of sales order {}", orderId, ex);
+                }
+            }
+        } while (orderIds.size() == EXPIRY_BATCH);
+
+        if (expired > 0) {
+            log.info("Released {} expired stock reservations", expired);
+        }
+    }
+
+    // ==========================
+    // Reserve
+    // ==========================
+
+    private SortedMap<Long, Integer> orderQuantities(Long salesOrderId) {
+        SalesOrder order = salesOrderRepository.findById(salesOrderId)
+                .orElseThrow(() -> new SalesOrderNotFoundException("Sales order not found with id: " + salesOrderId));
+        if (order.getWarehouse() == null) {
+            throw new InvalidReservationException("Sales order " + salesOrderId + " has no warehouse to reserve from");
+        }
+        long warehouseId = order.getWarehouse().getWarehouseId();
+
+        List<SalesOrderItem> items = salesOrderItemRepository.findBySalesOrderId(salesOrderId);
+        if (items.isEmpty()) {
+            throw new InvalidReservationException("Sales order " + salesOrderId + " has no items");
+        }
+
+        SortedMap<Long, Long> sums = new TreeMap<>();
+        for (SalesOrderItem item : items) {
+            if (item.getProduct() == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new InvalidReservationException("Sales order item " + item.getSalesOrderItemId()
+                        + " needs a product and a positive quantity");
+            }
+            sums.merge(StockLocation.key(item.getProduct().getProductId(), warehouseId),
+                    (long) item.getQuantity(), Long::sum);
+        }
+
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        sums.forEach((key, sum) -> {
+            if (sum > Integer.MAX_VALUE) {
+                throw new InvalidReservationException("Quantity out of range for " + StockLocation.describe(key));
+            }
+            quantities.put(key, sum.intValue());
+        });
+        return quantities;
+    }
+
+    private void holdStock(SortedMap<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantities.entrySet());
+        List<Long> shortages = new ArrayList<>();
+
+        for (int start = 0; start < entries.size(); start += BATCH_SIZE) {
+            List<Map.Entry<Long, Integer>> batch = entries.subList(start, Math.min(start + BATCH_SIZE, entries.size()));
+            int[] counts = jdbcTemplate.batchUpdate(RESERVE, batch, batch.size(), (ps, entry) -> {
+                ps.setInt(1, entry.getValue());
+                ps.setLong(2, StockLocation.productId(entry.getKey()));
+                ps.setLong(3, StockLocation.warehouseId(entry.getKey()));
+                ps.setInt(4, entry.getValue());
+            })[0];
+
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    shortages.add(batch.get(i).getKey());
+                }
+            }
+        }
+
+        if (!shortages.isEmpty()) {
+            // rolls back the rows already raised
+            throw new InsufficientStockException("Insufficient available stock for "
+                    + InventoryLedgerService.describe(shortages));
+        }
+    }
+
+    private void insertReservations(Long salesOrderId, SortedMap<Long, Integer> quantities,
+                                    LocalDateTime createdAt, LocalDateTime expiresAt) {
+        Timestamp created = Timestamp.valueOf(createdAt);
+        Timestamp expires = Timestamp.valueOf(expiresAt);
+        jdbcTemplate.batchUpdate(INSERT_RESERVATION, new ArrayList<>(quantities.entrySet()), BATCH_SIZE, (ps, entry) -> {
+            ps.setLong(1, sequenceAllocator.next(PooledSequence.STOCK_RESERVATION));
+            ps.setLong(2, salesOrderId);
+            ps.setLong(3, StockLocation.productId(entry.getKey()));
+            ps.setLong(4, StockLocation.warehouseId(entry.getKey()));
+            ps.setInt(5, entry.getValue());
+            ps.setTimestamp(6, created);
+            ps.setTimestamp(7, expires);
+        });
+    }
+
+    // ==========================
+    // Release / fulfil / expire
+    // ==========================
+
+    private ReservationResponse closeOrThrow(Long salesOrderId, ReservationStatus outcome, String performedBy) {
+        List<ReservedLine> closed = close(salesOrderId, outcome, performedBy);
+        if (closed.isEmpty()) {
+            throw new InvalidReservationException("No active reservation for sales order " + salesOrderId);
+        }
+        return ReservationResponse.builder()
+                .salesOrderId(salesOrderId)
+                .status(outcome)
+                .lines(closed)
+                .build();
+    }
+
+    // returns the lines this call closed, none when nothing was active any more
+    private List<ReservedLine> close(Long salesOrderId, ReservationStatus outcome, String performedBy) {
+        List<StockReservation> active = stockReservationRepository
+                .findBySalesOrderIdAndStatus(salesOrderId, ReservationStatus.ACTIVE);
+        if (active.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> locations = new TreeSet<>();
+        active.forEach(line -> locations.add(StockLocation.key(line.getProductId(), line.getWarehouseId())));
+
+        StripedLocks.Held held = stripes.lockAll(keys(locations));
+        try {
+            return transactionTemplate.execute(status -> {
+                // serialises with reserve on other nodes (see the class comment)
+                jdbcTemplate.queryForList(LOCK_ORDER, Long.class, salesOrderId);
+                List<ReservedLine> closed = jdbcTemplate.query(CLOSE, LINE_MAPPER,
+                        outcome.name(), Timestamp.valueOf(LocalDateTime.now()), salesOrderId);
+                if (closed.isEmpty()) {
+                    return closed;
+                }
+
+                SortedMap<Long, Integer> quantities = new TreeMap<>();
+                closed.forEach(line -> quantities.merge(
+                        StockLocation.key(line.getProductId(), line.getWarehouseId()), line.getQuantity(), Integer::sum));
+                jdbcTemplate.batchUpdate(UNRESERVE, new ArrayList<>(quantities.entrySet()), BATCH_SIZE, (ps, entry) -> {
+                    ps.setInt(1, entry.getValue());
+                    ps.setLong(2, StockLocation.productId(entry.getKey()));
+                    ps.setLong(3, StockLocation.warehouseId(entry.getKey()));
+                });
+
+                if (outcome == ReservationStatus.FULFILLED) {
+                    inventoryLedgerService.post("SO-" + salesOrderId, issueLines(quantities), performedBy);
+                }
+                return closed;
+            });
+        } finally {
+            held.close();
+        }
+    }
+
+    private static List<StockPostingLine> issueLines(SortedMap<Long, Integer> quantities) {
+        List<StockPostingLine> lines = new ArrayList<>(quantities.size());
+        quantities.forEach((key, quantity) -> lines.add(StockPostingLine.builder()
+                .productId(StockLocation.productId(key))
+                .warehouseId(StockLocation.warehouseId(key))
+                .movementType(MovementType.ISSUE)
+                .quantity(quantity)
+                .build()));
+        return lines;
+    }
+
+    // ==========================
+    // Helpers
+    // ==========================
+
+    private static long[] keys(Collection<Long> locations) {
+        return locations.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static List<ReservedLine> toLines(SortedMap<Long, Integer> quantities) {
+        List<ReservedLine> lines = new ArrayList<>(quantities.size());
+        quantities.forEach((key, quantity) -> lines.add(ReservedLine.builder()
+                .productId(StockLocation.productId(key))
+                .warehouseId(StockLocation.warehouseId(key))
+                .quantity(quantity)
+                .build()));
+        return lines;
+    }
+
+    private static ReservationResponse toResponse(Long salesOrderId, List<StockReservation> active) {
+        return ReservationResponse.builder()
+                .salesOrderId(salesOrderId)
+                .status(ReservationStatus.ACTIVE)
+                .lines(active.stream()
+                        .map(line -> ReservedLine.builder()
+                                .productId(line.getProductId())
+                                .warehouseId(line.getWarehouseId())
+                                .quantity(line.getQuantity())
+                                .build())
+                        .toList())
+                .expiresAt(active.get(0).getExpiresAt())
+                .build();
+    }
+}
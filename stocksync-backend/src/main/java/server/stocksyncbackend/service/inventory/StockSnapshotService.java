@@ -0,0 +1,270 @@
+package server.stocksyncbackend.service.inventory;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.stocksyncbackend.dto.projections.StockQuantityRow;
+import server.stocksyncbackend.dto.responses.StockAsOfResponse;
+import server.stocksyncbackend.dto.responses.StockSnapshotResponse;
+import server.stocksyncbackend.model.StockSnapshot;
+import server.stocksyncbackend.repository.StockSnapshotRepository;
+import server.stocksyncbackend.utils.exception.InvalidStockQueryException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// Point-in-time stock. A snapshot stores, per (product, warehouse), the sum of all movements dated
+// at or before its takenAt, built from the previous snapshot plus the movements in between, so
+// taking one never replays the whole ledger. "Stock as of T" is the latest snapshot at or before T
+// plus the movements dated after it up to T: at most one snapshot interval of movements.
+//
+// takenAt trails the database clock by a settle lag so that postings dated before it (movement_date
+// is the posting transaction's start, also by the database clock) have committed before the
+// snapshot reads them. A posting that runs longer than the lag would be missed, so each snapshot
+// records how many movements its interval held, and a periodic check rebuilds every snapshot from
+// the first one whose interval has gained movements since. A late posting is dated no earlier than
+// the longest transaction before it commits, so the check only recounts snapshots taken within a
+// recent window (recheck-window-ms) and never rescans the whole ledger.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockSnapshotService {
+
+    // pg_try_advisory_xact_lock key: one snapshot writer across instances
+    private static final long SNAPSHOT_LOCK = 0x53544f434b534e50L;
+
+    private static final String FROM_PREVIOUS = """
+            INSERT INTO stock_snapshot_line (snapshot_id, product_id, warehouse_id, quantity)
+            SELECT ?, product_id, warehouse_id, SUM(quantity)
+              FROM (SELECT product_id, warehouse_id, quantity
+                      FROM stock_snapshot_line
+                     WHERE snapshot_id = ?
+                    UNION ALL
+                    SELECT product_product_id, warehouse_warehouse_id, quantity
+                      FROM inventory_movement
+                     WHERE movement_date > ? AND movement_date <= ?) d
+             GROUP BY product_id, warehouse_id
+            HAVING SUM(quantity) <> 0
+            """;
+
+    // first snapshot only
+    private static final String FROM_LEDGER = """
+            INSERT INTO stock_snapshot_line (snapshot_id, product_id, warehouse_id, quantity)
+            SELECT ?, product_product_id, warehouse_warehouse_id, SUM(quantity)
+              FROM inventory_movement
+             WHERE movement_date <= ?
+             GROUP BY product_product_id, warehouse_warehouse_id
+            HAVING SUM(quantity) <> 0
+            """;
+
+    private static final String INTERVAL_MOVEMENTS = """
+            SELECT COUNT(*) FROM inventory_movement WHERE movement_date > ? AND movement_date <= ?
+            """;
+
+    private static final String LEDGER_MOVEMENTS = """
+            SELECT COUNT(*) FROM inventory_movement WHERE movement_date <= ?
+            """;
+
+    // oldest recent snapshot whose interval no longer holds the movements it was built from
+    private static final String FIRST_STALE = """
+            SELECT id
+              FROM (SELECT id, taken_at, movements,
+                           LAG(taken_at) OVER (ORDER BY taken_at) AS after
+                      FROM stock_snapshot) s
+             WHERE s.taken_at > LOCALTIMESTAMP - ? * INTERVAL '1 millisecond'
+               AND movements IS NOT NULL
+               AND movements <> (SELECT COUNT(*) FROM inventory_movement m
+                                  WHERE m.movement_date > COALESCE(s.after, '-infinity'::timestamp)
+                                    AND m.movement_date <= s.taken_at)
+             ORDER BY taken_at
+             LIMIT 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final StockSnapshotRepository stockSnapshotRepository;
+
+    @Value("${inventory.snapshot.settle-lag-ms}")
+    private long settleLagMs;
+
+    @Value("${inventory.snapshot.recheck-window-ms}")
+    private long recheckWindowMs;
+
+    // the movement count and the lines have to come from the same view of the ledger
+    private TransactionTemplate snapshotTransaction;
+
+    @PostConstruct
+    void init() {
+        snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @Scheduled(cron = "${inventory.snapshot.cron}")
+    public void scheduledSnapshot() {
+        // a new snapshot starts from the previous one, so that has to be right first
+        repairSnapshots();
+        takeSnapshot();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${inventory.snapshot.verify-interval-ms}",
+            initialDelayString = "${inventory.snapshot.verify-interval-ms}"
+    )
+    public void scheduledVerify() {
+        repairSnapshots();
+    }
+
+    // Writes a snapshot up to now - settle lag; empty when another instance is writing one
+    // or nothing has happened since the last one could be taken
+    public Optional<StockSnapshotResponse> takeSnapshot() {
+        long started = System.nanoTime();
+        StockSnapshot snapshot = snapshotTransaction.execute(status -> {
+            if (!tryLock()) {
+                return null;
+            }
+
+            LocalDateTime takenAt = jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", LocalDateTime.class)
+                    .minus(settleLagMs, ChronoUnit.MILLIS);
+            Optional<StockSnapshot> previous = stockSnapshotRepository.findFirstByOrderByTakenAtDesc();
+            if (previous.isPresent() && !takenAt.isAfter(previous.get().getTakenAt())) {
+                return null;
+            }
+
+            StockSnapshot created = stockSnapshotRepository.saveAndFlush(StockSnapshot.builder()
+                    .takenAt(takenAt)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            writeLines(created, previous.orElse(null));
+            return created;
+        });
+
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        log.info("Stock snapshot {} as of {}: {} locations in {} ms", snapshot.getId(), snapshot.getTakenAt(),
+                snapshot.getLocations(), (System.nanoTime() - started) / 1_000_000);
+        return Optional.of(toResponse(snapshot));
+    }
+
+    // Rebuilds, oldest first, every snapshot from the first recent one whose interval has gained
+    // movements since it was written; returns how many were rebuilt (0 when another instance holds the lock)
+    public int repairSnapshots() {
+        Integer rebuilt = snapshotTransaction.execute(status -> {
+            if (!tryLock()) {
+                return 0;
+            }
+            List<Long> stale = jdbcTemplate.queryForList(FIRST_STALE, Long.class, recheckWindowMs);
+            if (stale.isEmpty()) {
+                return 0;
+            }
+
+            LocalDateTime from = stockSnapshotRepository.findById(stale.get(0)).orElseThrow().getTakenAt();
+            StockSnapshot previous = stockSnapshotRepository.findFirstByTakenAtLessThanOrderByTakenAtDesc(from).orElse(null);
+            List<StockSnapshot> snapshots = stockSnapshotRepository.findByTakenAtGreaterThanEqualOrderByTakenAtAsc(from);
+            for (StockSnapshot snapshot : snapshots) {
+                jdbcTemplate.update("DELETE FROM stock_snapshot_line WHERE snapshot_id = ?", snapshot.getId());
+                writeLines(snapshot, previous);
+                previous = snapshot;
+            }
+            return snapshots.size();
+        });
+
+        if (rebuilt != null && rebuilt > 0) {
+            log.warn("Rebuilt {} stock snapshots that missed late-committed movements", rebuilt);
+        }
+        return rebuilt == null ? 0 : rebuilt;
+    }
+
+    public List<StockSnapshotResponse> getSnapshots() {
+        return stockSnapshotRepository.findAllNewestFirst().stream().map(StockSnapshotService::toResponse).toList();
+    }
+
+    public StockAsOfResponse getAsOf(LocalDateTime at, Long productId, Long warehouseId) {
+        if (at == null) {
+            throw new InvalidStockQueryException("at is required");
+        }
+        Optional<StockSnapshot> snapshot = stockSnapshotRepository.findFirstByTakenAtLessThanEqualOrderByTakenAtDesc(at);
+
+        // filters are appended as fixed fragments; only their values are parameters
+        StringBuilder sql = new StringBuilder("SELECT product_id, warehouse_id, SUM(quantity) FROM (");
+        List<Object> args = new ArrayList<>();
+        if (snapshot.isPresent()) {
+            sql.append("SELECT product_id, warehouse_id, quantity FROM stock_snapshot_line WHERE snapshot_id = ?");
+            args.add(snapshot.get().getId());
+            filter(sql, args, "product_id", productId, "warehouse_id", warehouseId);
+            sql.append(" UNION ALL ");
+        }
+        sql.append("SELECT product_product_id AS product_id, warehouse_warehouse_id AS warehouse_id, quantity "
+                + "FROM inventory_movement WHERE movement_date <= ?");
+        args.add(Timestamp.valueOf(at));
+        if (snapshot.isPresent()) {
+            sql.append(" AND movement_date > ?");
+            args.add(Timestamp.valueOf(snapshot.get().getTakenAt()));
+        }
+        filter(sql, args, "product_product_id", productId, "warehouse_warehouse_id", warehouseId);
+        sql.append(") d GROUP BY product_id, warehouse_id HAVING SUM(quantity) <> 0 ORDER BY product_id, warehouse_id");
+
+        List<StockQuantityRow> levels = jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new StockQuantityRow(rs.getLong(1), rs.getLong(2), rs.getInt(3)),
+                args.toArray());
+
+        return StockAsOfResponse.builder()
+                .at(at)
+                .snapshotTakenAt(snapshot.map(StockSnapshot::getTakenAt).orElse(null))
+                .levels(levels)
+                .build();
+    }
+
+    // one snapshot writer across instances; released with the transaction
+    private boolean tryLock() {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, SNAPSHOT_LOCK));
+    }
+
+    // lines of a (managed) snapshot from the previous one plus the movements in between,
+    // or from the whole ledger for the first one
+    private void writeLines(StockSnapshot snapshot, StockSnapshot previous) {
+        Timestamp takenAt = Timestamp.valueOf(snapshot.getTakenAt());
+        if (previous == null) {
+            snapshot.setMovements(jdbcTemplate.queryForObject(LEDGER_MOVEMENTS, Long.class, takenAt));
+            snapshot.setLocations(jdbcTemplate.update(FROM_LEDGER, snapshot.getId(), takenAt));
+        } else {
+            Timestamp after = Timestamp.valueOf(previous.getTakenAt());
+            snapshot.setMovements(jdbcTemplate.queryForObject(INTERVAL_MOVEMENTS, Long.class, after, takenAt));
+            snapshot.setLocations(jdbcTemplate.update(FROM_PREVIOUS, snapshot.getId(), previous.getId(), after, takenAt));
+        }
+    }
+
+    private static void filter(StringBuilder sql, List<Object> args,
+                               String productColumn, Long productId,
+                               String warehouseColumn, Long warehouseId) {
+        if (productId != null) {
+            sql.append(" AND ").append(productColumn).append(" = ?");
+            args.add(productId);
+        }
+        if (warehouseId != null) {
+            sql.append(" AND ").append(warehouseColumn).append(" = ?");
+            args.add(warehouseId);
+        }
+    }
+
+    private static StockSnapshotResponse toResponse(StockSnapshot snapshot) {
+        return StockSnapshotResponse.builder()
+                .snapshotId(snapshot.getId())
+                .takenAt(snapshot.getTakenAt())
+                .createdAt(snapshot.getCreatedAt())
+                .locations(snapshot.getLocations())
+                .build();
+    }
+}
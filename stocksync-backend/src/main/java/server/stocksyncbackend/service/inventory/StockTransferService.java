@@ -0,0 +1,316 @@
+package server.stocksyncbackend.service.inventory;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import server.stocksyncbackend.dto.requests.StockPostingLine;
+import server.stocksyncbackend.dto.requests.StockTransferLine;
+import server.stocksyncbackend.dto.requests.StockTransferRequest;
+import server.stocksyncbackend.dto.requests.StockTransferRow;
+import server.stocksyncbackend.dto.responses.ImportRowError;
+import server.stocksyncbackend.dto.responses.StockPostingResponse;
+import server.stocksyncbackend.dto.responses.StockTransferImportResponse;
+import server.stocksyncbackend.repository.ProductRepository;
+import server.stocksyncbackend.repository.WarehouseRepository;
+import server.stocksyncbackend.utils.CsvUtil;
+import server.stocksyncbackend.utils.exception.InsufficientStockException;
+import server.stocksyncbackend.utils.exception.InvalidImportException;
+import server.stocksyncbackend.utils.exception.InvalidStockPostingException;
+import server.stocksyncbackend.utils.types.MovementType;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// Moves stock between warehouses through InventoryLedgerService: every transferred line becomes a
+// TRANSFER_OUT / TRANSFER_IN movement pair under one referenceId, booked in the same posting.
+//
+// A single transfer is one posting. A bulk file (CSV or NDJSON, same handling as
+// PurchaseOrderImportService) is read line by line against product / warehouse id sets loaded
+// once, and valid rows are posted BATCH_SIZE at a time. A batch the ledger rejects because of
+// some of its rows (not enough stock, a product deleted meanwhile) is rolled back, split in halves
+// and retried, so only the offending rows end up failed; k bad rows cost about 2k*log2(BATCH_SIZE)
+// extra postings.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockTransferService {
+
+    public static final String CSV = "text/csv";
+    public static final String NDJSON = "application/x-ndjson";
+
+    // two ledger lines per transfer line
+    public static final int MAX_LINES = InventoryLedgerService.MAX_LINES / 2;
+
+    // transfer rows per posting (transaction) during a bulk import
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final InventoryLedgerService inventoryLedgerService;
+    private final ProductRepository productRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final ObjectMapper objectMapper;
+
+    public StockPostingResponse transfer(StockTransferRequest request, String performedBy) {
+        if (request.getFromWarehouseId() == null || request.getToWarehouseId() == null) {
+            throw new InvalidStockPostingException("fromWarehouseId and toWarehouseId are required");
+        }
+        if (request.getFromWarehouseId().equals(request.getToWarehouseId())) {
+            throw new InvalidStockPostingException("Source and destination warehouse must differ");
+        }
+        if (request.getLines() == null || request.getLines().isEmpty()) {
+            throw new InvalidStockPostingException("No transfer lines");
+        }
+        if (request.getLines().size() > MAX_LINES) {
+            throw new InvalidStockPostingException("At most " + MAX_LINES + " lines can be transferred at once");
+        }
+
+        List<StockPostingLine> lines = new ArrayList<>(request.getLines().size() * 2);
+        for (int i = 0; i < request.getLines().size(); i++) {
+            StockTransferLine line = request.getLines().get(i);
+            if (line == null || line.getProductId() == null || line.getQuantity() == null || line.getQuantity() <= 0) {
+                throw new InvalidStockPostingException("Line " + i + ": productId and a positive quantity are required");
+            }
+            addPair(lines, line.getProductId(), request.getFromWarehouseId(), request.getToWarehouseId(), line.getQuantity());
+        }
+
+        // unknown products / warehouses and shortages are rejected by the ledger
+        return inventoryLedgerService.post(referenceOrDefault(request.getReferenceId()), lines, performedBy);
+    }
+
+    public StockTransferImportResponse importTransfers(
+            InputStream input,
+            String contentType,
+            String referenceId,
+            String performedBy
+    ) throws IOException {
+
+        boolean csv = contentType != null && contentType.startsWith(CSV);
+        if (!csv && (contentType == null || !contentType.startsWith(NDJSON))) {
+            throw new InvalidImportException("Unsupported import format: " + contentType);
+        }
+
+        // in-memory lookups, built once for the whole import
+        Set<Long> productIds = new HashSet<>(productRepository.findAllProductIds());
+        Set<Long> warehouseIds = new HashSet<>(warehouseRepository.findAllWarehouseIds());
+
+        TransferRun run = new TransferRun(referenceOrDefault(referenceId), performedBy);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+
+            Map<String, Integer> header = null;
+            long lineNo = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                if (csv && header == null) {
+                    header = readHeader(line);
+                    continue;
+                }
+
+                run.totalRows++;
+                try {
+                    StockTransferRow row = csv ? fromCsv(line, header) : fromJson(line);
+                    check(row, productIds, warehouseIds);
+                    run.add(lineNo, row);
+                } catch (RuntimeException ex) {
+                    run.fail(lineNo, ex.getMessage());
+                }
+
+                if (run.pendingLines.size() >= BATCH_SIZE) {
+                    flush(run);
+                }
+            }
+        }
+
+        flush(run);
+
+        log.info("Stock transfer import {} by {}: {} rows, {} transferred, {} failed",
+                run.referenceId, performedBy, run.totalRows, run.transferred, run.failed);
+
+        return StockTransferImportResponse.builder()
+                .referenceId(run.referenceId)
+                .totalRows(run.totalRows)
+                .transferred(run.transferred)
+                .failed(run.failed)
+                .errors(run.errors)
+                .errorsTruncated(run.failed > run.errors.size())
+                .build();
+    }
+
+    private static void addPair(List<StockPostingLine> lines, long productId, long fromWarehouseId,
+                                long toWarehouseId, int quantity) {
+        lines.add(StockPostingLine.builder()
+                .productId(productId)
+                .warehouseId(fromWarehouseId)
+                .movementType(MovementType.TRANSFER_OUT)
+                .quantity(quantity)
+                .build());
+        lines.add(StockPostingLine.builder()
+                .productId(productId)
+                .warehouseId(toWarehouseId)
+                .movementType(MovementType.TRANSFER_IN)
+                .quantity(quantity)
+                .build());
+    }
+
+    private static String referenceOrDefault(String referenceId) {
+        return referenceId == null || referenceId.isBlank() ? "TRF-" + UUID.randomUUID() : referenceId;
+    }
+
+    // ==========================
+    // Parsing / validation
+    // ==========================
+
+    private Map<String, Integer> readHeader(String line) {
+        Map<String, Integer> header = new HashMap<>();
+        List<String> names = CsvUtil.parseLine(line);
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("fromwarehouseid", "towarehouseid", "productid", "quantity")) {
+            if (!header.containsKey(required)) {
+                throw new InvalidImportException("CSV header is missing column: " + required);
+            }
+        }
+        return header;
+    }
+
+    private StockTransferRow fromCsv(String line, Map<String, Integer> header) {
+        List<String> fields = CsvUtil.parseLine(line);
+        return StockTransferRow.builder()
+                .fromWarehouseId(parseLong(field(fields, header, "fromwarehouseid"), "fromWarehouseId"))
+                .toWarehouseId(parseLong(field(fields, header, "towarehouseid"), "toWarehouseId"))
+                .productId(parseLong(field(fields, header, "productid"), "productId"))
+                .quantity(parseQuantity(field(fields, header, "quantity")))
+                .build();
+    }
+
+    private StockTransferRow fromJson(String line) {
+        try {
+            return objectMapper.readValue(line, StockTransferRow.class);
+        } catch (JacksonException ex) {
+            throw new IllegalArgumentException("Invalid JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private static void check(StockTransferRow row, Set<Long> productIds, Set<Long> warehouseIds) {
+        if (row.getProductId() == null || !productIds.contains(row.getProductId())) {
+            throw new IllegalArgumentException("Product not found with id: " + row.getProductId());
+        }
+        if (row.getFromWarehouseId() == null || !warehouseIds.contains(row.getFromWarehouseId())) {
+            throw new IllegalArgumentException("Warehouse not found with id: " + row.getFromWarehouseId());
+        }
+        if (row.getToWarehouseId() == null || !warehouseIds.contains(row.getToWarehouseId())) {
+            throw new IllegalArgumentException("Warehouse not found with id: " + row.getToWarehouseId());
+        }
+        if (row.getFromWarehouseId().equals(row.getToWarehouseId())) {
+            throw new IllegalArgumentException("Source and destination warehouse must differ");
+        }
+        if (row.getQuantity() == null || row.getQuantity() <= 0) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> header, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static Long parseLong(String value, String name) {
+        try {
+            return value == null ? null : Long.valueOf(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static Integer parseQuantity(String value) {
+        try {
+            return value == null ? null : Integer.valueOf(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid quantity: " + value);
+        }
+    }
+
+    // ==========================
+    // Posting
+    // ==========================
+
+    private void flush(TransferRun run) {
+        if (run.pendingLines.isEmpty()) {
+            return;
+        }
+
+        post(run, run.pending, run.pendingLines);
+
+        run.pending = new ArrayList<>(BATCH_SIZE);
+        run.pendingLines = new ArrayList<>(BATCH_SIZE);
+    }
+
+    // One posting for the rows; a rejection caused by row data bisects down to the rows responsible,
+    // anything else (e.g. the database being unavailable) fails them all
+    private void post(TransferRun run, List<StockTransferRow> rows, List<Long> lineNos) {
+        List<StockPostingLine> lines = new ArrayList<>(rows.size() * 2);
+        rows.forEach(row -> addPair(lines, row.getProductId(),
+                row.getFromWarehouseId(), row.getToWarehouseId(), row.getQuantity()));
+        try {
+            inventoryLedgerService.post(run.referenceId, lines, run.performedBy);
+            run.transferred += rows.size();
+        } catch (InsufficientStockException | InvalidStockPostingException ex) {
+            if (rows.size() == 1) {
+                run.fail(lineNos.get(0), ex.getMessage());
+                return;
+            }
+            int mid = rows.size() / 2;
+            post(run, rows.subList(0, mid), lineNos.subList(0, mid));
+            post(run, rows.subList(mid, rows.size()), lineNos.subList(mid, rows.size()));
+        } catch (RuntimeException ex) {
+            log.warn("Stock transfer batch of {} failed: {}", run.referenceId, ex.getMessage());
+            String message = "Batch rolled back: " + ex.getMessage();
+            lineNos.forEach(line -> run.fail(line, message));
+        }
+    }
+
+    // Mutable state of one import
+    private static final class TransferRun {
+        private final String referenceId;
+        private final String performedBy;
+        private List<StockTransferRow> pending = new ArrayList<>(BATCH_SIZE);
+        private List<Long> pendingLines = new ArrayList<>(BATCH_SIZE);
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long transferred;
+        private long failed;
+
+        private TransferRun(String referenceId, String performedBy) {
+            this.referenceId = referenceId;
+            this.performedBy = performedBy;
+        }
+
+        private void add(long line, StockTransferRow row) {
+            pending.add(row);
+            pendingLines.add(line);
+        }
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(ImportRowError.builder().line(line).message(message).build());
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package server.stocksyncbackend.service.kpi;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import server.stocksyncbackend.model.PurchaseOrder;
+import server.stocksyncbackend.repository.GRNRepository;
+import server.stocksyncbackend.repository.PurchaseOrderRepository;
+import server.stocksyncbackend.repository.SupplierRepository;
+import server.stocksyncbackend.utils.types.GrnStatus;
+import server.stocksyncbackend.utils.types.OrderStatus;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// In-memory dashboard counters for the PO, GRN and supplier KPI cards.
+// Write paths report their changes here (applied after commit), reads are O(1),
+// and a scheduled reconcile re-reads the real numbers so any drift is short-lived.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KpiCounterService {
+
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final GRNRepository grnRepository;
+    private final SupplierRepository supplierRepository;
+
+    private final Map<OrderStatus, AtomicLong> ordersByStatus = counters(OrderStatus.class);
+    private final Map<GrnStatus, AtomicLong> grnsByStatus = counters(GrnStatus.class);
+    private final AtomicReference<BigDecimal> totalSpend = new AtomicReference<>(BigDecimal.ZERO);
+    private final AtomicReference<BigDecimal> supplierSpend = new AtomicReference<>(BigDecimal.ZERO);
+    private final AtomicLong supplierCount = new AtomicLong();
+
+    private volatile boolean loaded = false;
+
+    // ==========================
+    // Reads
+    // ==========================
+
+    public long orderCount(OrderStatus status) {
+        ensureLoaded();
+        return ordersByStatus.get(status).get();
+    }
+
+    public long totalOrders() {
+        ensureLoaded();
+        long total = 0;
+        for (AtomicLong count : ordersByStatus.values()) {
+            total += count.get();
+        }
+        return total;
+    }
+
+    // spend excludes DRAFT orders; an approved draft's amount is picked up by the next reconcile
+    public BigDecimal totalSpend() {
+        ensureLoaded();
+        return totalSpend.get();
+    }
+
+    // spend of orders that are linked to a supplier (supplier KPI card)
+    public BigDecimal supplierSpend() {
+        ensureLoaded();
+        return supplierSpend.get();
+    }
+
+    public long grnCount(GrnStatus status) {
+        ensureLoaded();
+        return grnsByStatus.get(status).get();
+    }
+
+    public long totalGrns() {
+        ensureLoaded();
+        long total = 0;
+        for (AtomicLong count : grnsByStatus.values()) {
+            total += count.get();
+        }
+        return total;
+    }
+
+    public long supplierCount() {
+        ensureLoaded();
+        return supplierCount.get();
+    }
+
+    // ==========================
+    // Write notifications
+    // ==========================
+
+    public void purchaseOrderCreated(PurchaseOrder order) {
+        OrderStatus status = order.getStatus();
+        BigDecimal amount = order.getTotalAmount();
+        boolean hasSupplier = order.getSupplier() != null;
+
+        afterCommit(() -> {
+            if (status != null) {
+                ordersByStatus.get(status).incrementAndGet();
+            }
+            if (amount != null && status != OrderStatus.DRAFT) {
+                totalSpend.accumulateAndGet(amount, BigDecimal::add);
+                if (hasSupplier) {
+                    supplierSpend.accumulateAndGet(amount, BigDecimal::add);
+                }
+            }
+        });
+    }
+
+    public void purchaseOrderStatusChanged(OrderStatus from, OrderStatus to) {
+        purchaseOrderStatusChanged(from, to, 1);
+    }
+
+    public void purchaseOrderStatusChanged(OrderStatus from, OrderStatus to, long orders) {
+        if (from == to || orders == 0) {
+            return;
+        }
+        afterCommit(() -> {
+            if (from != null) {
+                ordersByStatus.get(from).addAndGet(-orders);
+            }
+            if (to != null) {
+                ordersByStatus.get(to).addAndGet(orders);
+            }
+        });
+    }
+
+    public void grnCreated(GrnStatus status) {
+        if (status == null) {
+            return;
+        }
+        afterCommit(() -> grnsByStatus.get(status).incrementAndGet());
+    }
+
+    public void supplierCreated() {
+        afterCommit(supplierCount::incrementAndGet);
+    }
+
+    public void supplierDeleted() {
+        afterCommit(supplierCount::decrementAndGet);
+    }
+
+    // ==========================
+    // Reconciliation
+    // ==========================
+
+    @Scheduled(fixedDelayString = "${kpi.reconcile-interval-ms}")
+    public void reconcile() {
+        Map<OrderStatus, Long> orders = grouped(OrderStatus.class, purchaseOrderRepository.countGroupedByStatus());
+        Map<GrnStatus, Long> grns = grouped(GrnStatus.class, grnRepository.countGroupedByStatus());
+        BigDecimal spend = purchaseOrderRepository.sumTotalAmount();
+        BigDecimal withSupplier = purchaseOrderRepository.sumTotalAmountWithSupplier();
+        long suppliers = supplierRepository.count();
+
+        ordersByStatus.forEach((status, count) -> count.set(orders.getOrDefault(status, 0L)));
+        grnsByStatus.forEach((status, count) -> count.set(grns.getOrDefault(status, 0L)));
+        totalSpend.set(spend == null ? BigDecimal.ZERO : spend);
+        supplierSpend.set(withSupplier == null ? BigDecimal.ZERO : withSupplier);
+        supplierCount.set(suppliers);
+
+        loaded = true;
+        log.debug("KPI counters reconciled: orders={} grns={} suppliers={}", orders, grns, suppliers);
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reconcile();
+                }
+            }
+        }
+    }
+
+    // ==========================
+    // Helpers
+    // ==========================
+
+    // Only count a write once it is committed; outside a transaction the
+    // repository call has already committed, so apply straight away.
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, AtomicLong> counters(Class<E> type) {
+        Map<E, AtomicLong> map = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            map.put(value, new AtomicLong());
+        }
+        return map;
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> grouped(Class<E> type, List<Object[]> rows) {
+        Map<E, Long> map = new EnumMap<>(type);
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                map.put(type.cast(row[0]), ((Number) row[1]).longValue());
+            }
+        }
+        return map;
+    }
+}
@@ -0,0 +1,38 @@
+package server.stocksyncbackend.service.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Picks the highest bcrypt strength whose hash time on this machine stays under the target.
+// Each strength step doubles the work, so one measurement at the minimum is enough to extrapolate.
+@Slf4j
+public final class BcryptCostCalibrator {
+
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 16;
+
+    private static final int SAMPLES = 3;
+
+    private BcryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        probe.encode("calibration-warmup");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < SAMPLES; i++) {
+            probe.encode("calibration-" + i);
+        }
+        double baseMillis = (System.nanoTime() - start) / 1_000_000.0 / SAMPLES;
+
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH && baseMillis * (1L << (strength + 1 - MIN_STRENGTH)) <= targetMillis) {
+            strength++;
+        }
+
+        log.info("bcrypt strength {} selected ({} ms at strength {}, target {} ms)",
+                strength, String.format("%.1f", baseMillis), MIN_STRENGTH, targetMillis);
+        return strength;
+    }
+}
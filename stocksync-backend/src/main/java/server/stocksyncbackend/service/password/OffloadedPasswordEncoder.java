@@ -0,0 +1,39 @@
+package server.stocksyncbackend.service.password;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+// Sends the expensive calls to the hashing pool; the caller just waits for the result.
+// upgradeEncoding only parses the stored hash, so it stays on the calling thread.
+@RequiredArgsConstructor
+public class OffloadedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashExecutor executor;
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.run(() -> delegate.encode(rawPassword));
+    }
+
+    // bulk provisioning: hashes in parallel on the pool, results in input order
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<Supplier<String>> work = rawPasswords.stream()
+                .<Supplier<String>>map(raw -> () -> delegate.encode(raw))
+                .toList();
+        return executor.runAll(work);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,111 @@
+package server.stocksyncbackend.service.password;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import server.stocksyncbackend.utils.exception.PasswordHashingBusyException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Runs bcrypt work on its own small pool so a login storm cannot occupy every Tomcat thread.
+// The queue is bounded: once it is full callers are refused straight away (503) instead of piling up.
+@Slf4j
+@Component
+public class PasswordHashExecutor {
+
+    @Value("${security.password.hash-threads}")
+    private int threads;
+
+    @Value("${security.password.hash-queue-capacity}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor pool;
+
+    @PostConstruct
+    public void start() {
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNo = new AtomicInteger();
+        pool = new ThreadPoolExecutor(
+                size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNo.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        log.info("Password hashing pool started with {} threads, queue capacity {}", size, queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    public <T> T run(Supplier<T> work) {
+        Future<T> future;
+        try {
+            future = pool.submit(work::get);
+        } catch (RejectedExecutionException ex) {
+            throw new PasswordHashingBusyException("Too many authentication requests, try again shortly");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Password hashing was interrupted");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    // Runs a batch at most pool-size tasks at a time, so a bulk job leaves the queue free
+    // for interactive logins instead of filling it. Results keep the input order.
+    public <T> List<T> runAll(List<Supplier<T>> work) {
+        int window = pool.getCorePoolSize();
+        List<T> results = new ArrayList<>(work.size());
+        List<Future<T>> inFlight = new ArrayList<>(window);
+
+        try {
+            for (int start = 0; start < work.size(); start += window) {
+                inFlight.clear();
+                for (Supplier<T> task : work.subList(start, Math.min(start + window, work.size()))) {
+                    inFlight.add(pool.submit(task::get));
+                }
+                for (Future<T> future : inFlight) {
+                    results.add(future.get());
+                }
+            }
+        } catch (RejectedExecutionException ex) {
+            inFlight.forEach(future -> future.cancel(true));
+            throw new PasswordHashingBusyException("Too many authentication requests, try again shortly");
+        } catch (InterruptedException ex) {
+            inFlight.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Password hashing was interrupted");
+        } catch (ExecutionException ex) {
+            inFlight.forEach(future -> future.cancel(true));
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+        return results;
+    }
+
+    public int queued() {
+        return pool.getQueue().size();
+    }
+}
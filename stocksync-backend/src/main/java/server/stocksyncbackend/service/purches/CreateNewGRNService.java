@@ -3,8 +3,11 @@ package server.stocksyncbackend.service.purches;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import server.stocksyncbackend.dto.projections.GrnRow;
 import server.stocksyncbackend.dto.requests.CreateGRNRequest;
+import server.stocksyncbackend.dto.requests.StockPostingLine;
 import server.stocksyncbackend.dto.responses.GrnKPICardResponse;
+import server.stocksyncbackend.dto.responses.GrnPageResponse;
 import server.stocksyncbackend.dto.responses.GrnResponse;
 import server.stocksyncbackend.model.GRN;
 import server.stocksyncbackend.model.Product;
@@ -12,20 +15,38 @@ import server.stocksyncbackend.model.PurchaseOrder;
 import server.stocksyncbackend.repository.GRNRepository;
 import server.stocksyncbackend.repository.ProductRepository;
 import server.stocksyncbackend.repository.PurchaseOrderRepository;
+import server.stocksyncbackend.service.inventory.InventoryLedgerService;
+import server.stocksyncbackend.service.kpi.KpiCounterService;
+import server.stocksyncbackend.service.sequence.SkuGenerator;
+import server.stocksyncbackend.utils.CursorUtil;
+import server.stocksyncbackend.utils.exception.InvalidCursorException;
 import server.stocksyncbackend.utils.exception.OrderNotFoundExceptionn;
 import server.stocksyncbackend.utils.exception.UnacceptedOrderException;
+import server.stocksyncbackend.utils.types.CaregoryStatus;
 import server.stocksyncbackend.utils.types.GrnStatus;
+import server.stocksyncbackend.utils.types.LocationLevel;
+import server.stocksyncbackend.utils.types.MovementType;
 import server.stocksyncbackend.utils.types.OrderStatus;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class CreateNewGRNService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final PurchaseOrderRepository purchaseOrderRepository;
     private final ProductRepository productRepository;
     private final GRNRepository grnRepository;
+    private final KpiCounterService kpiCounterService;
+    private final PurchaseOrderStateService purchaseOrderStateService;
+    private final SkuGenerator skuGenerator;
+    private final InventoryLedgerService inventoryLedgerService;
 
     @Transactional
     public void createNewGRN(CreateGRNRequest request) {
@@ -39,6 +60,13 @@ public class CreateNewGRNService {
         if (order.getStatus() != OrderStatus.PENDING) {
             throw new UnacceptedOrderException("Only PENDING orders can create a GRN");
         }
+
+        // Claim the order before writing anything: the conditional update lets only
+        // one of two concurrent completing GRNs through, the other rolls back here
+        if (request.getStatus() == GrnStatus.COMPLETED) {
+            purchaseOrderStateService.transition(order.getPoId(), OrderStatus.RECEIVED);
+        }
+
         GRN grn = GRN.builder()
                 .purchaseOrder(order)
                 .GrnNote(request.getGrnNote())
@@ -46,24 +74,47 @@ public class CreateNewGRNService {
                 .build();
 
         grnRepository.save(grn);
+        kpiCounterService.grnCreated(grn.getStatus());
 
         if (request.getStatus() == GrnStatus.COMPLETED) {
+            // flushed so the ledger's JDBC writes can reference the product row
+            Product product = productRepository.saveAndFlush(
+                    newStockProduct(order, request.getCategoryStatus(), request.getLocationLevel())
+            );
+            StockPostingLine receipt = receiptLine(grn, order, product, request.getReceivedQuantity());
+            if (receipt != null) {
+                inventoryLedgerService.post(receipt.getReferenceId(), List.of(receipt), null);
+            }
+        }
+    }
 
-            Product product = Product.builder()
-                    .productName(order.getItemName())
-                    .sku("SKU-" + System.currentTimeMillis())
-
-                    .category(request.getCategoryStatus())
-                    .unitPrice(order.getTotalAmount())
-                    .reorderLevel(request.getLocationLevel())
-                    .build();
-
-            productRepository.save(product);
+    // Product row added to store inventory when a GRN completes (shared with the async intake)
+    Product newStockProduct(PurchaseOrder order, CaregoryStatus category, LocationLevel reorderLevel) {
+        return Product.builder()
+                .productName(order.getItemName())
+                .sku(skuGenerator.nextSku())
+                .category(category)
+                .unitPrice(order.getTotalAmount())
+                .reorderLevel(reorderLevel)
+                .build();
+    }
 
-            order.setStatus(OrderStatus.RECEIVED);
+    // Stock receipt for a completed GRN, or null when nothing was counted in
+    // (no quantity given, or an order without a warehouse)
+    StockPostingLine receiptLine(GRN grn, PurchaseOrder order, Product product, Integer receivedQuantity) {
+        if (receivedQuantity == null || order.getWarehouse() == null) {
+            return null;
         }
-
-        purchaseOrderRepository.save(order);
+        if (receivedQuantity <= 0) {
+            throw new UnacceptedOrderException("receivedQuantity must be positive");
+        }
+        return StockPostingLine.builder()
+                .productId(product.getProductId())
+                .warehouseId(order.getWarehouse().getWarehouseId())
+                .movementType(MovementType.RECEIPT)
+                .quantity(receivedQuantity)
+                .referenceId("GRN-" + grn.getId())
+                .build();
     }
 
     // ==========================
@@ -78,33 +129,87 @@ public class CreateNewGRNService {
     }
 
     // ==========================
-    // KPI Cards Data
+    // KPI Cards Data (served from the in-memory KPI counters)
     // ==========================
     public GrnKPICardResponse getGrnKPICards() {
-        int totalGrns = Math.toIntExact(grnRepository.count());
-        int completedGrns = grnRepository.countAllByStatus(GrnStatus.COMPLETED);
-        int incompleteGrns = grnRepository.countAllByStatus(GrnStatus.INCOMPLETE);
+        int totalGrns = Math.toIntExact(kpiCounterService.totalGrns());
+        // received but not yet through inspection
+        int pendingGrns = Math.toIntExact(kpiCounterService.grnCount(GrnStatus.RECEIVED)
+                + kpiCounterService.grnCount(GrnStatus.UNDER_INSPECTION));
+        int incompleteGrns = Math.toIntExact(kpiCounterService.grnCount(GrnStatus.INCOMPLETE));
 
         return GrnKPICardResponse.builder()
-                .totalGrns(completedGrns)
-                .IncompleteGrns(incompleteGrns)
                 .totalGrns(totalGrns)
+                .pendingGrns(pendingGrns)
+                .IncompleteGrns(incompleteGrns)
                 .build();
     }
 
     // ==========================
-    // Get all GRNs
+    // Search GRNs (keyset paginated, newest first)
     // ==========================
-    public List<GrnResponse> getAllGrnRecords() {
-        return grnRepository.findAll().stream().map(grn -> GrnResponse.builder()
-                .id(grn.getId())
-                .receivedDate(String.valueOf(grn.getReceivedDate()))
-                .grnNote(grn.getGrnNote())
-                .status(grn.getStatus())
-                .inspectionLevel(grn.getInspectionLevel())
-                .Poid(
-                        grn.getPurchaseOrder().getPoId()
-                )
-                .build()).toList();
+    public GrnPageResponse searchGrns(
+            GrnStatus status,
+            LocationLevel inspectionLevel,
+            LocalDate receivedFrom,
+            LocalDate receivedTo,
+            Long poId,
+            String cursor,
+            Integer size
+    ) {
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        LocalDateTime afterReceivedDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = CursorUtil.decode(cursor, 2);
+            try {
+                afterReceivedDate = parts[0] == null ? null : LocalDateTime.parse(parts[0]);
+                afterId = Long.valueOf(parts[1]);
+            } catch (RuntimeException ex) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+        }
+
+        // fetch one extra row to know whether another page exists
+        List<GrnRow> rows = new ArrayList<>(grnRepository.searchRows(
+                status,
+                inspectionLevel,
+                receivedFrom == null ? null : receivedFrom.atStartOfDay(),
+                // the "to" date is inclusive: everything before the next midnight
+                receivedTo == null ? null : receivedTo.plusDays(1).atStartOfDay(),
+                poId,
+                afterReceivedDate,
+                afterId,
+                limit + 1
+        ));
+
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows.remove(limit);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            GrnRow last = rows.get(rows.size() - 1);
+            nextCursor = CursorUtil.encode(last.getReceivedDate(), last.getId());
+        }
+
+        return GrnPageResponse.builder()
+                .items(rows.stream().map(this::toResponse).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private GrnResponse toResponse(GrnRow row) {
+        return GrnResponse.builder()
+                .id(row.getId())
+                .receivedDate(String.valueOf(row.getReceivedDate()))
+                .grnNote(row.getGrnNote())
+                .status(row.getStatus())
+                .inspectionLevel(row.getInspectionLevel())
+                .Poid(row.getPoId())
+                .build();
     }
 }
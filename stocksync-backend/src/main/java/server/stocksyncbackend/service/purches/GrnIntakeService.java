@@ -0,0 +1,106 @@
+package server.stocksyncbackend.service.purches;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import server.stocksyncbackend.dto.requests.CreateGRNRequest;
+import server.stocksyncbackend.dto.responses.GrnIntakeResponse;
+import server.stocksyncbackend.model.GrnIntake;
+import server.stocksyncbackend.repository.GrnIntakeRepository;
+import server.stocksyncbackend.utils.exception.GrnIntakeNotFoundException;
+import server.stocksyncbackend.utils.exception.IdempotencyKeyConflictException;
+import server.stocksyncbackend.utils.exception.UnacceptedOrderException;
+import server.stocksyncbackend.utils.types.GrnIntakeStatus;
+
+import java.time.LocalDateTime;
+
+// Front half of the async GRN pipeline: records the request under its idempotency key
+// and returns straight away; GrnIntakeWorker does the actual GRN work in batches.
+@Service
+@RequiredArgsConstructor
+public class GrnIntakeService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final GrnIntakeRepository grnIntakeRepository;
+    private final GrnIntakeWorker grnIntakeWorker;
+
+    // ==========================
+    // Accept
+    // ==========================
+
+    public GrnIntakeResponse accept(String idempotencyKey, CreateGRNRequest request) {
+
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new UnacceptedOrderException(
+                    "Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters"
+            );
+        }
+        if (request.getPoId() == null) {
+            throw new UnacceptedOrderException("poId is required");
+        }
+
+        // a retry of a request we already have
+        GrnIntake existing = grnIntakeRepository.findByIdempotencyKey(idempotencyKey).orElse(null);
+        if (existing != null) {
+            return toResponse(sameRequest(existing, request));
+        }
+
+        GrnIntake intake = GrnIntake.builder()
+                .idempotencyKey(idempotencyKey)
+                .poId(request.getPoId())
+                .grnNote(request.getGrnNote())
+                .category(request.getCategoryStatus())
+                .locationLevel(request.getLocationLevel())
+                .receivedQuantity(request.getReceivedQuantity())
+                .grnStatus(request.getStatus())
+                .status(GrnIntakeStatus.ACCEPTED)
+                .acceptedAt(LocalDateTime.now())
+                .build();
+
+        try {
+            intake = grnIntakeRepository.save(intake);
+        } catch (DataIntegrityViolationException ex) {
+            // the same key raced us in from another request thread
+            GrnIntake winner = grnIntakeRepository.findByIdempotencyKey(idempotencyKey).orElseThrow(() -> ex);
+            return toResponse(sameRequest(winner, request));
+        }
+
+        grnIntakeWorker.signal();
+        return toResponse(intake);
+    }
+
+    // ==========================
+    // Status
+    // ==========================
+
+    public GrnIntakeResponse getStatus(String idempotencyKey) {
+        return grnIntakeRepository.findByIdempotencyKey(idempotencyKey)
+                .map(this::toResponse)
+                .orElseThrow(() ->
+                        new GrnIntakeNotFoundException("No GRN intake for key: " + idempotencyKey)
+                );
+    }
+
+    private GrnIntake sameRequest(GrnIntake existing, CreateGRNRequest request) {
+        if (!existing.getPoId().equals(request.getPoId())) {
+            throw new IdempotencyKeyConflictException(
+                    "Idempotency-Key " + existing.getIdempotencyKey()
+                            + " was already used for purchase order " + existing.getPoId()
+            );
+        }
+        return existing;
+    }
+
+    private GrnIntakeResponse toResponse(GrnIntake intake) {
+        return GrnIntakeResponse.builder()
+                .idempotencyKey(intake.getIdempotencyKey())
+                .poId(intake.getPoId())
+                .status(intake.getStatus())
+                .grnId(intake.getGrnId())
+                .error(intake.getError())
+                .acceptedAt(intake.getAcceptedAt())
+                .processedAt(intake.getProcessedAt())
+                .build();
+    }
+}
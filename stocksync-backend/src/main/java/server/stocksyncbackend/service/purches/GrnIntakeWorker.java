@@ -0,0 +1,244 @@
+package server.stocksyncbackend.service.purches;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.stocksyncbackend.dto.requests.StockPostingLine;
+import server.stocksyncbackend.model.GRN;
+import server.stocksyncbackend.model.GrnIntake;
+import server.stocksyncbackend.model.Product;
+import server.stocksyncbackend.model.PurchaseOrder;
+import server.stocksyncbackend.repository.GRNRepository;
+import server.stocksyncbackend.repository.GrnIntakeRepository;
+import server.stocksyncbackend.repository.ProductRepository;
+import server.stocksyncbackend.repository.PurchaseOrderRepository;
+import server.stocksyncbackend.service.inventory.InventoryLedgerService;
+import server.stocksyncbackend.service.kpi.KpiCounterService;
+import server.stocksyncbackend.utils.types.GrnIntakeStatus;
+import server.stocksyncbackend.utils.types.GrnStatus;
+import server.stocksyncbackend.utils.types.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Back half of the async GRN pipeline. A fixed pool of workers claims ACCEPTED intakes
+// (FOR UPDATE SKIP LOCKED) and writes each claimed batch in one transaction.
+// The table is the queue, so nothing is lost on restart and the pool size is the only concurrency.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GrnIntakeWorker {
+
+    private final GrnIntakeRepository grnIntakeRepository;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final GRNRepository grnRepository;
+    private final ProductRepository productRepository;
+    private final CreateNewGRNService createNewGRNService;
+    private final KpiCounterService kpiCounterService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${grn.intake.workers}")
+    private int workers;
+
+    @Value("${grn.intake.batch-size}")
+    private int batchSize;
+
+    // fallback poll for work that arrived while every worker was busy (or before a restart)
+    @Value("${grn.intake.idle-poll-ms}")
+    private long idlePollMs;
+
+    private final Semaphore wakeups = new Semaphore(0);
+    private volatile boolean running = false;
+    private ExecutorService pool;
+
+    // ==========================
+    // Lifecycle
+    // ==========================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        AtomicInteger threadNo = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "grn-intake-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            pool.submit(this::drainLoop);
+        }
+        log.info("GRN intake started with {} workers, batch size {}", workers, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (pool != null) {
+            pool.shutdownNow();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    // wakes an idle worker; called after an intake has been committed
+    public void signal() {
+        if (wakeups.availablePermits() < workers) {
+            wakeups.release();
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                if (processNextBatch() == 0) {
+                    wakeups.tryAcquire(idlePollMs, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                // e.g. database unavailable: back off and keep the worker alive
+                log.error("GRN intake worker failed", ex);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(idlePollMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // ==========================
+    // Batches
+    // ==========================
+
+    // Claims and processes up to batchSize intakes; returns how many were claimed
+    int processNextBatch() {
+        List<Long> claimed = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                List<GrnIntake> batch = grnIntakeRepository.claimAccepted(batchSize);
+                batch.forEach(intake -> claimed.add(intake.getId()));
+                process(batch);
+            });
+            return claimed.size();
+        } catch (RuntimeException ex) {
+            if (claimed.isEmpty()) {
+                throw ex;
+            }
+            // one bad intake must not sink the whole batch: redo them one per transaction
+            log.warn("GRN intake batch of {} failed ({}), retrying individually", claimed.size(), ex.getMessage());
+            claimed.forEach(this::processSingle);
+            return claimed.size();
+        }
+    }
+
+    private void processSingle(Long intakeId) {
+        try {
+            transactionTemplate.executeWithoutResult(tx ->
+                    process(grnIntakeRepository.claimAcceptedById(intakeId))
+            );
+        } catch (RuntimeException ex) {
+            transactionTemplate.executeWithoutResult(tx ->
+                    grnIntakeRepository.claimAcceptedById(intakeId)
+                            .forEach(intake -> fail(intake, "GRN could not be saved: " + ex.getMessage()))
+            );
+        }
+    }
+
+    // Same rules as CreateNewGRNService.createNewGRN, with the lookups done once per batch
+    private void process(List<GrnIntake> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Set<Long> poIds = batch.stream().map(GrnIntake::getPoId).collect(Collectors.toSet());
+        Map<Long, PurchaseOrder> orders = purchaseOrderRepository.findAllById(poIds).stream()
+                .collect(Collectors.toMap(PurchaseOrder::getPoId, Function.identity()));
+        Set<Long> ordersWithGrn = new HashSet<>(grnRepository.findPoIdsWithGrn(poIds));
+
+        Map<GrnIntake, GRN> written = new LinkedHashMap<>();
+        Map<GrnIntake, Product> products = new LinkedHashMap<>();
+
+        for (GrnIntake intake : batch) {
+            PurchaseOrder order = orders.get(intake.getPoId());
+
+            if (order == null) {
+                fail(intake, "Purchase order not found");
+                continue;
+            }
+            if (order.getStatus() != OrderStatus.PENDING) {
+                fail(intake, "Only PENDING orders can create a GRN");
+                continue;
+            }
+            if (!ordersWithGrn.add(order.getPoId())) {
+                fail(intake, "Purchase order already has a GRN");
+                continue;
+            }
+
+            if (intake.getGrnStatus() == GrnStatus.COMPLETED) {
+                if (purchaseOrderRepository.compareAndSetStatus(
+                        order.getPoId(), OrderStatus.PENDING, OrderStatus.RECEIVED) == 0) {
+                    fail(intake, "Only PENDING orders can create a GRN");
+                    continue;
+                }
+                kpiCounterService.purchaseOrderStatusChanged(OrderStatus.PENDING, OrderStatus.RECEIVED);
+                products.put(intake, createNewGRNService.newStockProduct(
+                        order, intake.getCategory(), intake.getLocationLevel()
+                ));
+            }
+
+            written.put(intake, GRN.builder()
+                    .purchaseOrder(order)
+                    .GrnNote(intake.getGrnNote())
+                    .status(intake.getGrnStatus())
+                    .receivedDate(intake.getAcceptedAt())
+                    .build());
+        }
+
+        grnRepository.saveAll(written.values());
+        productRepository.saveAll(products.values());
+
+        // all receipts of the batch as one posting, each line referencing its own GRN
+        List<StockPostingLine> receipts = new ArrayList<>();
+        products.forEach((intake, product) -> {
+            GRN grn = written.get(intake);
+            StockPostingLine receipt = createNewGRNService.receiptLine(
+                    grn, grn.getPurchaseOrder(), product, intake.getReceivedQuantity());
+            if (receipt != null) {
+                receipts.add(receipt);
+            }
+        });
+        if (!receipts.isEmpty()) {
+            productRepository.flush();
+            inventoryLedgerService.post(null, receipts, null);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        written.forEach((intake, grn) -> {
+            intake.setStatus(GrnIntakeStatus.COMPLETED);
+            intake.setGrnId(grn.getId());
+            intake.setProcessedAt(now);
+            kpiCounterService.grnCreated(grn.getStatus());
+        });
+    }
+
+    private void fail(GrnIntake intake, String error) {
+        intake.setStatus(GrnIntakeStatus.FAILED);
+        intake.setError(error);
+        intake.setProcessedAt(LocalDateTime.now());
+    }
+}
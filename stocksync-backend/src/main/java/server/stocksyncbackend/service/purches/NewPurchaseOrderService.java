@@ -13,6 +13,8 @@ import server.stocksyncbackend.repository.PurchaseOrderRepository;
 import server.stocksyncbackend.repository.SuplierRepository;
 import server.stocksyncbackend.repository.UserRepository;
 import server.stocksyncbackend.repository.WarehouseRepository;
+import server.stocksyncbackend.service.kpi.KpiCounterService;
+import server.stocksyncbackend.service.reference.ReferenceDataService;
 import server.stocksyncbackend.utils.exception.SuplierNotFoundException;
 import server.stocksyncbackend.utils.exception.WarehouseNotFoundException;
 import server.stocksyncbackend.utils.types.OrderStatus;
@@ -27,21 +29,22 @@ public class NewPurchaseOrderService {
     private final SuplierRepository suplierRepository;
     private final WarehouseRepository warehouseRepository;
     private final UserRepository userRepository;
+    private final KpiCounterService kpiCounterService;
+    private final ReferenceDataService referenceDataService;
 
-    // Get All Supplier Names
+    // Get All Supplier Names (served from the reference data cache)
     public List<SupplierNameAndIdResponse> getAllSupplierNamesAndId(){
-        List<Supplier> supplier = suplierRepository.findAll();
-        return supplier.stream()
-                .map(s -> new SupplierNameAndIdResponse(s.getSupplierName(), String.valueOf(s.getSupplierId())))
-                .toList();
+        return referenceDataService.current().getSuppliers();
     }
 
-    // Get All Warehouse Locations
+    // Get All Warehouse Locations (served from the reference data cache)
     public List<WareHouseNameAndIdResponse> getAllWarehouseLocationsAndId(){
-        List<Warehouse> warehouses = warehouseRepository.findAll();
-        return warehouses.stream()
-                .map(w -> new WareHouseNameAndIdResponse(w.getLocation(), String.valueOf(w.getWarehouseId())))
-                .toList();
+        return referenceDataService.current().getWarehouseLocations();
+    }
+
+    // ETag of the cached supplier / warehouse lists
+    public String referenceDataEtag() {
+        return referenceDataService.current().getEtag();
     }
 
     // Create New Purchase Order
@@ -71,6 +74,7 @@ public class NewPurchaseOrderService {
                 .build();
 
         purchaseOrderRepository.save(order);
+        kpiCounterService.purchaseOrderCreated(order);
     }
 
 
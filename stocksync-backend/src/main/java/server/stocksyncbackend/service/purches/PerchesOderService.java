@@ -4,10 +4,17 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
 import server.stocksyncbackend.dto.mappers.PerchesOrderMapper;
+import server.stocksyncbackend.dto.projections.StickerRow;
+import server.stocksyncbackend.dto.requests.BulkStatusTransitionRequest;
 import server.stocksyncbackend.dto.requests.PerchesOderRequest;
+import server.stocksyncbackend.dto.responses.BulkStatusTransitionResponse;
 import server.stocksyncbackend.dto.responses.CardValuesPurchaseOrder;
 import server.stocksyncbackend.dto.responses.PerchesOderResponse;
+import server.stocksyncbackend.dto.responses.PurchaseOrderPageResponse;
+import server.stocksyncbackend.dto.responses.PurchaseOrderSummaryResponse;
 import server.stocksyncbackend.dto.responses.StickerPrintingDataResponse;
 import server.stocksyncbackend.dto.responses.SupplierNameAndIdAndWarehouseNameAndIdResponse;
 import server.stocksyncbackend.model.PurchaseOrder;
@@ -16,14 +23,21 @@ import server.stocksyncbackend.repository.PurchaseOrderRepository;
 import server.stocksyncbackend.repository.SuplierRepository;
 import server.stocksyncbackend.repository.UserRepository;
 import server.stocksyncbackend.repository.WarehouseRepository;
+import server.stocksyncbackend.service.kpi.KpiCounterService;
+import server.stocksyncbackend.service.reference.ReferenceDataService;
+import server.stocksyncbackend.utils.CursorUtil;
+import server.stocksyncbackend.utils.exception.InvalidCursorException;
 import server.stocksyncbackend.utils.exception.OrderNotFoundExceptionn;
 import server.stocksyncbackend.utils.types.OrderStatus;
+import server.stocksyncbackend.utils.types.PurchaseOrderSortKey;
 import server.stocksyncbackend.utils.exception.SuplierNotFoundException;
 import server.stocksyncbackend.utils.exception.WarehouseNotFoundException;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.BiConsumer;
 
 @Service
 @RequiredArgsConstructor
@@ -33,10 +47,18 @@ public class PerchesOderService {
     private final SuplierRepository suplierRepository;
     private final UserRepository userRepository;
     private final WarehouseRepository warehouseRepository;
+    private final KpiCounterService kpiCounterService;
+    private final ObjectMapper objectMapper;
+    private final ReferenceDataService referenceDataService;
+    private final PurchaseOrderStateService purchaseOrderStateService;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STICKER_CHUNK_SIZE = 500;
 
     // Get all the orders
     public List<PerchesOderResponse> getAll() {
-        return purchaseOrderRepository.findAll()
+        return purchaseOrderRepository.findAllSummaries()
                 .stream()
                 .map(order -> PerchesOderResponse.builder()
                         .ItemName(order.getItemName())
@@ -47,18 +69,18 @@ public class PerchesOderService {
                         .totalAmount(order.getTotalAmount())
 
                         .supplierName(
-                                order.getSupplier() != null
-                                        ? Collections.singletonList(order.getSupplier().getSupplierName())
+                                order.getSupplierName() != null
+                                        ? Collections.singletonList(order.getSupplierName())
                                         : Collections.emptyList()
                         )
                         .warehouseLocation(
-                                order.getWarehouse() != null
-                                        ? Collections.singletonList(order.getWarehouse().getLocation())
+                                order.getWarehouseLocation() != null
+                                        ? Collections.singletonList(order.getWarehouseLocation())
                                         : Collections.emptyList()
                         )
                         .createdByUsername(
-                                Collections.singletonList(order.getCreatedBy() != null
-                                        ? Collections.singletonList(order.getCreatedBy().getUsername())
+                                Collections.singletonList(order.getCreatedByUsername() != null
+                                        ? Collections.singletonList(order.getCreatedByUsername())
                                         : Collections.emptyList()).toString()
                         )
                         .build()
@@ -66,40 +88,83 @@ public class PerchesOderService {
                 .toList();
     }
 
-    // Get All SuplierId's and warehouseId's
-    public SupplierNameAndIdAndWarehouseNameAndIdResponse supplierNameAndIdAndWarehouseNameAndIdResponse() {
+    // Get one keyset page of orders (sort: orderDate | poId | totalAmount, tie-broken by poId)
+    public PurchaseOrderPageResponse getPage(String sort, String direction, String cursor, Integer size) {
 
-        List<String> warehouseData = warehouseRepository.findAllWarehouseNames();
-        List<String> supplierData = suplierRepository.findBySupplierName();
+        PurchaseOrderSortKey sortKey = PurchaseOrderSortKey.fromParam(sort);
+        boolean ascending = !"desc".equalsIgnoreCase(direction);
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
 
-        List<Long> warehouseIds = new ArrayList<>();
-        List<String> warehouseNames = new ArrayList<>();
+        Object afterKey = null;
+        Long afterId = null;
+
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = CursorUtil.decode(cursor, 4);
+            if (!sortKey.getParam().equals(parts[0]) || ascending != "ASC".equals(parts[1])) {
+                throw new InvalidCursorException("Cursor does not match the requested sort");
+            }
+            try {
+                afterKey = parseSortValue(sortKey, parts[2]);
+                afterId = Long.valueOf(parts[3]);
+            } catch (RuntimeException ex) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+        }
 
-        List<Long> supplierIds = new ArrayList<>();
-        List<String> supplierNames = new ArrayList<>();
+        // fetch one extra row to know whether another page exists
+        List<PurchaseOrderSummaryResponse> rows = new ArrayList<>(
+                purchaseOrderRepository.findSummaryPage(sortKey, ascending, afterKey, afterId, limit + 1)
+        );
 
-        // Warehouses
-        for (String element : warehouseData) {
-            String[] parts = element.split(",");
-            warehouseNames.add(parts[0].trim());
-            warehouseIds.add(Long.valueOf(parts[1].trim()));
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows.remove(limit);
         }
 
-        // Suppliers
-        for (String element : supplierData) {
-            String[] parts = element.split(",");
-            supplierNames.add(parts[0].trim());
-            supplierIds.add(Long.valueOf(parts[1].trim()));
+        String nextCursor = null;
+        if (hasMore) {
+            PurchaseOrderSummaryResponse last = rows.get(rows.size() - 1);
+            nextCursor = CursorUtil.encode(
+                    sortKey.getParam(),
+                    ascending ? "ASC" : "DESC",
+                    sortValueOf(sortKey, last),
+                    last.getPoId()
+            );
         }
 
-        return SupplierNameAndIdAndWarehouseNameAndIdResponse.builder()
-                .warehouseIds(warehouseIds)
-                .warehouseNames(warehouseNames)
-                .supplierIds(supplierIds)
-                .supplierNames(supplierNames)
+        return PurchaseOrderPageResponse.builder()
+                .items(rows)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .sort(sortKey.getParam())
+                .direction(ascending ? "asc" : "desc")
                 .build();
     }
 
+    private Object parseSortValue(PurchaseOrderSortKey sortKey, String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (sortKey) {
+            case ORDER_DATE -> LocalDate.parse(value);
+            case PO_ID -> Long.valueOf(value);
+            case TOTAL_AMOUNT -> new BigDecimal(value);
+        };
+    }
+
+    private Object sortValueOf(PurchaseOrderSortKey sortKey, PurchaseOrderSummaryResponse row) {
+        return switch (sortKey) {
+            case ORDER_DATE -> row.getOrderDate();
+            case PO_ID -> row.getPoId();
+            case TOTAL_AMOUNT -> row.getTotalAmount() == null ? null : row.getTotalAmount().toPlainString();
+        };
+    }
+
+    // Get All SuplierId's and warehouseId's (served from the reference data cache)
+    public SupplierNameAndIdAndWarehouseNameAndIdResponse supplierNameAndIdAndWarehouseNameAndIdResponse() {
+        return referenceDataService.current().getFormData();
+    }
+
 
     // localost:8080/api/v1/perches-oder/create
     // Create a new Perches Oder
@@ -117,74 +182,118 @@ public class PerchesOderService {
 
         PurchaseOrder perchesOder = PerchesOrderMapper.toEntity(request, user);
         purchaseOrderRepository.save(perchesOder);
+        kpiCounterService.purchaseOrderCreated(perchesOder);
     }
 
-    // KPI card values
+    // KPI card values (served from the in-memory KPI counters)
     public CardValuesPurchaseOrder getCardValues(){
         return CardValuesPurchaseOrder.builder()
-                .totalValue(purchaseOrderRepository.countTotalPurchaseOrders())
-                .totalValue(purchaseOrderRepository.findTotalValueOfAllPurchaseOrders())
-                .pendingOrders(purchaseOrderRepository.countByStatus((OrderStatus.PENDING)))
-                .receivedOrders(purchaseOrderRepository.countByStatus(OrderStatus.RECEIVED))
+                .totalOrders(Math.toIntExact(kpiCounterService.totalOrders()))
+                .totalValue(kpiCounterService.totalSpend().doubleValue())
+                .pendingOrders(Math.toIntExact(kpiCounterService.orderCount(OrderStatus.PENDING)))
+                .receivedOrders(Math.toIntExact(kpiCounterService.orderCount(OrderStatus.RECEIVED)))
                 .build();
 
     }
 
     // Getting the Stickers Data
-    // Getting the Stickers Data
+    // Resolves the whole id list with chunked set queries and keeps the requested order.
+    // Non-PENDING orders are skipped; missing ids are reported together.
     public List<StickerPrintingDataResponse> getStickersData(
             List<Long> poIds
     ) throws OrderNotFoundExceptionn {
 
         List<StickerPrintingDataResponse> responses = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+
+        forEachStickerRow(poIds, (poId, row) -> {
+            if (row == null) {
+                missingIds.add(poId);
+            } else if (OrderStatus.PENDING.equals(row.getStatus())) {
+                responses.add(toSticker(row));
+            }
+        }, () -> {});
 
-        for (Long poId : poIds) {
+        if (!missingIds.isEmpty()) {
+            throw new OrderNotFoundExceptionn("Purchase orders not found with ids: " + missingIds);
+        }
 
-            PurchaseOrder order = purchaseOrderRepository.findById(poId)
-                    .orElseThrow(() ->
-                            new OrderNotFoundExceptionn(
-                                    "Purchase order not found with id: " + poId
-                            )
-                    );
+        return responses;
+    }
 
-            // Optional business rule: only RECEIVED orders
-            if (!OrderStatus.PENDING.equals(order.getStatus())) {
-                continue;
+    // Streams {"stickers":[...],"missingIds":[...],"notPendingIds":[...]} chunk by chunk,
+    // so large print batches never sit fully in memory
+    public void writeStickerBatch(List<Long> poIds, OutputStream out) {
+
+        List<Long> missingIds = new ArrayList<>();
+        List<Long> notPendingIds = new ArrayList<>();
+
+        JsonGenerator json = objectMapper.createGenerator(out);
+        json.writeStartObject();
+        json.writeName("stickers");
+        json.writeStartArray();
+
+        forEachStickerRow(poIds, (poId, row) -> {
+            if (row == null) {
+                missingIds.add(poId);
+            } else if (!OrderStatus.PENDING.equals(row.getStatus())) {
+                notPendingIds.add(poId);
+            } else {
+                json.writePOJO(toSticker(row));
             }
+        }, json::flush);
+
+        json.writeEndArray();
+        json.writeName("missingIds");
+        json.writePOJO(missingIds);
+        json.writeName("notPendingIds");
+        json.writePOJO(notPendingIds);
+        json.writeEndObject();
+        json.flush();
+    }
 
-            StickerPrintingDataResponse response =
-                    StickerPrintingDataResponse.builder()
-                            .poId(order.getPoId())
-                            .supplierName(
-                                    order.getSupplier() != null
-                                            ? order.getSupplier().getSupplierName()
-                                            : "N/A"
-                            )
-                            .warehouse(
-                                    order.getWarehouse() != null
-                                            ? order.getWarehouse().getWarehouseName()
-                                            : "N/A"
-                            )
-                            .receivedDate(order.getExpectedDeliveryDate())
-                            .build();
-
-            responses.add(response);
+    // Looks up sticker rows STICKER_CHUNK_SIZE ids at a time and hands them back in the
+    // requested order (row == null means the PO does not exist)
+    private void forEachStickerRow(
+            List<Long> poIds,
+            BiConsumer<Long, StickerRow> consumer,
+            Runnable afterChunk
+    ) {
+        List<Long> ids = poIds.stream().filter(Objects::nonNull).toList();
+
+        for (int from = 0; from < ids.size(); from += STICKER_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + STICKER_CHUNK_SIZE, ids.size()));
+
+            Map<Long, StickerRow> rows = new HashMap<>();
+            for (StickerRow row : purchaseOrderRepository.findStickerRowsByPoIds(new HashSet<>(chunk))) {
+                rows.put(row.getPoId(), row);
+            }
+
+            for (Long poId : chunk) {
+                consumer.accept(poId, rows.get(poId));
+            }
+            afterChunk.run();
         }
+    }
 
-        return responses;
+    private StickerPrintingDataResponse toSticker(StickerRow row) {
+        return StickerPrintingDataResponse.builder()
+                .poId(row.getPoId())
+                .supplierName(row.getSupplierName() != null ? row.getSupplierName() : "N/A")
+                .warehouse(row.getWarehouseName() != null ? row.getWarehouseName() : "N/A")
+                .receivedDate(row.getExpectedDeliveryDate())
+                .build();
     }
 
     // chaning the stauts of the Perches orders
+    // (compare-and-set PENDING -> RECEIVED through the PO state machine)
     public void changingStatesIntoConfirm(Long poId) throws OrderNotFoundExceptionn{
-        PurchaseOrder order = purchaseOrderRepository.findById(poId)
-                .orElseThrow(() ->
-                        new OrderNotFoundExceptionn(
-                                "Purchase order not found with id: " + poId
-                        )
-                );
+        purchaseOrderStateService.transition(poId, OrderStatus.RECEIVED);
+    }
 
-        order.setStatus(OrderStatus.RECEIVED);
-        purchaseOrderRepository.save(order);
+    // Bulk status change, one conditional UPDATE per chunk, per-id outcome report
+    public BulkStatusTransitionResponse changeStatuses(BulkStatusTransitionRequest request) {
+        return purchaseOrderStateService.transitionAll(request.getPoIds(), request.getTargetStatus());
     }
 
 
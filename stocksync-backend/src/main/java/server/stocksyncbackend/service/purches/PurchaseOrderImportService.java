@@ -0,0 +1,326 @@
+package server.stocksyncbackend.service.purches;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.stocksyncbackend.dto.requests.PerchesOderRequest;
+import server.stocksyncbackend.dto.responses.ImportRowError;
+import server.stocksyncbackend.dto.responses.PurchaseOrderImportResponse;
+import server.stocksyncbackend.model.PurchaseOrder;
+import server.stocksyncbackend.model.Supplier;
+import server.stocksyncbackend.model.User;
+import server.stocksyncbackend.model.Warehouse;
+import server.stocksyncbackend.repository.SuplierRepository;
+import server.stocksyncbackend.repository.UserRepository;
+import server.stocksyncbackend.repository.WarehouseRepository;
+import server.stocksyncbackend.service.kpi.KpiCounterService;
+import server.stocksyncbackend.service.sequence.PooledSequence;
+import server.stocksyncbackend.service.sequence.SequenceAllocator;
+import server.stocksyncbackend.utils.CsvUtil;
+import server.stocksyncbackend.utils.exception.InvalidImportException;
+import server.stocksyncbackend.utils.types.OrderStatus;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.*;
+
+// Bulk purchase order import (CSV or NDJSON). The input is read line by line,
+// supplier / warehouse ids are checked against id sets loaded once per import,
+// and valid rows are written with JDBC batch inserts, BATCH_SIZE rows per transaction.
+// A batch that violates a constraint is rolled back, split in halves and retried, so only
+// the rows the database refuses are reported as failed.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PurchaseOrderImportService {
+
+    public static final String CSV = "text/csv";
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO purchase_order
+                (po_id, item_name, order_date, expected_delivery_date, status, total_amount,
+                 supplier_supplier_id, warehouse_warehouse_id, created_by_user_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final SuplierRepository suplierRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final KpiCounterService kpiCounterService;
+    private final SequenceAllocator sequenceAllocator;
+
+    public PurchaseOrderImportResponse importPurchaseOrders(
+            InputStream input,
+            String contentType,
+            Authentication authentication
+    ) throws IOException {
+
+        boolean csv = contentType != null && contentType.startsWith(CSV);
+        if (!csv && (contentType == null || !contentType.startsWith(NDJSON))) {
+            throw new InvalidImportException("Unsupported import format: " + contentType);
+        }
+
+        User user = userRepository.findByUsername(authentication.getName()).orElseThrow(
+                () -> new UsernameNotFoundException("User not found with username: " + authentication.getName()));
+
+        // in-memory lookups, built once for the whole import
+        Set<Long> supplierIds = new HashSet<>(suplierRepository.findAllSupplierIds());
+        Set<Long> warehouseIds = new HashSet<>(warehouseRepository.findAllWarehouseIds());
+
+        ImportRun run = new ImportRun();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+
+            Map<String, Integer> header = null;
+            long lineNo = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                if (csv && header == null) {
+                    header = readHeader(line);
+                    continue;
+                }
+
+                run.totalRows++;
+                try {
+                    PerchesOderRequest row = csv ? fromCsv(line, header) : fromJson(line);
+                    run.add(lineNo, toOrder(row, user, supplierIds, warehouseIds));
+                } catch (RuntimeException ex) {
+                    run.fail(lineNo, ex.getMessage());
+                }
+
+                if (run.pending.size() >= BATCH_SIZE) {
+                    flush(run);
+                }
+            }
+        }
+
+        flush(run);
+
+        log.info("Purchase order import by {}: {} rows, {} imported, {} failed",
+                user.getUsername(), run.totalRows, run.imported, run.failed);
+
+        return PurchaseOrderImportResponse.builder()
+                .totalRows(run.totalRows)
+                .imported(run.imported)
+                .failed(run.failed)
+                .errors(run.errors)
+                .errorsTruncated(run.failed > run.errors.size())
+                .build();
+    }
+
+    // ==========================
+    // Parsing / validation
+    // ==========================
+
+    private Map<String, Integer> readHeader(String line) {
+        Map<String, Integer> header = new HashMap<>();
+        List<String> names = CsvUtil.parseLine(line);
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("itemname", "supplierid", "warehouseid")) {
+            if (!header.containsKey(required)) {
+                throw new InvalidImportException("CSV header is missing column: " + required);
+            }
+        }
+        return header;
+    }
+
+    private PerchesOderRequest fromCsv(String line, Map<String, Integer> header) {
+        List<String> fields = CsvUtil.parseLine(line);
+        return PerchesOderRequest.builder()
+                .ItemName(field(fields, header, "itemname"))
+                .orderDate(parseDate(field(fields, header, "orderdate")))
+                .expectedDeliveryDate(parseDate(field(fields, header, "expecteddeliverydate")))
+                .status(field(fields, header, "status"))
+                .totalAmount(parseAmount(field(fields, header, "totalamount")))
+                .supplierId(parseId(field(fields, header, "supplierid"), "supplierId"))
+                .warehouseId(parseId(field(fields, header, "warehouseid"), "warehouseId"))
+                .build();
+    }
+
+    private PerchesOderRequest fromJson(String line) {
+        try {
+            return objectMapper.readValue(line, PerchesOderRequest.class);
+        } catch (JacksonException ex) {
+            throw new IllegalArgumentException("Invalid JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private PurchaseOrder toOrder(
+            PerchesOderRequest row,
+            User user,
+            Set<Long> supplierIds,
+            Set<Long> warehouseIds
+    ) {
+        if (row.getItemName() == null || row.getItemName().isBlank()) {
+            throw new IllegalArgumentException("itemName is required");
+        }
+        if (row.getSupplierId() == null || !supplierIds.contains(row.getSupplierId())) {
+            throw new IllegalArgumentException("Supplier not found with id: " + row.getSupplierId());
+        }
+        if (row.getWarehouseId() == null || !warehouseIds.contains(row.getWarehouseId())) {
+            throw new IllegalArgumentException("Warehouse not found with id: " + row.getWarehouseId());
+        }
+        if (row.getTotalAmount() != null && row.getTotalAmount().signum() < 0) {
+            throw new IllegalArgumentException("totalAmount must not be negative");
+        }
+
+        OrderStatus status;
+        try {
+            status = row.getStatus() == null || row.getStatus().isBlank()
+                    ? OrderStatus.PENDING
+                    : OrderStatus.valueOf(row.getStatus().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown status: " + row.getStatus());
+        }
+
+        return PurchaseOrder.builder()
+                .ItemName(row.getItemName())
+                .orderDate(row.getOrderDate() != null ? row.getOrderDate() : LocalDate.now())
+                .expectedDeliveryDate(row.getExpectedDeliveryDate())
+                .status(status)
+                .totalAmount(row.getTotalAmount())
+                // id-only references, only used for the insert and the KPI counters
+                .supplier(Supplier.builder().supplierId(row.getSupplierId()).build())
+                .warehouse(Warehouse.builder().warehouseId(row.getWarehouseId()).build())
+                .createdBy(user)
+                .build();
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> header, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return value == null ? null : LocalDate.parse(value);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid date: " + value);
+        }
+    }
+
+    private static BigDecimal parseAmount(String value) {
+        try {
+            return value == null ? null : new BigDecimal(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid totalAmount: " + value);
+        }
+    }
+
+    private static Long parseId(String value, String name) {
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    // ==========================
+    // Batch insert
+    // ==========================
+
+    private void flush(ImportRun run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+
+        insert(run, run.pending, run.pendingLines);
+
+        run.pending = new ArrayList<>(BATCH_SIZE);
+        run.pendingLines = new ArrayList<>(BATCH_SIZE);
+    }
+
+    // One transaction for the rows; a constraint violation bisects down to the rows responsible,
+    // anything else (e.g. the database being unavailable) fails them all
+    private void insert(ImportRun run, List<PurchaseOrder> batch, List<Long> lineNos) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, order) -> {
+                        // ids from the same pooled sequence the entity uses
+                        ps.setLong(1, sequenceAllocator.next(PooledSequence.PURCHASE_ORDER));
+                        ps.setString(2, order.getItemName());
+                        ps.setDate(3, Date.valueOf(order.getOrderDate()));
+                        if (order.getExpectedDeliveryDate() != null) {
+                            ps.setDate(4, Date.valueOf(order.getExpectedDeliveryDate()));
+                        } else {
+                            ps.setNull(4, Types.DATE);
+                        }
+                        ps.setString(5, order.getStatus().name());
+                        ps.setBigDecimal(6, order.getTotalAmount());
+                        ps.setLong(7, order.getSupplier().getSupplierId());
+                        ps.setLong(8, order.getWarehouse().getWarehouseId());
+                        ps.setLong(9, order.getCreatedBy().getUserId());
+                    })
+            );
+            run.imported += batch.size();
+            batch.forEach(kpiCounterService::purchaseOrderCreated);
+        } catch (DataIntegrityViolationException ex) {
+            if (batch.size() == 1) {
+                run.fail(lineNos.get(0), "Insert failed: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+                return;
+            }
+            int mid = batch.size() / 2;
+            insert(run, batch.subList(0, mid), lineNos.subList(0, mid));
+            insert(run, batch.subList(mid, batch.size()), lineNos.subList(mid, batch.size()));
+        } catch (RuntimeException ex) {
+            log.warn("Purchase order import batch failed", ex);
+            String message = "Batch insert failed: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            lineNos.forEach(line -> run.fail(line, message));
+        }
+    }
+
+    // Mutable state of one import
+    private static final class ImportRun {
+        private List<PurchaseOrder> pending = new ArrayList<>(BATCH_SIZE);
+        private List<Long> pendingLines = new ArrayList<>(BATCH_SIZE);
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long imported;
+        private long failed;
+
+        private void add(long line, PurchaseOrder order) {
+            pending.add(order);
+            pendingLines.add(line);
+        }
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(ImportRowError.builder().line(line).message(message).build());
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package server.stocksyncbackend.service.purches;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import server.stocksyncbackend.dto.responses.BulkStatusTransitionResponse;
+import server.stocksyncbackend.dto.responses.StatusTransitionResult;
+import server.stocksyncbackend.repository.PurchaseOrderRepository;
+import server.stocksyncbackend.service.kpi.KpiCounterService;
+import server.stocksyncbackend.utils.exception.OrderNotFoundExceptionn;
+import server.stocksyncbackend.utils.exception.UnacceptedOrderException;
+import server.stocksyncbackend.utils.types.OrderStatus;
+import server.stocksyncbackend.utils.types.TransitionOutcome;
+
+import java.util.*;
+
+// Purchase order state machine. Every transition is a conditional
+// UPDATE ... WHERE status = <allowed source>, so two concurrent callers can
+// never both move the same order and no row locks are held while deciding.
+@Service
+@RequiredArgsConstructor
+public class PurchaseOrderStateService {
+
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final KpiCounterService kpiCounterService;
+
+    // ==========================
+    // Single order
+    // ==========================
+
+    // Moves one order to target or throws; joins the caller's transaction if there is one
+    @Transactional
+    public void transition(Long poId, OrderStatus target)
+            throws OrderNotFoundExceptionn, UnacceptedOrderException {
+
+        for (OrderStatus source : target.allowedSources()) {
+            if (purchaseOrderRepository.compareAndSetStatus(poId, source, target) == 1) {
+                kpiCounterService.purchaseOrderStatusChanged(source, target);
+                return;
+            }
+        }
+
+        OrderStatus current = purchaseOrderRepository.findById(poId)
+                .orElseThrow(() -> new OrderNotFoundExceptionn("Purchase order not found with id: " + poId))
+                .getStatus();
+
+        throw new UnacceptedOrderException(
+                "Purchase order " + poId + " cannot move from " + current + " to " + target
+        );
+    }
+
+    // ==========================
+    // Bulk
+    // ==========================
+
+    // Moves as many of the given orders as allowed, one UPDATE per chunk per source state,
+    // and reports what happened to every id
+    @Transactional
+    public BulkStatusTransitionResponse transitionAll(List<Long> poIds, OrderStatus target) {
+
+        if (target == null) {
+            throw new UnacceptedOrderException("targetStatus is required");
+        }
+
+        List<Long> ids = poIds == null ? List.of()
+                : poIds.stream().filter(Objects::nonNull).distinct().toList();
+
+        Set<Long> moved = new HashSet<>();
+
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+
+            for (OrderStatus source : target.allowedSources()) {
+                List<Long> changed = purchaseOrderRepository
+                        .compareAndSetStatusReturningIds(chunk, source.name(), target.name());
+                moved.addAll(changed);
+                kpiCounterService.purchaseOrderStatusChanged(source, target, changed.size());
+            }
+        }
+
+        // only the refused ids need a second look to explain why
+        Map<Long, OrderStatus> refused = new HashMap<>();
+        List<Long> notMoved = ids.stream().filter(id -> !moved.contains(id)).toList();
+        for (int from = 0; from < notMoved.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = notMoved.subList(from, Math.min(from + BULK_CHUNK_SIZE, notMoved.size()));
+            for (Object[] row : purchaseOrderRepository.findStatusesByPoIds(chunk)) {
+                refused.put((Long) row[0], (OrderStatus) row[1]);
+            }
+        }
+
+        List<StatusTransitionResult> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            StatusTransitionResult.StatusTransitionResultBuilder result =
+                    StatusTransitionResult.builder().poId(id);
+
+            if (moved.contains(id)) {
+                result.outcome(TransitionOutcome.TRANSITIONED);
+            } else if (!refused.containsKey(id)) {
+                result.outcome(TransitionOutcome.NOT_FOUND);
+            } else {
+                OrderStatus current = refused.get(id);
+                result.currentStatus(current)
+                        .outcome(current == target
+                                ? TransitionOutcome.ALREADY_IN_STATE
+                                : TransitionOutcome.INVALID_TRANSITION);
+            }
+            results.add(result.build());
+        }
+
+        return BulkStatusTransitionResponse.builder()
+                .targetStatus(target)
+                .transitioned(moved.size())
+                .rejected(ids.size() - moved.size())
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package server.stocksyncbackend.service.purches;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.stocksyncbackend.utils.types.OrderStatus;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Hibernate puts a CHECK (status IN (...)) on every @Enumerated(STRING) column when it creates
+// the table, and ddl-auto=update never revisits it. A schema created before an OrderStatus value
+// existed (DRAFT, written by the reorder scan) would refuse that status, so the check is rebuilt
+// from the enum at startup whenever it is missing a value. Runs after the schema update.
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class PurchaseOrderStatusCheck {
+
+    private static final String CONSTRAINT = "purchase_order_status_check";
+
+    // no row when the table or the check does not exist
+    private static final String CURRENT_DEFINITION = """
+            SELECT pg_get_constraintdef(c.oid)
+              FROM pg_constraint c
+             WHERE c.conrelid = to_regclass('purchase_order') AND c.conname = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void widen() {
+        List<String> definitions = jdbcTemplate.queryForList(CURRENT_DEFINITION, String.class, CONSTRAINT);
+        if (definitions.isEmpty()) {
+            return;
+        }
+        String definition = definitions.get(0);
+        List<String> missing = Arrays.stream(OrderStatus.values())
+                .map(Enum::name)
+                .filter(name -> !definition.contains("'" + name + "'"))
+                .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        String allowed = Arrays.stream(OrderStatus.values())
+                .map(status -> "'" + status.name() + "'")
+                .collect(Collectors.joining(", "));
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE purchase_order DROP CONSTRAINT IF EXISTS " + CONSTRAINT);
+            jdbcTemplate.execute("ALTER TABLE purchase_order ADD CONSTRAINT " + CONSTRAINT
+                    + " CHECK (status IN (" + allowed + "))");
+        });
+        log.info("Widened {} to allow {}", CONSTRAINT, missing);
+    }
+}
@@ -6,81 +6,34 @@ import server.stocksyncbackend.dto.requests.CreateSupplierRequest;
 import server.stocksyncbackend.dto.requests.SupplierEditRequest;
 import server.stocksyncbackend.dto.responses.SupplierKPIcards;
 import server.stocksyncbackend.dto.responses.SupplierResponse;
-import server.stocksyncbackend.model.PurchaseOrder;
 import server.stocksyncbackend.model.Supplier;
-import server.stocksyncbackend.repository.PurchaseOrderRepository;
 import server.stocksyncbackend.repository.SupplierRepository;
+import server.stocksyncbackend.service.kpi.KpiCounterService;
 import server.stocksyncbackend.utils.types.OrderStatus;
 
-import java.math.BigDecimal;
-import java.time.temporal.ChronoUnit;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class SupplierService {
 
     private final SupplierRepository supplierRepository;
-    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final KpiCounterService kpiCounterService;
 
+    // Supplier list with scorecard values, one grouped query instead of loading every PO
     public List<SupplierResponse> getAllSuppliers() {
-
-        List<Supplier> suppliers = supplierRepository.findAll();
-        List<PurchaseOrder> orders = purchaseOrderRepository.findAll();
-
-        List<PurchaseOrder> validOrders = orders.stream()
-                .filter(order -> order.getSupplier() != null)
-                .toList();
-
-        Map<Long, List<PurchaseOrder>> ordersBySupplier =
-                validOrders.stream()
-                        .collect(Collectors.groupingBy(
-                                order -> order.getSupplier().getSupplierId()
-                        ));
-
-        return suppliers.stream().map(supplier -> {
-
-            List<PurchaseOrder> supplierOrders =
-                    ordersBySupplier.getOrDefault(
-                            supplier.getSupplierId(),
-                            Collections.emptyList()
-                    );
-
-            int totalOrders = supplierOrders.size();
-
-            BigDecimal totalSpent = supplierOrders.stream()
-                    .map(PurchaseOrder::getTotalAmount)
-                    .filter(Objects::nonNull)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            int avgLeadTime = supplierOrders.isEmpty() ? 0 :
-                    (int) supplierOrders.stream()
-                            .filter(po ->
-                                    po.getOrderDate() != null &&
-                                            po.getExpectedDeliveryDate() != null
-                            )
-                            .mapToLong(po ->
-                                    ChronoUnit.DAYS.between(
-                                            po.getOrderDate(),
-                                            po.getExpectedDeliveryDate()
-                                    )
-                            )
-                            .average()
-                            .orElse(0);
-
-            return SupplierResponse.builder()
-                    .supplierId(supplier.getSupplierId())
-                    .supplierName(supplier.getSupplierName())
-                    .phone(supplier.getPhone())
-                    .email(supplier.getEmail())
-                    .leanTime(supplier.getLeanTime())
-                    .TotalOders(totalOrders)
-                    .TotalSpent(totalSpent)
-                    .LeadTime(avgLeadTime)
-                    .build();
-
-        }).toList();
+        return supplierRepository.findSupplierScorecards().stream()
+                .map(row -> SupplierResponse.builder()
+                        .supplierId(row.getSupplierId())
+                        .supplierName(row.getSupplierName())
+                        .phone(row.getPhone())
+                        .email(row.getEmail())
+                        .leanTime(row.getLeanTime())
+                        .TotalOders(Math.toIntExact(row.getTotalOrders()))
+                        .TotalSpent(row.getTotalSpent())
+                        .LeadTime(row.getAvgLeadTimeDays() == null ? 0 : row.getAvgLeadTimeDays().intValue())
+                        .build()
+                ).toList();
     }
 
     // Edit he supplier data
@@ -106,37 +59,36 @@ public class SupplierService {
                 .email(request.getEmail())
                 .build();
         supplierRepository.save(supplier);
+        kpiCounterService.supplierCreated();
     }
 
 
     // delete supplier by id
     public void deleteSupplier(Long supplierId) {
+        if (!supplierRepository.existsById(supplierId)) {
+            return;
+        }
         supplierRepository.deleteById(supplierId);
+        kpiCounterService.supplierDeleted();
     }
 
-    // KPI data
+    // KPI data (served from the in-memory KPI counters)
     public SupplierKPIcards getCardData() {
 
-        double totalSpent = 0;
-
-        if (supplierRepository.count() > 0) {
-            totalSpent = purchaseOrderRepository.findAll().stream()
-                    .filter(po -> po.getSupplier() != null)
-                    .map(PurchaseOrder::getTotalAmount)
-                    .filter(Objects::nonNull)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add)
-                    .doubleValue();
-        }
+        long totalSuppliers = kpiCounterService.supplierCount();
+        double totalSpent = totalSuppliers > 0
+                ? kpiCounterService.supplierSpend().doubleValue()
+                : 0;
 
-        long totalOrders = purchaseOrderRepository.count();
-        long receivedOrders = purchaseOrderRepository.countByStatus(OrderStatus.RECEIVED);
+        long totalOrders = kpiCounterService.totalOrders();
+        long receivedOrders = kpiCounterService.orderCount(OrderStatus.RECEIVED);
 
         double onTimeDeliveryRate = totalOrders == 0
                 ? 0
                 : (receivedOrders * 100.0) / totalOrders;
 
         return SupplierKPIcards.builder()
-                .TotalSuppliers((int) supplierRepository.count())
+                .TotalSuppliers((int) totalSuppliers)
                 .TotalSpent(totalSpent)
                 .TotalStock((int) totalOrders)
                 .OnTimeDeliveryRate((int) onTimeDeliveryRate)
@@ -0,0 +1,25 @@
+package server.stocksyncbackend.service.reference;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+// JPA listener on Supplier and Warehouse: any insert / update / delete through JPA
+// invalidates the reference data cache. Looked up lazily to avoid a cycle with the
+// EntityManagerFactory that creates this listener.
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataListener {
+
+    private final ObjectProvider<ReferenceDataService> referenceDataService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onReferenceDataChange(Object entity) {
+        referenceDataService.getObject().invalidate();
+    }
+}
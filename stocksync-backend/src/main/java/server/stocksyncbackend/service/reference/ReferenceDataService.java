@@ -0,0 +1,129 @@
+package server.stocksyncbackend.service.reference;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import server.stocksyncbackend.dto.projections.SupplierRef;
+import server.stocksyncbackend.dto.projections.WarehouseRef;
+import server.stocksyncbackend.dto.requests.SupplierNameAndIdResponse;
+import server.stocksyncbackend.dto.requests.WareHouseNameAndIdResponse;
+import server.stocksyncbackend.dto.responses.SupplierNameAndIdAndWarehouseNameAndIdResponse;
+import server.stocksyncbackend.repository.SuplierRepository;
+import server.stocksyncbackend.repository.WarehouseRepository;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Versioned cache of the supplier / warehouse lists used by the purchase order forms.
+// Every Supplier or Warehouse write bumps the version (after commit, see ReferenceDataListener);
+// the next read reloads both lists once and all readers share that immutable snapshot.
+// Writes on other nodes (or outside JPA) never reach invalidate(), so refresh() re-reads
+// the lists on a timer and bumps the version only when they actually changed.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataService {
+
+    private final SuplierRepository suplierRepository;
+    private final WarehouseRepository warehouseRepository;
+
+    // distinguishes ETags of this process from ones handed out before a restart
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong(1);
+    private volatile Snapshot snapshot;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final long version;
+        private final String etag;
+        private final List<SupplierNameAndIdResponse> suppliers;
+        private final List<WareHouseNameAndIdResponse> warehouseLocations;
+        private final SupplierNameAndIdAndWarehouseNameAndIdResponse formData;
+        // the rows the snapshot was built from, compared by refresh()
+        @Getter(AccessLevel.NONE)
+        private final List<SupplierRef> supplierRefs;
+        @Getter(AccessLevel.NONE)
+        private final List<WarehouseRef> warehouseRefs;
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && current.getVersion() == version.get()) {
+            return current;
+        }
+        synchronized (this) {
+            long wanted = version.get();
+            current = snapshot;
+            if (current == null || current.getVersion() != wanted) {
+                current = load(wanted);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reference-data.refresh-interval-ms}")
+    public void refresh() {
+        Snapshot current = snapshot;
+        if (current == null || current.getVersion() != version.get()) {
+            return;
+        }
+        if (!current.supplierRefs.equals(suplierRepository.findAllSupplierRefs())
+                || !current.warehouseRefs.equals(warehouseRepository.findAllWarehouseRefs())) {
+            // a no-op if a local write already moved the version on
+            if (version.compareAndSet(current.getVersion(), current.getVersion() + 1)) {
+                log.debug("Reference data changed outside this node (version {})", current.getVersion());
+            }
+        }
+    }
+
+    private Snapshot load(long loadedVersion) {
+        List<SupplierRef> suppliers = suplierRepository.findAllSupplierRefs();
+        List<WarehouseRef> warehouses = warehouseRepository.findAllWarehouseRefs();
+
+        SupplierNameAndIdAndWarehouseNameAndIdResponse formData =
+                SupplierNameAndIdAndWarehouseNameAndIdResponse.builder()
+                        .supplierIds(suppliers.stream().map(SupplierRef::getSupplierId).toList())
+                        .supplierNames(suppliers.stream().map(SupplierRef::getSupplierName).toList())
+                        .warehouseIds(warehouses.stream().map(WarehouseRef::getWarehouseId).toList())
+                        .warehouseNames(warehouses.stream().map(WarehouseRef::getWarehouseName).toList())
+                        .build();
+
+        log.debug("Reference data reloaded (version {}): {} suppliers, {} warehouses",
+                loadedVersion, suppliers.size(), warehouses.size());
+
+        return new Snapshot(
+                loadedVersion,
+                "\"ref-" + bootId + "-" + loadedVersion + "\"",
+                suppliers.stream()
+                        .map(s -> new SupplierNameAndIdResponse(s.getSupplierName(), String.valueOf(s.getSupplierId())))
+                        .toList(),
+                warehouses.stream()
+                        .map(w -> new WareHouseNameAndIdResponse(w.getLocation(), String.valueOf(w.getWarehouseId())))
+                        .toList(),
+                formData,
+                suppliers,
+                warehouses
+        );
+    }
+}
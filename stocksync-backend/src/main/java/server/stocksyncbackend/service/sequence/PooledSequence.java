@@ -0,0 +1,36 @@
+package server.stocksyncbackend.service.sequence;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Database sequences that hand out id blocks. Each call to nextval() reserves
+// [value, value + blockSize), the "pooled-lo" layout Hibernate is configured to use for
+// @SequenceGenerator(allocationSize = blockSize), so the entity generator and
+// SequenceAllocator can draw from one sequence without overlapping. (Hibernate's default
+// "pooled" optimizer treats a first value of 1 specially and can claim a block that
+// another allocator already took.)
+// Names and sizes must match the @SequenceGenerator on the entity.
+@Getter
+@RequiredArgsConstructor
+public enum PooledSequence {
+    PURCHASE_ORDER("purchase_order_seq", 50, "purchase_order", "po_id"),
+    GRN("grn_seq", 50, "grn", "id"),
+    GRN_INTAKE("grn_intake_seq", 50, "grn_intake", "id"),
+    PRODUCT("product_seq", 50, "product", "product_id"),
+    INVENTORY("inventory_seq", 50, "inventory", "inventory_id"),
+    INVENTORY_MOVEMENT("inventory_movement_seq", 50, "inventory_movement", "movement_id"),
+    SALES_ORDER("sales_order_seq", 50, "sales_order", "sales_order_id"),
+    SALES_ORDER_ITEM("sales_order_item_seq", 50, "sales_order_item", "sales_order_item_id"),
+    STOCK_RESERVATION("stock_reservation_seq", 50, "stock_reservation", "id"),
+    PURCHASE_ORDER_ITEM("purchase_order_item_seq", 50, "purchase_order_item", "purchase_order_item_id"),
+    REORDER_RULE("reorder_rule_seq", 50, "reorder_rule", "id"),
+
+    // not an entity id: numeric part of product SKUs
+    PRODUCT_SKU("product_sku_seq", 100, null, null);
+
+    private final String sequenceName;
+    private final int blockSize;
+    // table / id column fed by the sequence (null when it is not an entity id)
+    private final String tableName;
+    private final String idColumn;
+}
@@ -0,0 +1,83 @@
+package server.stocksyncbackend.service.sequence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Node-local id allocation from the pooled database sequences.
+// One nextval() reserves a whole block; values inside the block are handed out with a
+// single getAndIncrement, and only the thread that finds the block used up goes back to the database.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SequenceAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<PooledSequence, AtomicReference<Block>> blocks = blocks();
+
+    // Next unused value of the sequence; unique across threads and nodes
+    public long next(PooledSequence sequence) {
+        AtomicReference<Block> current = blocks.get(sequence);
+        while (true) {
+            Block block = current.get();
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value <= block.last) {
+                    return value;
+                }
+            }
+            refill(sequence, current, block);
+        }
+    }
+
+    // Creates the sequence when the schema does not have it yet (e.g. the SKU sequence,
+    // or entity sequences on a database that was built with identity columns)
+    public void ensureExists(PooledSequence sequence) {
+        jdbcTemplate.execute(
+                "CREATE SEQUENCE IF NOT EXISTS " + sequence.getSequenceName()
+                        + " START WITH 1 INCREMENT BY " + sequence.getBlockSize()
+        );
+    }
+
+    private void refill(PooledSequence sequence, AtomicReference<Block> current, Block exhausted) {
+        synchronized (current) {
+            if (current.get() != exhausted) {
+                return; // another thread already fetched a new block
+            }
+            if (exhausted == null) {
+                ensureExists(sequence);
+            }
+            Long low = jdbcTemplate.queryForObject(
+                    "SELECT nextval('" + sequence.getSequenceName() + "')", Long.class
+            );
+            long last = low + sequence.getBlockSize() - 1;
+            current.set(new Block(low, last));
+            log.debug("Allocated {} block {}..{}", sequence.getSequenceName(), low, last);
+        }
+    }
+
+    private static Map<PooledSequence, AtomicReference<Block>> blocks() {
+        Map<PooledSequence, AtomicReference<Block>> map = new EnumMap<>(PooledSequence.class);
+        for (PooledSequence sequence : PooledSequence.values()) {
+            map.put(sequence, new AtomicReference<>());
+        }
+        return map;
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long last;
+
+        private Block(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package server.stocksyncbackend.service.sequence;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Moves each entity sequence past the ids already in its table before the app takes traffic.
+// Needed once on databases whose rows were created by the old identity columns; afterwards
+// every id comes from the sequence and the check finds nothing to do. The next block starts
+// at last_value + blockSize, so the sequence only moves when that is not past the highest id.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SequenceBootstrap {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceAllocator sequenceAllocator;
+    // injected only so the schema (ddl-auto) exists before this runs
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void alignSequences() {
+        for (PooledSequence sequence : PooledSequence.values()) {
+            try {
+                sequenceAllocator.ensureExists(sequence);
+                if (sequence.getTableName() != null) {
+                    align(sequence);
+                }
+            } catch (DataAccessException ex) {
+                log.warn("Could not prepare sequence {}: {}", sequence.getSequenceName(), ex.getMessage());
+            }
+        }
+    }
+
+    private void align(PooledSequence sequence) {
+        String seq = sequence.getSequenceName();
+        List<Long> moved = jdbcTemplate.queryForList("""
+                SELECT setval('%s', m.max_id, true)
+                FROM (SELECT COALESCE(MAX(%s), 0) AS max_id FROM %s) m, %s s
+                WHERE m.max_id > 0 AND (NOT s.is_called OR s.last_value + %d <= m.max_id)
+                """.formatted(seq, sequence.getIdColumn(), sequence.getTableName(), seq, sequence.getBlockSize()),
+                Long.class);
+
+        if (!moved.isEmpty()) {
+            log.info("Advanced {} to {} (existing ids in {})", seq, moved.get(0), sequence.getTableName());
+        }
+    }
+}
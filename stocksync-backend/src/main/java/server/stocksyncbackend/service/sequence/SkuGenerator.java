@@ -0,0 +1,17 @@
+package server.stocksyncbackend.service.sequence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Human-readable product SKUs (SKU-00001234) backed by the pooled SKU sequence,
+// so they stay unique across threads and nodes.
+@Component
+@RequiredArgsConstructor
+public class SkuGenerator {
+
+    private final SequenceAllocator sequenceAllocator;
+
+    public String nextSku() {
+        return String.format("SKU-%08d", sequenceAllocator.next(PooledSequence.PRODUCT_SKU));
+    }
+}
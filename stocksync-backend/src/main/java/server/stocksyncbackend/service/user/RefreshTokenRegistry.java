@@ -0,0 +1,206 @@
+package server.stocksyncbackend.service.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.stocksyncbackend.model.RefreshTokenFamily;
+import server.stocksyncbackend.model.RevokedRefreshToken;
+import server.stocksyncbackend.repository.RefreshTokenFamilyRepository;
+import server.stocksyncbackend.repository.RevokedRefreshTokenRepository;
+import server.stocksyncbackend.utils.exception.RefreshTokenExpiredException;
+import server.stocksyncbackend.utils.exception.RefreshTokenReuseException;
+import server.stocksyncbackend.utils.jwt.JwtService;
+import server.stocksyncbackend.utils.jwt.VerifiedRefreshToken;
+import server.stocksyncbackend.utils.types.RefreshTokenRevocationReason;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+// Server-side state for refresh tokens. Each login starts a family; every refresh swaps the
+// family's current token for a new one and records the old id as revoked. Presenting a token
+// that is no longer current means two parties hold the family, so the whole family is revoked --
+// except for the token just rotated away, which stays usable for a short grace window so that
+// two refreshes racing from the same client (parallel tabs, a retried request) do not end the session.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenRegistry {
+
+    private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    private final RevokedRefreshTokenRepository revokedRefreshTokenRepository;
+    private final RefreshTokenRevocationIndex revocationIndex;
+    private final JwtService jwtService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${REFRESH_TOKEN_EXPIRATION}")
+    private long refreshTokenExpiration;
+
+    @Value("${security.refresh-token.reuse-grace-ms}")
+    private long reuseGraceMs;
+
+    // 🆕 new family at login
+    @Transactional
+    public String issue(String username) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshTokenFamily family = RefreshTokenFamily.builder()
+                .familyId(newId())
+                .username(username)
+                .currentTokenId(newId())
+                .createdAt(now)
+                .rotatedAt(now)
+                .expiresAt(now.plusNanos(refreshTokenExpiration * 1_000_000))
+                .build();
+        refreshTokenFamilyRepository.save(family);
+
+        return jwtService.generateRefreshToken(username, family.getCurrentTokenId(), family.getFamilyId());
+    }
+
+    // 🔄 exchange a refresh token for its successor
+    // Revocations made on the way to a rejection must survive it, hence noRollbackFor.
+    @Transactional(noRollbackFor = {RefreshTokenReuseException.class, RefreshTokenExpiredException.class})
+    public Rotation rotate(String refreshToken) {
+        VerifiedRefreshToken token = jwtService.verifyRefreshToken(refreshToken);
+
+        if (token.getTokenId() == null || token.getFamilyId() == null) {
+            // issued before families were tracked: nothing server-side can retire it, so exchanging
+            // it would leave it replayable until expiry. The holder has to log in again.
+            throw new RefreshTokenExpiredException("REFRESH_TOKEN_EXPIRED");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (revocationIndex.mightContain(token.getTokenId(), token.getFamilyId()) && isRevoked(token)) {
+            return rotationLost(token, now);
+        }
+
+        String nextTokenId = newId();
+        int rotated = refreshTokenFamilyRepository.rotate(
+                token.getFamilyId(),
+                token.getTokenId(),
+                nextTokenId,
+                now,
+                now.plusNanos(refreshTokenExpiration * 1_000_000)
+        );
+
+        if (rotated == 0) {
+            return rotationLost(token, now);
+        }
+
+        record(token.getTokenId(), token.getFamilyId(), RefreshTokenRevocationReason.ROTATED,
+                toLocalDateTime(token.getExpiresAtMillis()));
+
+        return new Rotation(
+                token.getUsername(),
+                jwtService.generateRefreshToken(token.getUsername(), nextTokenId, token.getFamilyId())
+        );
+    }
+
+    // 🚪 end the session the token belongs to; an unreadable token has nothing to revoke
+    @Transactional
+    public void revoke(String refreshToken, RefreshTokenRevocationReason reason) {
+        VerifiedRefreshToken token;
+        try {
+            token = jwtService.verifyRefreshToken(refreshToken);
+        } catch (RuntimeException ex) {
+            return;
+        }
+        if (token.getFamilyId() != null) {
+            revokeFamily(token.getFamilyId(), reason, toLocalDateTime(token.getExpiresAtMillis()));
+        }
+    }
+
+    // e.g. after a password change every other session has to log in again
+    @Transactional
+    public void revokeAll(String username, RefreshTokenRevocationReason reason) {
+        List<RefreshTokenFamily> families = refreshTokenFamilyRepository.findActiveByUsername(username);
+        families.forEach(family -> revokeFamily(family.getFamilyId(), reason, family.getExpiresAt()));
+    }
+
+    // Expired rows can go: the tokens they cover fail the signature/expiry check on their own.
+    // The filter cannot forget ids, so it is rebuilt from what is left.
+    @Scheduled(
+            fixedDelayString = "${security.refresh-token.purge-interval-ms}",
+            initialDelayString = "${security.refresh-token.purge-interval-ms}"
+    )
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            int tokens = revokedRefreshTokenRepository.deleteExpired(now);
+            int families = refreshTokenFamilyRepository.deleteExpired(now);
+            log.info("Purged {} revoked refresh tokens and {} refresh token families", tokens, families);
+        });
+        revocationIndex.rebuild();
+    }
+
+    // ==========================
+    // Internals
+    // ==========================
+
+    // false when the filter hit was a false positive
+    private boolean isRevoked(VerifiedRefreshToken token) {
+        return !revokedRefreshTokenRepository.findAllById(List.of(token.getTokenId(), token.getFamilyId())).isEmpty();
+    }
+
+    // The token is not the family's current one (any more). Either the family is over, another
+    // request with the same token won the rotation moments ago, or the token was copied.
+    private Rotation rotationLost(VerifiedRefreshToken token, LocalDateTime now) {
+        RefreshTokenFamily family = refreshTokenFamilyRepository.findById(token.getFamilyId()).orElse(null);
+        if (family == null || family.isRevoked()) {
+            throw new RefreshTokenExpiredException("REFRESH_TOKEN_EXPIRED");
+        }
+
+        if (token.getTokenId().equals(family.getPreviousTokenId())
+                && !now.isAfter(family.getRotatedAt().plusNanos(reuseGraceMs * 1_000_000))) {
+            // the loser of the race gets the winner's successor rather than a second branch
+            return new Rotation(
+                    token.getUsername(),
+                    jwtService.generateRefreshToken(token.getUsername(), family.getCurrentTokenId(), family.getFamilyId())
+            );
+        }
+
+        log.warn("Refresh token reuse detected for user {}, revoking family {}",
+                token.getUsername(), token.getFamilyId());
+        revokeFamily(family.getFamilyId(), RefreshTokenRevocationReason.REUSE_DETECTED, family.getExpiresAt());
+        throw new RefreshTokenReuseException("REFRESH_TOKEN_REUSED");
+    }
+
+    private void revokeFamily(String familyId, RefreshTokenRevocationReason reason, LocalDateTime expiresAt) {
+        if (refreshTokenFamilyRepository.revoke(familyId, reason) > 0) {
+            record(familyId, familyId, reason, expiresAt);
+        }
+    }
+
+    private void record(String tokenId, String familyId, RefreshTokenRevocationReason reason, LocalDateTime expiresAt) {
+        revokedRefreshTokenRepository.save(RevokedRefreshToken.builder()
+                .tokenId(tokenId)
+                .familyId(familyId)
+                .reason(reason)
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(expiresAt)
+                .build());
+        revocationIndex.add(tokenId);
+    }
+
+    private static String newId() {
+        return UUID.randomUUID().toString();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Rotation {
+        private final String username;
+        private final String refreshToken;
+    }
+}
@@ -0,0 +1,60 @@
+package server.stocksyncbackend.service.user;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.stocksyncbackend.repository.RevokedRefreshTokenRepository;
+import server.stocksyncbackend.utils.cache.BloomFilter;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+// In-memory Bloom filter over revoked_refresh_token. A miss proves the token (and its family)
+// was never revoked, so the common refresh skips the revocation lookup entirely.
+// It is advisory only: rotation is still a compare-and-set on the family row, so an id this
+// instance has not seen yet (revoked elsewhere, or during a rebuild) is still caught there.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenRevocationIndex {
+
+    private final RevokedRefreshTokenRepository revokedRefreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${security.refresh-token.revocation-index.expected-size}")
+    private long expectedSize;
+
+    @Value("${security.refresh-token.revocation-index.false-positive-rate}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    @PostConstruct
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        BloomFilter rebuilt = transactionTemplate.execute(status -> {
+            long live = revokedRefreshTokenRepository.countLive(now);
+            // leave room to grow until the next purge rebuilds it again
+            BloomFilter next = new BloomFilter(Math.max(expectedSize, live * 2), falsePositiveRate);
+            try (Stream<String> ids = revokedRefreshTokenRepository.streamLiveIds(now)) {
+                ids.forEach(next::put);
+            }
+            log.info("Refresh token revocation index rebuilt: {} ids, {} bits, {} hashes",
+                    live, next.bitCount(), next.hashCount());
+            return next;
+        });
+        filter = rebuilt;
+    }
+
+    public void add(String id) {
+        filter.put(id);
+    }
+
+    public boolean mightContain(String tokenId, String familyId) {
+        BloomFilter current = filter;
+        return current.mightContain(tokenId) || current.mightContain(familyId);
+    }
+}
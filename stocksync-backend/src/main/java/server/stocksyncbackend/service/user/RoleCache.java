@@ -0,0 +1,47 @@
+package server.stocksyncbackend.service.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import server.stocksyncbackend.model.Role;
+import server.stocksyncbackend.repository.RoleRepository;
+import server.stocksyncbackend.utils.exception.RoleNotFoundException;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Role name -> Role. The role table is a handful of seeded rows that the application never
+// writes, so it is loaded once and reloaded only when a lookup misses (a role added by hand).
+@Component
+@RequiredArgsConstructor
+public class RoleCache {
+
+    private final RoleRepository roleRepository;
+
+    private volatile Map<String, Role> rolesByName;
+
+    // every name must exist; the result keeps the order of the given names
+    public Map<String, Role> resolve(Collection<String> roleNames) {
+        Map<String, Role> roles = rolesByName;
+        if (roles == null || !roles.keySet().containsAll(roleNames)) {
+            roles = reload();
+        }
+
+        Map<String, Role> resolved = new LinkedHashMap<>();
+        for (String roleName : roleNames) {
+            Role role = roles.get(roleName);
+            if (role == null) {
+                throw new RoleNotFoundException("Role not found: " + roleName);
+            }
+            resolved.put(roleName, role);
+        }
+        return resolved;
+    }
+
+    private synchronized Map<String, Role> reload() {
+        Map<String, Role> roles = roleRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getRoleName, Function.identity()));
+        rolesByName = roles;
+        return roles;
+    }
+}
@@ -0,0 +1,25 @@
+package server.stocksyncbackend.service.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import server.stocksyncbackend.utils.types.UserStatus;
+
+import java.util.List;
+import java.util.Set;
+
+// Immutable snapshot of what authentication needs from a user row and its roles.
+// passwordHash doubles as the password version: any change replaces the cached entry.
+@Getter
+@AllArgsConstructor
+public class UserPrincipal {
+    private final Long userId;
+    private final String username;
+    private final String email;
+    private final String passwordHash;
+    private final UserStatus status;
+    private final Set<String> roleNames;
+    // derived from roleNames once, when the principal is loaded
+    private final List<GrantedAuthority> authorities;
+    private final long permissions;
+}
@@ -0,0 +1,110 @@
+package server.stocksyncbackend.service.user;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import server.stocksyncbackend.config.security.PermissionRegistry;
+import server.stocksyncbackend.model.User;
+import server.stocksyncbackend.repository.UserRepository;
+import server.stocksyncbackend.utils.cache.ExpiringCache;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Username -> UserPrincipal, bounded by size and TTL.
+// Writers call invalidate() (register, password change, and any JPA update of a user via
+// UserPrincipalListener); the TTL bounds staleness for changes made on other nodes.
+@Service
+@RequiredArgsConstructor
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final PermissionRegistry permissionRegistry;
+
+    @Value("${security.user-cache.max-size}")
+    private int maxSize;
+
+    @Value("${security.user-cache.ttl-ms}")
+    private long ttlMs;
+
+    private ExpiringCache<String, UserPrincipal> principals;
+
+    // bumped by every invalidation; a load that overlaps one is not cached,
+    // so a read of the old row can't be put back after the change committed
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        principals = new ExpiringCache<>(maxSize);
+    }
+
+    public Optional<UserPrincipal> get(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+
+        UserPrincipal cached = principals.get(username);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long loadedAt = generation.get();
+        Optional<UserPrincipal> loaded = userRepository.findByUsername(username).map(this::toPrincipal);
+        if (loaded.isPresent() && generation.get() == loadedAt) {
+            principals.put(username, loaded.get(), System.currentTimeMillis() + ttlMs);
+        }
+        return loaded;
+    }
+
+    // Drops the user now and again after the surrounding transaction commits
+    public void invalidate(String username) {
+        evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(username);
+                }
+            });
+        }
+    }
+
+    public ExpiringCache.Stats stats() {
+        return principals.stats();
+    }
+
+    private void evict(String username) {
+        generation.incrementAndGet();
+        if (username != null) {
+            principals.invalidate(username);
+        }
+    }
+
+    private UserPrincipal toPrincipal(User user) {
+        Set<String> roleNames = user.getRoles() == null ? Set.of()
+                : user.getRoles().stream()
+                        .map(ur -> ur.getRole().getRoleName())
+                        .collect(Collectors.toUnmodifiableSet());
+
+        return new UserPrincipal(
+                user.getUserId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getStatus(),
+                roleNames,
+                roleNames.stream()
+                        .<GrantedAuthority>map(roleName -> new SimpleGrantedAuthority("ROLE_" + roleName))
+                        .toList(),
+                permissionRegistry.maskFor(roleNames)
+        );
+    }
+}
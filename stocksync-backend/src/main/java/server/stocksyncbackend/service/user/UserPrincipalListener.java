@@ -0,0 +1,23 @@
+package server.stocksyncbackend.service.user;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import server.stocksyncbackend.model.User;
+
+// JPA listener on User: status, password or e-mail changes made through JPA
+// drop the cached principal. Looked up lazily to avoid a cycle with the EntityManagerFactory.
+@Component
+@RequiredArgsConstructor
+public class UserPrincipalListener {
+
+    private final ObjectProvider<UserPrincipalCache> userPrincipalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChange(User user) {
+        userPrincipalCache.getObject().invalidate(user.getUsername());
+    }
+}
@@ -0,0 +1,202 @@
+package server.stocksyncbackend.service.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.stocksyncbackend.dto.requests.RegisterRequest;
+import server.stocksyncbackend.dto.responses.BulkRegisterResponse;
+import server.stocksyncbackend.model.Role;
+import server.stocksyncbackend.repository.UserRepository;
+import server.stocksyncbackend.service.password.OffloadedPasswordEncoder;
+import server.stocksyncbackend.utils.exception.InvalidUserRequestException;
+import server.stocksyncbackend.utils.exception.UsernameAlreadyExistsException;
+import server.stocksyncbackend.utils.types.UserStatus;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+// Registration with a fixed number of statements per batch instead of several per user:
+// uniqueness is checked with IN queries over the whole batch, roles come from RoleCache,
+// passwords are hashed in parallel on the hashing pool, and users / user_roles are written
+// with JDBC batch inserts in one transaction, so a batch is created completely or not at all.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserProvisioningService {
+
+    public static final int MAX_USERS = 1000;
+
+    // rows per JDBC batch, and ids per IN list
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_CONFLICTS = 20;
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (username, email, password, status)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_USER_ROLE = """
+            INSERT INTO user_roles (user_user_id, role_role_id, assigned_date)
+            VALUES (?, ?, ?)
+            """;
+
+    private final UserRepository userRepository;
+    private final RoleCache roleCache;
+    private final OffloadedPasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserPrincipalCache userPrincipalCache;
+
+    public BulkRegisterResponse registerAll(List<RegisterRequest> requests) {
+        validate(requests);
+        checkUnique(requests);
+
+        Set<String> roleNames = new LinkedHashSet<>();
+        requests.forEach(request -> roleNames.addAll(request.getRoles()));
+        Map<String, Role> roles = roleCache.resolve(roleNames);
+
+        List<String> hashes = passwordEncoder.encodeAll(
+                requests.stream().map(RegisterRequest::getPassword).toList()
+        );
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int start = 0; start < requests.size(); start += BATCH_SIZE) {
+                    int end = Math.min(start + BATCH_SIZE, requests.size());
+                    insertBatch(requests.subList(start, end), hashes.subList(start, end), roles, now);
+                }
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // another registration took one of the names between the check and the insert
+            throw new UsernameAlreadyExistsException("Username or email already exists");
+        }
+
+        List<String> usernames = requests.stream().map(RegisterRequest::getUsername).toList();
+        usernames.forEach(userPrincipalCache::invalidate);
+        log.info("Registered {} users", usernames.size());
+
+        return BulkRegisterResponse.builder()
+                .created(usernames.size())
+                .usernames(usernames)
+                .build();
+    }
+
+    // ==========================
+    // Validation
+    // ==========================
+
+    private void validate(List<RegisterRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidUserRequestException("No users to register");
+        }
+        if (requests.size() > MAX_USERS) {
+            throw new InvalidUserRequestException("At most " + MAX_USERS + " users can be registered per request");
+        }
+
+        for (int i = 0; i < requests.size(); i++) {
+            RegisterRequest request = requests.get(i);
+            if (request == null
+                    || isBlank(request.getUsername())
+                    || isBlank(request.getEmail())
+                    || isBlank(request.getPassword())
+                    || request.getRoles() == null
+                    || request.getRoles().isEmpty()) {
+                throw new InvalidUserRequestException(
+                        "Entry " + i + ": username, email, password and at least one role are required");
+            }
+        }
+    }
+
+    private void checkUnique(List<RegisterRequest> requests) {
+        List<String> usernames = requests.stream().map(RegisterRequest::getUsername).toList();
+        List<String> emails = requests.stream().map(RegisterRequest::getEmail).toList();
+
+        rejectConflicts("Duplicate username in request", duplicates(usernames));
+        rejectConflicts("Duplicate email in request", duplicates(emails));
+        rejectConflicts("Username already exists", existing(usernames, userRepository::findExistingUsernames));
+        rejectConflicts("Email already exists", existing(emails, userRepository::findExistingEmails));
+    }
+
+    private static Set<String> duplicates(List<String> values) {
+        Set<String> seen = new HashSet<>();
+        Set<String> duplicates = new TreeSet<>();
+        for (String value : values) {
+            if (!seen.add(value)) {
+                duplicates.add(value);
+            }
+        }
+        return duplicates;
+    }
+
+    private static Set<String> existing(List<String> values, Function<List<String>, List<String>> lookup) {
+        Set<String> existing = new TreeSet<>();
+        for (int start = 0; start < values.size(); start += BATCH_SIZE) {
+            existing.addAll(lookup.apply(values.subList(start, Math.min(start + BATCH_SIZE, values.size()))));
+        }
+        return existing;
+    }
+
+    private static void rejectConflicts(String message, Set<String> conflicts) {
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        String listed = String.join(", ", conflicts.stream().limit(MAX_REPORTED_CONFLICTS).toList());
+        String more = conflicts.size() > MAX_REPORTED_CONFLICTS
+                ? " (+" + (conflicts.size() - MAX_REPORTED_CONFLICTS) + " more)"
+                : "";
+        throw new UsernameAlreadyExistsException(message + ": " + listed + more);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    // ==========================
+    // Batch insert
+    // ==========================
+
+    private void insertBatch(List<RegisterRequest> batch, List<String> hashes, Map<String, Role> roles, Timestamp now) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_USER, new String[]{"user_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        RegisterRequest request = batch.get(i);
+                        ps.setString(1, request.getUsername());
+                        ps.setString(2, request.getEmail());
+                        ps.setString(3, hashes.get(i));
+                        ps.setString(4, UserStatus.ACTIVE.name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                },
+                keys
+        );
+
+        // generated keys come back in insert order
+        List<Map<String, Object>> generated = keys.getKeyList();
+        List<Object[]> userRoles = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            long userId = ((Number) generated.get(i).get("user_id")).longValue();
+            for (String roleName : batch.get(i).getRoles()) {
+                userRoles.add(new Object[]{userId, roles.get(roleName).getRoleId(), now});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles);
+    }
+}
@@ -0,0 +1,50 @@
+package server.stocksyncbackend.utils;
+
+import server.stocksyncbackend.utils.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+public final class CursorUtil {
+
+    private static final String SEPARATOR = "|";
+    private static final String NULL_VALUE = "null";
+
+    private CursorUtil() {}
+
+    // 🔖 ENCODE KEYSET POSITION INTO AN OPAQUE URL-SAFE CURSOR
+    public static String encode(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(parts[i] == null ? NULL_VALUE : parts[i].toString());
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 🔍 DECODE CURSOR BACK INTO ITS PARTS ("null" parts become null)
+    public static String[] decode(String cursor, int expectedParts) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+
+        String[] parts = raw.split(Pattern.quote(SEPARATOR), -1);
+        if (parts.length != expectedParts) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+
+        for (int i = 0; i < parts.length; i++) {
+            if (NULL_VALUE.equals(parts[i])) {
+                parts[i] = null;
+            }
+        }
+        return parts;
+    }
+}
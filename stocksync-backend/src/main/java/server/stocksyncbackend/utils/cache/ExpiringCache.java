@@ -0,0 +1,118 @@
+package server.stocksyncbackend.utils.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.LongSupplier;
+
+// Bounded concurrent map whose entries carry their own expiry time.
+// Reads are a single ConcurrentHashMap lookup; when the map is full, expired entries
+// are dropped first and then an arbitrary slice, so a flood of keys can't grow it past maxSize.
+public class ExpiringCache<K, V> {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongSupplier millisClock;
+
+    public ExpiringCache(int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    // millisClock stands in for System.currentTimeMillis (tests)
+    ExpiringCache(int maxSize, LongSupplier millisClock) {
+        this.maxSize = maxSize;
+        this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+        this.millisClock = millisClock;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAtMillis > millisClock.getAsLong()) {
+            hits.increment();
+            return entry.value;
+        }
+        if (entry != null) {
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        if (maxSize <= 0 || expiresAtMillis <= millisClock.getAsLong()) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    // drops every entry the predicate matches (e.g. all entries of one user)
+    public void invalidateIf(BiPredicate<K, V> predicate) {
+        entries.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue().value));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public Stats stats() {
+        return new Stats(entries.size(), maxSize, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private void makeRoom() {
+        long now = millisClock.getAsLong();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.expiresAtMillis <= now);
+
+        // still full of live entries: drop about 1/16 of them
+        if (entries.size() >= maxSize) {
+            int toDrop = entries.size() - maxSize + Math.max(1, maxSize / 16);
+            Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+            while (toDrop-- > 0 && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        evictions.add(Math.max(0, before - entries.size()));
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+
+        private Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final int size;
+        private final int maxSize;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package server.stocksyncbackend.utils.cache;
+
+// long -> int map without boxing: open addressing with linear probing over a long[] of keys
+// and an int[] of values, so an entry costs 12 bytes per slot and a lookup touches one or two
+// cache lines. Key 0 marks an empty slot and cannot be stored. remove() shifts the rest of the
+// probe run back instead of leaving tombstones, so lookups never scan dead slots.
+//
+// Not thread-safe. The key and value arrays are swapped together as one Table on resize,
+// so a reader racing a writer sees either the old or the new table, never a mix; callers
+// still need their own lock (or StampedLock validation) to trust what they read.
+public class LongIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private Table table;
+    private int size;
+
+    public LongIntHashMap(int expectedSize) {
+        this.table = new Table(capacityFor(expectedSize));
+    }
+
+    public int get(long key, int missingValue) {
+        if (key == 0) {
+            return missingValue; // would match an empty slot
+        }
+        Table current = table;
+        int mask = current.keys.length - 1;
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            long stored = current.keys[slot];
+            if (stored == key) {
+                return current.values[slot];
+            }
+            if (stored == 0) {
+                return missingValue;
+            }
+        }
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return false; // would match an empty slot
+        }
+        Table current = table;
+        int mask = current.keys.length - 1;
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            long stored = current.keys[slot];
+            if (stored == key) {
+                return true;
+            }
+            if (stored == 0) {
+                return false;
+            }
+        }
+    }
+
+    public void put(long key, int value) {
+        int slot = findOrInsert(key);
+        table.values[slot] = value;
+    }
+
+    // adds delta to the value (0 when absent) and returns the new value
+    public int addTo(long key, int delta) {
+        int slot = findOrInsert(key);
+        return table.values[slot] += delta;
+    }
+
+    // Removes the key and returns its value, or missingValue when absent
+    public int remove(long key, int missingValue) {
+        if (key == 0) {
+            return missingValue; // would match an empty slot
+        }
+        Table current = table;
+        int mask = current.keys.length - 1;
+        int slot = slot(key, mask);
+        while (current.keys[slot] != key) {
+            if (current.keys[slot] == 0) {
+                return missingValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int removed = current.values[slot];
+
+        // pull back every later entry of the run whose home slot is not inside (hole, entry]
+        int hole = slot;
+        for (int next = (hole + 1) & mask; current.keys[next] != 0; next = (next + 1) & mask) {
+            int home = slot(current.keys[next], mask);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                current.keys[hole] = current.keys[next];
+                current.values[hole] = current.values[next];
+                hole = next;
+            }
+        }
+        current.keys[hole] = 0;
+        current.values[hole] = 0;
+        size--;
+        return removed;
+    }
+
+    public void forEach(Visitor visitor) {
+        Table current = table;
+        for (int slot = 0; slot < current.keys.length; slot++) {
+            if (current.keys[slot] != 0) {
+                visitor.accept(current.keys[slot], current.values[slot]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return table.keys.length;
+    }
+
+    // bytes held by the key / value arrays
+    public long footprintBytes() {
+        return (long) table.keys.length * (Long.BYTES + Integer.BYTES);
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        void accept(long key, int value);
+    }
+
+    private int findOrInsert(long key) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved for empty slots");
+        }
+        Table current = table;
+        int mask = current.keys.length - 1;
+        int slot = slot(key, mask);
+        while (current.keys[slot] != 0) {
+            if (current.keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size + 1 > current.keys.length * LOAD_FACTOR) {
+            resize(current.keys.length << 1);
+            return findOrInsert(key);
+        }
+
+        current.keys[slot] = key;
+        size++;
+        return slot;
+    }
+
+    private void resize(int newCapacity) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("LongIntHashMap cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+        Table old = table;
+        Table grown = new Table(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < old.keys.length; i++) {
+            long key = old.keys[i];
+            if (key != 0) {
+                int slot = slot(key, mask);
+                while (grown.keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                grown.keys[slot] = key;
+                grown.values[slot] = old.values[i];
+            }
+        }
+        table = grown;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 2) / (double) LOAD_FACTOR);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Expected size too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    // 64-bit finalizer (murmur3 fmix64): packed keys differ mostly in their low bits
+    private static int slot(long key, int mask) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private static final class Table {
+        private final long[] keys;
+        private final int[] values;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new int[capacity];
+        }
+    }
+}
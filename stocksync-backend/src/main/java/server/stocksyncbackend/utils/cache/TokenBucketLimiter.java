@@ -0,0 +1,103 @@
+package server.stocksyncbackend.utils.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+// One token bucket per key, refilled continuously at a fixed rate up to capacity.
+// Keys are spread over a fixed number of stripes, each a plain HashMap behind its own lock,
+// so unrelated keys rarely contend and no lock is held for more than a few arithmetic ops.
+public class TokenBucketLimiter {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final Stripe[] stripes;
+    private final int mask;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketLimiter(int stripeCount, long capacity, long refillPerMinute) {
+        this(stripeCount, capacity, refillPerMinute, System::nanoTime);
+    }
+
+    // nanoClock stands in for System.nanoTime (tests)
+    TokenBucketLimiter(int stripeCount, long capacity, long refillPerMinute, LongSupplier nanoClock) {
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60_000_000_000.0;
+        this.nanoClock = nanoClock;
+    }
+
+    // Takes one token for the key. Returns 0 when allowed, otherwise the nanoseconds until
+    // the next token is available.
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.refilledAt) * tokensPerNano);
+                bucket.refilledAt = now;
+            }
+
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / tokensPerNano);
+        }
+    }
+
+    // Drops buckets that have refilled to capacity since their last use. Such a bucket is
+    // indistinguishable from a new one, so evicting it never hands out extra tokens.
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                int before = stripe.buckets.size();
+                stripe.buckets.values().removeIf(
+                        bucket -> bucket.tokens + (now - bucket.refilledAt) * tokensPerNano >= capacity
+                );
+                evicted += before - stripe.buckets.size();
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+
+    private static final class Stripe {
+        private final Map<String, Bucket> buckets = new HashMap<>();
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package server.stocksyncbackend.utils.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+// A fixed set of locks that long keys hash onto. lockAll takes the stripes of several keys in
+// ascending stripe order, so two callers sharing stripes always acquire them in the same order
+// and cannot deadlock, whatever order their keys come in. Unrelated keys rarely share a stripe.
+public class StripedLocks {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLocks(int stripeCount) {
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    // Blocks until every stripe of the keys is held; release with close()
+    public Held lockAll(long[] keys) {
+        int[] stripes = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            stripes[i] = stripeOf(keys[i]);
+        }
+        stripes = Arrays.stream(stripes).sorted().distinct().toArray();
+
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+        return new Held(stripes);
+    }
+
+    public int stripeCount() {
+        return locks.length;
+    }
+
+    private int stripeOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    public final class Held implements AutoCloseable {
+        private final int[] stripes;
+        private boolean released;
+
+        private Held(int[] stripes) {
+            this.stripes = stripes;
+        }
+
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package server.stocksyncbackend.utils.exception;
+
+public class GrnIntakeNotFoundException extends RuntimeException {
+    public GrnIntakeNotFoundException(String message) {
+        super(message);
+    }
+}
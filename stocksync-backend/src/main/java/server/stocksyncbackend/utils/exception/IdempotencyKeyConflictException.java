@@ -0,0 +1,7 @@
+package server.stocksyncbackend.utils.exception;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package server.stocksyncbackend.utils.exception;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
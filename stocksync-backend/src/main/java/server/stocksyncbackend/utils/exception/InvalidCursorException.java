@@ -0,0 +1,7 @@
+package server.stocksyncbackend.utils.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package server.stocksyncbackend.utils.exception;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package server.stocksyncbackend.utils.exception;
+
+public class InvalidReorderRuleException extends RuntimeException {
+    public InvalidReorderRuleException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package server.stocksyncbackend.utils.exception;
+
+public class InvalidReservationException extends RuntimeException {
+    public InvalidReservationException(String message) {
+        super(message);
+    }
+}
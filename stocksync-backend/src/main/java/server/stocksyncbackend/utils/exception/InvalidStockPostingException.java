@@ -0,0 +1,7 @@
+package server.stocksyncbackend.utils.exception;
+
+public class InvalidStockPostingException extends RuntimeException {
+    public InvalidStockPostingException(String message) {
+        super(message);
+    }
+}
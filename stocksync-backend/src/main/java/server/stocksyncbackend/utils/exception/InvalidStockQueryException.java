@@ -0,0 +1,7 @@
+package server.stocksyncbackend.utils.exception;
+
+public class InvalidStockQueryException extends RuntimeException {
+    public InvalidStockQueryException(String message) {
+        super(message);
+    }
+}
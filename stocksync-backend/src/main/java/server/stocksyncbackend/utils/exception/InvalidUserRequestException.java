@@ -0,0 +1,7 @@
+package server.stocksyncbackend.utils.exception;
+
+public class InvalidUserRequestException extends RuntimeException {
+    public InvalidUserRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package server.stocksyncbackend.utils.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
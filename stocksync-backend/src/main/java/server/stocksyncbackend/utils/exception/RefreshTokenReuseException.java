@@ -0,0 +1,7 @@
+package server.stocksyncbackend.utils.exception;
+
+public class RefreshTokenReuseException extends RuntimeException {
+    public RefreshTokenReuseException(String message) {
+        super(message);
+    }
+}
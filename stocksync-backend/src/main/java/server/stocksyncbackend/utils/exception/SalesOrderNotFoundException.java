@@ -0,0 +1,7 @@
+package server.stocksyncbackend.utils.exception;
+
+public class SalesOrderNotFoundException extends RuntimeException {
+    public SalesOrderNotFoundException(String message) {
+        super(message);
+    }
+}
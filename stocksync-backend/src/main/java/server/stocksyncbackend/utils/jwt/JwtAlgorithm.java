@@ -0,0 +1,47 @@
+package server.stocksyncbackend.utils.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+
+// Signing algorithms a key in the key ring can use. The algorithm is implied by the key
+// itself (RSA -> RS256, EC P-256 -> ES256, Ed25519 -> EdDSA), so a key file never needs a label.
+@Getter
+@RequiredArgsConstructor
+public enum JwtAlgorithm {
+    RS256("RS256", Jwts.SIG.RS256),
+    ES256("ES256", Jwts.SIG.ES256),
+    EDDSA("EdDSA", Jwts.SIG.EdDSA);
+
+    // JOSE "alg" name
+    private final String joseName;
+    private final SignatureAlgorithm signatureAlgorithm;
+
+    public static JwtAlgorithm forKey(PublicKey key) {
+        if (key instanceof RSAPublicKey) {
+            return RS256;
+        }
+        if (key instanceof ECPublicKey ec && ec.getParams().getCurve().getField().getFieldSize() == 256) {
+            return ES256;
+        }
+        if (key instanceof EdECPublicKey ed && "Ed25519".equals(ed.getParams().getName())) {
+            return EDDSA;
+        }
+        throw new IllegalArgumentException("Unsupported JWT key type: " + key.getAlgorithm());
+    }
+
+    public static JwtAlgorithm fromName(String name) {
+        for (JwtAlgorithm algorithm : values()) {
+            if (algorithm.joseName.equalsIgnoreCase(name) || algorithm.name().equalsIgnoreCase(name)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported JWT algorithm: " + name + " (use RS256, ES256 or EdDSA)");
+    }
+}
@@ -0,0 +1,24 @@
+package server.stocksyncbackend.utils.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+// One key of the key ring. privateKey is null for verify-only keys
+// (retired signers kept until the tokens they signed have expired).
+@Getter
+@AllArgsConstructor
+public class JwtKey {
+    private final String kid;
+    private final JwtAlgorithm algorithm;
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    // last change of the key files; the newest matching key signs
+    private final long modifiedAt;
+
+    public boolean canSign() {
+        return privateKey != null;
+    }
+}
@@ -0,0 +1,258 @@
+package server.stocksyncbackend.utils.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import server.stocksyncbackend.utils.exception.KeyFileMissingException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.*;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.*;
+import java.util.stream.Stream;
+
+// All JWT keys the service knows, by kid, plus the one that signs new tokens.
+//
+// Keys come from the PRIVATE_KEY_PATH / PUBLIC_KEY_PATH pair (kid "default", also used for
+// tokens issued before kids existed) and, when security.jwt.key-dir is set, from
+// <kid>.private.pem (PKCS#8) + <kid>.public.pem (X.509) files in that directory.
+// A public file on its own is a verify-only key.
+//
+// The directory is re-read when its listing changes, and the new set is swapped in as one
+// immutable snapshot, so rotation needs no restart: add the new pair (it signs from then on as
+// the newest key of the configured algorithm), and delete the old private file. Delete the old
+// public file once the refresh token lifetime has passed.
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    public static final String DEFAULT_KID = "default";
+
+    private static final String PRIVATE_SUFFIX = ".private.pem";
+    private static final String PUBLIC_SUFFIX = ".public.pem";
+    private static final String[] KEY_FACTORIES = {"RSA", "EC", "Ed25519"};
+
+    @Value("${PRIVATE_KEY_PATH}")
+    private String privateKeyPath;
+
+    @Value("${PUBLIC_KEY_PATH}")
+    private String publicKeyPath;
+
+    @Value("${security.jwt.algorithm}")
+    private String algorithm;
+
+    @Value("${security.jwt.key-dir}")
+    private String keyDir;
+
+    // optional: pin the signing key instead of "newest key of the configured algorithm"
+    @Value("${security.jwt.signing-kid}")
+    private String signingKid;
+
+    private volatile Snapshot snapshot;
+    private volatile String listingFingerprint = "";
+
+    @PostConstruct
+    void init() {
+        reload();
+    }
+
+    // ==========================
+    // Lookups
+    // ==========================
+
+    public JwtKey signingKey() {
+        return snapshot.signingKey;
+    }
+
+    public boolean isKnown(String kid) {
+        return snapshot.keys.containsKey(kid == null ? DEFAULT_KID : kid);
+    }
+
+    // Verification key for a token header; tokens without a kid predate rotation
+    public LocatorAdapter<Key> locator() {
+        return new LocatorAdapter<>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                String kid = header.getKeyId() == null ? DEFAULT_KID : header.getKeyId();
+                JwtKey key = snapshot.keys.get(kid);
+                if (key == null) {
+                    throw new io.jsonwebtoken.security.InvalidKeyException("Unknown JWT key id: " + kid);
+                }
+                if (!key.getAlgorithm().getJoseName().equals(header.getAlgorithm())) {
+                    throw new io.jsonwebtoken.security.InvalidKeyException("Algorithm mismatch for key id: " + kid);
+                }
+                return key.getPublicKey();
+            }
+        };
+    }
+
+    // Public halves of every key, for the JWKS endpoint
+    public List<PublicJwk<?>> publicJwks() {
+        return snapshot.jwks;
+    }
+
+    // ==========================
+    // Loading
+    // ==========================
+
+    // Picks up added / removed / replaced key files
+    @Scheduled(fixedDelayString = "${security.jwt.key-reload-interval-ms}")
+    public void reloadIfChanged() {
+        try {
+            if (!listing().equals(listingFingerprint)) {
+                reload();
+            }
+        } catch (RuntimeException ex) {
+            // keep serving with the previous snapshot
+            log.error("JWT key reload failed, keeping the current keys: {}", ex.getMessage());
+        }
+    }
+
+    public synchronized void reload() {
+        String listing = listing();
+        Map<String, JwtKey> keys = new LinkedHashMap<>();
+
+        Path legacyPublic = Path.of(publicKeyPath);
+        if (Files.exists(legacyPublic)) {
+            keys.put(DEFAULT_KID, loadKey(DEFAULT_KID, Path.of(privateKeyPath), legacyPublic));
+        }
+
+        if (keyDir != null && !keyDir.isBlank()) {
+            try (Stream<Path> files = Files.list(Path.of(keyDir))) {
+                files.map(path -> path.getFileName().toString())
+                        .filter(name -> name.endsWith(PUBLIC_SUFFIX))
+                        .map(name -> name.substring(0, name.length() - PUBLIC_SUFFIX.length()))
+                        .sorted()
+                        .forEach(kid -> keys.put(kid, loadKey(
+                                kid,
+                                Path.of(keyDir, kid + PRIVATE_SUFFIX),
+                                Path.of(keyDir, kid + PUBLIC_SUFFIX)
+                        )));
+            } catch (IOException e) {
+                throw new KeyFileMissingException("Cannot read JWT key directory " + keyDir + ": " + e.getMessage());
+            }
+        }
+
+        JwtKey signer = chooseSigner(keys);
+
+        List<PublicJwk<?>> jwks = keys.values().stream()
+                .<PublicJwk<?>>map(key -> Jwks.builder()
+                        .key(key.getPublicKey())
+                        .id(key.getKid())
+                        .algorithm(key.getAlgorithm().getJoseName())
+                        .publicKeyUse("sig")
+                        .build())
+                .toList();
+
+        snapshot = new Snapshot(Map.copyOf(keys), signer, jwks);
+        listingFingerprint = listing;
+        log.info("Loaded {} JWT keys {}, signing with {} ({})",
+                keys.size(), keys.keySet(), signer.getKid(), signer.getAlgorithm().getJoseName());
+    }
+
+    private JwtKey chooseSigner(Map<String, JwtKey> keys) {
+        JwtAlgorithm wanted = JwtAlgorithm.fromName(algorithm);
+
+        if (signingKid != null && !signingKid.isBlank()) {
+            JwtKey pinned = keys.get(signingKid);
+            if (pinned == null || !pinned.canSign()) {
+                throw new KeyFileMissingException("No private key for security.jwt.signing-kid=" + signingKid);
+            }
+            return pinned;
+        }
+
+        return keys.values().stream()
+                .filter(JwtKey::canSign)
+                .filter(key -> key.getAlgorithm() == wanted)
+                .max(Comparator.comparingLong(JwtKey::getModifiedAt).thenComparing(JwtKey::getKid))
+                .orElseThrow(() -> new KeyFileMissingException(
+                        "No " + wanted.getJoseName() + " signing key among " + keys.keySet()
+                ));
+    }
+
+    private JwtKey loadKey(String kid, Path privatePath, Path publicPath) {
+        try {
+            PublicKey publicKey = parsePublicKey(readPem(publicPath));
+            PrivateKey privateKey = Files.exists(privatePath) ? parsePrivateKey(readPem(privatePath)) : null;
+            long modifiedAt = Files.getLastModifiedTime(privateKey != null ? privatePath : publicPath).toMillis();
+            return new JwtKey(kid, JwtAlgorithm.forKey(publicKey), privateKey, publicKey, modifiedAt);
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            throw new KeyFileMissingException("Invalid JWT key '" + kid + "': " + e.getMessage());
+        }
+    }
+
+    private static byte[] readPem(Path path) throws IOException {
+        String body = Files.readString(path)
+                .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    private static PublicKey parsePublicKey(byte[] der) throws GeneralSecurityException {
+        for (String type : KEY_FACTORIES) {
+            try {
+                return KeyFactory.getInstance(type).generatePublic(new X509EncodedKeySpec(der));
+            } catch (GeneralSecurityException ignored) {
+                // not this key type
+            }
+        }
+        throw new InvalidKeyException("not an RSA, EC or Ed25519 public key");
+    }
+
+    private static PrivateKey parsePrivateKey(byte[] der) throws GeneralSecurityException {
+        for (String type : KEY_FACTORIES) {
+            try {
+                return KeyFactory.getInstance(type).generatePrivate(new PKCS8EncodedKeySpec(der));
+            } catch (GeneralSecurityException ignored) {
+                // not this key type
+            }
+        }
+        throw new InvalidKeyException("not a PKCS#8 RSA, EC or Ed25519 private key");
+    }
+
+    // names, sizes and timestamps of every key file; any change triggers a reload
+    private String listing() {
+        StringBuilder listing = new StringBuilder();
+        appendFile(listing, Path.of(privateKeyPath));
+        appendFile(listing, Path.of(publicKeyPath));
+        if (keyDir != null && !keyDir.isBlank()) {
+            try (Stream<Path> files = Files.list(Path.of(keyDir))) {
+                files.sorted().forEach(path -> appendFile(listing, path));
+            } catch (IOException e) {
+                throw new KeyFileMissingException("Cannot read JWT key directory " + keyDir + ": " + e.getMessage());
+            }
+        }
+        return listing.toString();
+    }
+
+    private static void appendFile(StringBuilder listing, Path path) {
+        try {
+            listing.append(path).append(':')
+                    .append(Files.size(path)).append(':')
+                    .append(Files.getLastModifiedTime(path).toMillis()).append(';');
+        } catch (IOException e) {
+            listing.append(path).append(":missing;");
+        }
+    }
+
+    private static final class Snapshot {
+        private final Map<String, JwtKey> keys;
+        private final JwtKey signingKey;
+        private final List<PublicJwk<?>> jwks;
+
+        private Snapshot(Map<String, JwtKey> keys, JwtKey signingKey, List<PublicJwk<?>> jwks) {
+            this.keys = keys;
+            this.signingKey = signingKey;
+            this.jwks = jwks;
+        }
+    }
+}
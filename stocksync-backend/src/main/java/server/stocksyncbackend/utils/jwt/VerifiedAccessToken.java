@@ -0,0 +1,23 @@
+package server.stocksyncbackend.utils.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.Set;
+
+// What a verified access token says about its caller, with the authorities already built
+// so a cache hit needs no further work.
+@Getter
+@AllArgsConstructor
+public class VerifiedAccessToken {
+    // signing key id (null for tokens issued before key ids)
+    private final String kid;
+    private final String username;
+    private final Set<String> roles;
+    private final List<GrantedAuthority> authorities;
+    // permission mask (see PermissionRegistry)
+    private final long permissions;
+    private final long expiresAtMillis;
+}
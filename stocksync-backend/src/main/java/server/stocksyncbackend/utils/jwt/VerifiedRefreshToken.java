@@ -0,0 +1,14 @@
+package server.stocksyncbackend.utils.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class VerifiedRefreshToken {
+    private final String username;
+    // jti / fam claims; both null for tokens issued before rotation was tracked
+    private final String tokenId;
+    private final String familyId;
+    private final long expiresAtMillis;
+}
@@ -0,0 +1,7 @@
+package server.stocksyncbackend.utils.types;
+
+public enum GrnIntakeStatus {
+    ACCEPTED,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,23 @@
+package server.stocksyncbackend.utils.types;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Kind of stock movement, and which way a (positive) requested quantity moves stock.
+// ADJUSTMENT takes the quantity as signed: stock-count corrections go both ways.
+@Getter
+@RequiredArgsConstructor
+public enum MovementType {
+    RECEIPT(1),
+    ISSUE(-1),
+    TRANSFER_IN(1),
+    TRANSFER_OUT(-1),
+    ADJUSTMENT(0);
+
+    private final int direction;
+
+    // change of quantity on hand for a requested quantity
+    public int delta(int quantity) {
+        return direction == 0 ? quantity : direction * quantity;
+    }
+}
@@ -1,7 +1,27 @@
 package server.stocksyncbackend.utils.types;
 
+import java.util.Arrays;
+import java.util.List;
+
 public enum OrderStatus {
     PENDING,
     RECEIVED,
-    CANCELLED
+    CANCELLED,
+    // generated by the reorder scan, waiting for a buyer to approve (PENDING) or drop it
+    DRAFT;
+
+    // PO state machine: DRAFT orders move to PENDING or CANCELLED, PENDING orders to RECEIVED or
+    // CANCELLED, and nothing else moves
+    public boolean canTransitionTo(OrderStatus target) {
+        return switch (this) {
+            case DRAFT -> target == PENDING || target == CANCELLED;
+            case PENDING -> target == RECEIVED || target == CANCELLED;
+            default -> false;
+        };
+    }
+
+    // States an order may be in for a move to this one (the compare-and-set "expected" values)
+    public List<OrderStatus> allowedSources() {
+        return Arrays.stream(values()).filter(source -> source.canTransitionTo(this)).toList();
+    }
 }
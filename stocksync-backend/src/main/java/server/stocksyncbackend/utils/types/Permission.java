@@ -0,0 +1,35 @@
+package server.stocksyncbackend.utils.types;
+
+// Fine-grained permissions. The ordinal is the bit position in the permission mask carried by
+// access tokens, so new values go at the end (at most 64) and existing ones are never reordered.
+public enum Permission {
+    PO_READ,
+    PO_CREATE,
+    PO_IMPORT,
+    PO_STATUS_CHANGE,
+    PO_PRINT,
+    SUPPLIER_READ,
+    SUPPLIER_CREATE,
+    SUPPLIER_UPDATE,
+    SUPPLIER_DELETE,
+    GRN_READ,
+    GRN_CREATE,
+    GRN_COMPLETE,
+    USER_MANAGE,
+    SYSTEM_MONITOR,
+    INVENTORY_READ,
+    INVENTORY_POST,
+    INVENTORY_RESERVE;
+
+    public long mask() {
+        return 1L << ordinal();
+    }
+
+    public static long maskOf(Permission... permissions) {
+        long mask = 0;
+        for (Permission permission : permissions) {
+            mask |= permission.mask();
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,28 @@
+package server.stocksyncbackend.utils.types;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import server.stocksyncbackend.utils.exception.InvalidCursorException;
+
+@Getter
+@RequiredArgsConstructor
+public enum PurchaseOrderSortKey {
+    ORDER_DATE("orderDate", "p.orderDate"),
+    PO_ID("poId", "p.poId"),
+    TOTAL_AMOUNT("totalAmount", "p.totalAmount");
+
+    // name used in the ?sort= query param and inside cursors
+    private final String param;
+
+    // JPQL path of the sort column (always paired with p.poId as tie-breaker)
+    private final String path;
+
+    public static PurchaseOrderSortKey fromParam(String param) {
+        for (PurchaseOrderSortKey key : values()) {
+            if (key.param.equalsIgnoreCase(param)) {
+                return key;
+            }
+        }
+        throw new InvalidCursorException("Unsupported sort key: " + param);
+    }
+}
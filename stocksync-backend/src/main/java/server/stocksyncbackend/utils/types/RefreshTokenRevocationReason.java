@@ -0,0 +1,8 @@
+package server.stocksyncbackend.utils.types;
+
+public enum RefreshTokenRevocationReason {
+    ROTATED,
+    LOGOUT,
+    PASSWORD_CHANGED,
+    REUSE_DETECTED
+}
@@ -0,0 +1,8 @@
+package server.stocksyncbackend.utils.types;
+
+public enum ReservationStatus {
+    ACTIVE,
+    RELEASED,
+    EXPIRED,
+    FULFILLED
+}
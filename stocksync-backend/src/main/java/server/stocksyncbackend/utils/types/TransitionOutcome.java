@@ -0,0 +1,8 @@
+package server.stocksyncbackend.utils.types;
+
+public enum TransitionOutcome {
+    TRANSITIONED,
+    ALREADY_IN_STATE,
+    INVALID_TRANSITION,
+    NOT_FOUND
+}
@@ -0,0 +1,132 @@
+package server.stocksyncbackend.service.sequence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SequenceAllocatorTest {
+
+    private final FakeSequences database = new FakeSequences();
+
+    @Test
+    void handsOutTheBlockStartingAtNextval() {
+        SequenceAllocator allocator = new SequenceAllocator(database);
+        // another writer (e.g. Hibernate) took [1, 50] first
+        database.nextval(PooledSequence.PRODUCT);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 51; i++) {
+            ids.add(allocator.next(PooledSequence.PRODUCT));
+        }
+
+        assertThat(ids.subList(0, 50)).containsExactlyElementsOf(range(51, 100));
+        assertThat(ids.get(50)).isEqualTo(101);
+        assertThat(database.calls(PooledSequence.PRODUCT)).isEqualTo(3);
+    }
+
+    @Test
+    void sequencesAreIndependent() {
+        SequenceAllocator allocator = new SequenceAllocator(database);
+
+        assertThat(allocator.next(PooledSequence.PRODUCT)).isEqualTo(1);
+        assertThat(allocator.next(PooledSequence.PRODUCT_SKU)).isEqualTo(1);
+        assertThat(allocator.next(PooledSequence.PRODUCT)).isEqualTo(2);
+        assertThat(allocator.next(PooledSequence.PRODUCT_SKU)).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentCallersAndNodesNeverShareAnId() throws Exception {
+        // two allocators on one database stand in for two nodes
+        SequenceAllocator nodeA = new SequenceAllocator(database);
+        SequenceAllocator nodeB = new SequenceAllocator(database);
+        int threads = 8;
+        int perThread = 5_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<Long>>> results = new ArrayList<>();
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            for (int t = 0; t < threads; t++) {
+                SequenceAllocator allocator = t % 2 == 0 ? nodeA : nodeB;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    List<Long> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(allocator.next(PooledSequence.INVENTORY_MOVEMENT));
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            Set<Long> seen = new HashSet<>();
+            for (Future<List<Long>> result : results) {
+                for (long id : result.get()) {
+                    assertThat(seen.add(id)).as("id %d handed out twice", id).isTrue();
+                }
+            }
+            assertThat(seen).hasSize(threads * perThread);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // one nextval per block, plus at most one partly used block per node
+        int blocks = threads * perThread / PooledSequence.INVENTORY_MOVEMENT.getBlockSize();
+        assertThat(database.calls(PooledSequence.INVENTORY_MOVEMENT)).isBetween(blocks, blocks + 2);
+    }
+
+    private static List<Long> range(long first, long last) {
+        List<Long> values = new ArrayList<>();
+        for (long v = first; v <= last; v++) {
+            values.add(v);
+        }
+        return values;
+    }
+
+    // Sequences as PostgreSQL runs them for START WITH 1 INCREMENT BY blockSize
+    private static final class FakeSequences extends JdbcTemplate {
+
+        private final ConcurrentHashMap<String, AtomicLong> lastValues = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+        long nextval(PooledSequence sequence) {
+            calls.computeIfAbsent(sequence.getSequenceName(), name -> new AtomicInteger()).incrementAndGet();
+            return lastValues.computeIfAbsent(sequence.getSequenceName(), name -> new AtomicLong(1 - sequence.getBlockSize()))
+                    .addAndGet(sequence.getBlockSize());
+        }
+
+        int calls(PooledSequence sequence) {
+            AtomicInteger count = calls.get(sequence.getSequenceName());
+            return count == null ? 0 : count.get();
+        }
+
+        @Override
+        public void execute(String sql) {
+            // CREATE SEQUENCE IF NOT EXISTS: sequences spring into existence on first nextval
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T queryForObject(String sql, Class<T> requiredType) {
+            for (PooledSequence sequence : PooledSequence.values()) {
+                if (sql.equals("SELECT nextval('" + sequence.getSequenceName() + "')")) {
+                    return (T) Long.valueOf(nextval(sequence));
+                }
+            }
+            throw new IllegalArgumentException("Unexpected query: " + sql);
+        }
+    }
+}
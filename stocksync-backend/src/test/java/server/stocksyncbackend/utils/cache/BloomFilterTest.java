@@ -0,0 +1,90 @@
+package server.stocksyncbackend.utils.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void neverForgetsAnInsertedValue() {
+        BloomFilter filter = new BloomFilter(50_000, 0.01);
+        List<String> inserted = tokenIds(50_000);
+        inserted.forEach(filter::put);
+
+        assertThat(inserted).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void staysNearTheConfiguredFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(50_000, 0.01);
+        tokenIds(50_000).forEach(filter::put);
+
+        long falsePositives = tokenIds(100_000).stream().filter(filter::mightContain).count();
+
+        // 1% expected; allow for the variance of 100k trials and the rounding of the sizing
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void concurrentPutsLoseNoBits() throws Exception {
+        // sized for exactly what goes in, so it is not saturated and a bit lost to a
+        // non-atomic read-modify-write on a shared word shows up as a false negative
+        BloomFilter filter = new BloomFilter(40_000, 0.01);
+        int threads = 8;
+        List<List<String>> perThread = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            perThread.add(tokenIds(5_000));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> done = new ArrayList<>();
+            for (List<String> values : perThread) {
+                done.add(executor.submit(() -> {
+                    start.await();
+                    values.forEach(filter::put);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : done) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (List<String> values : perThread) {
+            assertThat(values).allMatch(filter::mightContain);
+        }
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+
+        assertThat(filter.bitCount()).isPositive();
+        assertThat(filter.hashCount()).isPositive();
+        assertThat(filter.mightContain("")).isFalse();
+        assertThat(filter.mightContain(UUID.randomUUID().toString())).isFalse();
+    }
+
+    // same shape as the refresh token ids the filter holds
+    private static List<String> tokenIds(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID().toString());
+        }
+        return ids;
+    }
+}
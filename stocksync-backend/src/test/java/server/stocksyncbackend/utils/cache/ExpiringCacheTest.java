@@ -0,0 +1,83 @@
+package server.stocksyncbackend.utils.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void servesEntriesUntilTheirExpiry() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, clock::get);
+        cache.put("token", "alice", clock.get() + 100);
+
+        clock.addAndGet(99);
+        assertThat(cache.get("token")).isEqualTo("alice");
+
+        clock.addAndGet(1);
+        assertThat(cache.get("token")).isNull();
+        assertThat(cache.stats().getSize()).isZero();
+        assertThat(cache.stats().getHits()).isEqualTo(1);
+        assertThat(cache.stats().getMisses()).isEqualTo(1);
+        assertThat(cache.stats().getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void ignoresEntriesThatAreAlreadyExpiredOrUncacheable() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, clock::get);
+        cache.put("expired", "x", clock.get());
+
+        ExpiringCache<String, String> disabled = new ExpiringCache<>(0, clock::get);
+        disabled.put("key", "x", clock.get() + 100);
+
+        assertThat(cache.get("expired")).isNull();
+        assertThat(disabled.get("key")).isNull();
+    }
+
+    @Test
+    void neverGrowsPastMaxSize() {
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(100, clock::get);
+
+        for (int key = 0; key < 10_000; key++) {
+            cache.put(key, key, clock.get() + 60_000);
+            assertThat(cache.stats().getSize()).isLessThanOrEqualTo(100);
+        }
+        assertThat(cache.stats().getEvictions()).isPositive();
+    }
+
+    @Test
+    void makesRoomFromExpiredEntriesBeforeLiveOnes() {
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(100, clock::get);
+        for (int key = 0; key < 100; key++) {
+            // every tenth entry expires first
+            cache.put(key, key, clock.get() + (key % 10 == 0 ? 10 : 60_000));
+        }
+
+        clock.addAndGet(10);
+        cache.put(100, 100, clock.get() + 60_000);
+
+        assertThat(cache.stats().getSize()).isEqualTo(91);
+        assertThat(cache.stats().getEvictions()).isEqualTo(10);
+        for (int key = 0; key <= 100; key++) {
+            assertThat(cache.get(key)).isEqualTo(key % 10 == 0 && key < 100 ? null : key);
+        }
+    }
+
+    @Test
+    void invalidatesByPredicate() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, clock::get);
+        cache.put("t1", "alice", clock.get() + 100);
+        cache.put("t2", "bob", clock.get() + 100);
+        cache.put("t3", "alice", clock.get() + 100);
+
+        cache.invalidateIf((token, user) -> user.equals("alice"));
+
+        assertThat(cache.get("t1")).isNull();
+        assertThat(cache.get("t2")).isEqualTo("bob");
+        assertThat(cache.get("t3")).isNull();
+    }
+}
@@ -0,0 +1,110 @@
+package server.stocksyncbackend.utils.cache;
+
+import org.junit.jupiter.api.Test;
+import server.stocksyncbackend.service.inventory.StockLocation;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongIntHashMapTest {
+
+    private static final int MISSING = Integer.MIN_VALUE;
+
+    @Test
+    void growsFromTheSmallestTableAndKeepsEveryEntry() {
+        LongIntHashMap map = new LongIntHashMap(1);
+        int initialCapacity = map.capacity();
+
+        for (long key = 1; key <= 10_000; key++) {
+            map.put(key, (int) key * 3);
+        }
+
+        assertThat(map.capacity()).isGreaterThan(initialCapacity);
+        assertThat(map.size()).isEqualTo(10_000);
+        assertThat(map.size()).isLessThanOrEqualTo((int) (map.capacity() * 0.75f));
+        for (long key = 1; key <= 10_000; key++) {
+            assertThat(map.get(key, MISSING)).isEqualTo((int) key * 3);
+        }
+        assertThat(map.get(10_001, MISSING)).isEqualTo(MISSING);
+    }
+
+    @Test
+    void addToStartsFromZero() {
+        LongIntHashMap map = new LongIntHashMap(16);
+
+        assertThat(map.addTo(42, 5)).isEqualTo(5);
+        assertThat(map.addTo(42, -7)).isEqualTo(-2);
+        assertThat(map.get(42, MISSING)).isEqualTo(-2);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removeKeepsTheRestOfAProbeRunReachable() {
+        // a small table that is never resized: eight keys in 16 slots collide into shared runs
+        LongIntHashMap map = new LongIntHashMap(12);
+        int capacity = map.capacity();
+        long[] keys = new long[8];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = StockLocation.key(i + 1, 7);
+            map.put(keys[i], i);
+        }
+
+        for (int i = 0; i < keys.length; i += 2) {
+            assertThat(map.remove(keys[i], MISSING)).isEqualTo(i);
+        }
+
+        assertThat(map.capacity()).isEqualTo(capacity);
+        assertThat(map.size()).isEqualTo(4);
+        for (int i = 0; i < keys.length; i++) {
+            assertThat(map.containsKey(keys[i])).isEqualTo(i % 2 == 1);
+            assertThat(map.get(keys[i], MISSING)).isEqualTo(i % 2 == 1 ? i : MISSING);
+        }
+        assertThat(map.remove(keys[0], MISSING)).isEqualTo(MISSING);
+    }
+
+    @Test
+    void matchesHashMapUnderRandomPutsAddsAndRemoves() {
+        LongIntHashMap map = new LongIntHashMap(1);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(20_240_601L);
+
+        for (int op = 0; op < 200_000; op++) {
+            // a narrow key range so removed keys come back and runs wrap around the table
+            long key = StockLocation.key(1 + random.nextInt(3_000), 1 + random.nextInt(3));
+            int value = random.nextInt(1_000);
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    map.put(key, value);
+                    expected.put(key, value);
+                }
+                case 1 -> assertThat(map.addTo(key, value)).isEqualTo(expected.merge(key, value, Integer::sum));
+                case 2 -> assertThat(map.remove(key, MISSING)).isEqualTo(orMissing(expected.remove(key)));
+                default -> assertThat(map.get(key, MISSING)).isEqualTo(orMissing(expected.get(key)));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        Map<Long, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void rejectsTheEmptySlotKey() {
+        LongIntHashMap map = new LongIntHashMap(16);
+
+        assertThatThrownBy(() -> map.put(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(map.get(0, MISSING)).isEqualTo(MISSING);
+        assertThat(map.containsKey(0)).isFalse();
+        assertThat(map.remove(0, MISSING)).isEqualTo(MISSING);
+        assertThat(map.size()).isZero();
+    }
+
+    private static int orMissing(Integer value) {
+        return value == null ? MISSING : value;
+    }
+}
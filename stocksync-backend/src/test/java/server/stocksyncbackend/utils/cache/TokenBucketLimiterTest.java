@@ -0,0 +1,104 @@
+package server.stocksyncbackend.utils.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    // starts far from 0 so nothing depends on the clock's origin
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    // 5 tokens, one more every second
+    private final TokenBucketLimiter limiter = new TokenBucketLimiter(4, 5, 60, clock::get);
+
+    @Test
+    void newKeyStartsWithAFullBucket() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("alice")).isZero();
+        }
+
+        assertThat(limiter.tryAcquire("alice")).isCloseTo(SECOND, within(1L));
+    }
+
+    @Test
+    void refillsContinuouslyAtTheConfiguredRate() {
+        drain("alice");
+
+        clock.addAndGet(SECOND / 4);
+        assertThat(limiter.tryAcquire("alice")).isCloseTo(3 * SECOND / 4, within(1L));
+
+        // the rejected attempt took nothing: a full second after draining there is one token
+        clock.addAndGet(3 * SECOND / 4);
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isCloseTo(SECOND, within(1L));
+    }
+
+    @Test
+    void refillStopsAtCapacity() {
+        drain("alice");
+
+        clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("alice")).isZero();
+        }
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        drain("alice");
+
+        assertThat(limiter.tryAcquire("bob")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+    }
+
+    @Test
+    void singleStripeKeepsKeysApart() {
+        TokenBucketLimiter single = new TokenBucketLimiter(1, 1, 60, clock::get);
+
+        assertThat(single.tryAcquire("alice")).isZero();
+        assertThat(single.tryAcquire("bob")).isZero();
+        assertThat(single.tryAcquire("alice")).isPositive();
+        assertThat(single.size()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsOnlyBucketsThatHaveRefilled() {
+        drain("alice");
+        limiter.tryAcquire("bob");
+        assertThat(limiter.size()).isEqualTo(2);
+
+        // bob was one token down and is full again after a second; alice still needs four more
+        clock.addAndGet(SECOND);
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+
+        clock.addAndGet(4 * SECOND);
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+        assertThat(limiter.size()).isZero();
+    }
+
+    @Test
+    void evictedKeyComesBackWithNoMoreThanCapacity() {
+        drain("alice");
+        clock.addAndGet(5 * SECOND);
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+
+        drain("alice");
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+    }
+
+    private void drain(String key) {
+        while (limiter.tryAcquire(key) == 0) {
+            // take every token left
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package server.stocksyncbackend.utils.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedLocksTest {
+
+    private final StripedLocks locks = new StripedLocks(8);
+
+    @Test
+    void roundsStripeCountUpToAPowerOfTwo() {
+        assertThat(new StripedLocks(1).stripeCount()).isEqualTo(1);
+        assertThat(new StripedLocks(5).stripeCount()).isEqualTo(8);
+        assertThat(new StripedLocks(256).stripeCount()).isEqualTo(256);
+    }
+
+    @Test
+    void opposingKeyOrdersDoNotDeadlock() throws Exception {
+        // every key set covers the same stripes, handed over in opposite orders;
+        // taking them as given would deadlock within a few rounds
+        long[] forward = new long[32];
+        long[] backward = new long[32];
+        for (int i = 0; i < forward.length; i++) {
+            forward[i] = i + 1;
+            backward[forward.length - 1 - i] = i + 1;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?>[] workers = new Future<?>[4];
+            for (int t = 0; t < workers.length; t++) {
+                long[] keys = t % 2 == 0 ? forward : backward;
+                workers[t] = executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < 20_000; round++) {
+                        StripedLocks.Held held = locks.lockAll(keys);
+                        held.close();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void holdsEveryStripeUntilClosed() throws Exception {
+        long[] keys = {11, 22, 33};
+        StripedLocks.Held held = locks.lockAll(keys);
+        try {
+            for (long key : keys) {
+                assertThat(lockedElsewhere(new long[]{key})).isTrue();
+            }
+        } finally {
+            held.close();
+        }
+
+        assertThat(lockedElsewhere(keys)).isFalse();
+    }
+
+    @Test
+    void releasesWhenTheLockedSectionThrows() throws Exception {
+        long[] keys = {1, 2, 3, 4, 5};
+
+        assertThatThrownBy(() -> {
+            StripedLocks.Held held = locks.lockAll(keys);
+            try {
+                throw new IllegalStateException("posting failed");
+            } finally {
+                held.close();
+            }
+        }).isInstanceOf(IllegalStateException.class);
+
+        assertThat(lockedElsewhere(keys)).isFalse();
+    }
+
+    @Test
+    void closeTwiceReleasesOnce() throws Exception {
+        long[] keys = {7, 7, 8};
+        StripedLocks.Held outer = locks.lockAll(keys);
+        // reentrant: the same thread can take the stripes again
+        StripedLocks.Held inner = locks.lockAll(keys);
+
+        inner.close();
+        inner.close();
+        assertThat(lockedElsewhere(keys)).isTrue();
+
+        outer.close();
+        assertThat(lockedElsewhere(keys)).isFalse();
+    }
+
+    // whether another thread is kept from taking the keys' stripes
+    private boolean lockedElsewhere(long[] keys) throws Exception {
+        CompletableFuture<Void> attempt = CompletableFuture.runAsync(() -> locks.lockAll(keys).close());
+        try {
+            attempt.get(200, TimeUnit.MILLISECONDS);
+            return false;
+        } catch (TimeoutException ex) {
+            return true;
+        }
+    }
+}
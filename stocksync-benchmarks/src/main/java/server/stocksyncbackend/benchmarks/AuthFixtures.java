@@ -0,0 +1,108 @@
+package server.stocksyncbackend.benchmarks;
+
+import org.springframework.test.util.ReflectionTestUtils;
+import server.stocksyncbackend.config.security.PermissionRegistry;
+import server.stocksyncbackend.utils.jwt.JwtAlgorithm;
+import server.stocksyncbackend.utils.jwt.JwtKeyRing;
+import server.stocksyncbackend.utils.jwt.JwtService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+// Builds the auth services the way Spring would (same fields, same @PostConstruct hooks)
+// without starting a context, so the benchmarks measure only the code under test.
+final class AuthFixtures {
+
+    static final String KID = "bench";
+
+    private AuthFixtures() {
+    }
+
+    static PermissionRegistry permissionRegistry() {
+        PermissionRegistry registry = new PermissionRegistry();
+        ReflectionTestUtils.invokeMethod(registry, "compile");
+        return registry;
+    }
+
+    static JwtService jwtService(JwtAlgorithm algorithm, Path keyDir, PermissionRegistry permissionRegistry) {
+        writeKeyPair(algorithm, keyDir);
+
+        JwtKeyRing keyRing = new JwtKeyRing();
+        // no legacy pair: the only key is <keyDir>/bench.*.pem
+        ReflectionTestUtils.setField(keyRing, "privateKeyPath", keyDir.resolve("none.pem").toString());
+        ReflectionTestUtils.setField(keyRing, "publicKeyPath", keyDir.resolve("none.pem").toString());
+        ReflectionTestUtils.setField(keyRing, "algorithm", algorithm.getJoseName());
+        ReflectionTestUtils.setField(keyRing, "keyDir", keyDir.toString());
+        ReflectionTestUtils.setField(keyRing, "signingKid", KID);
+        ReflectionTestUtils.invokeMethod(keyRing, "init");
+
+        JwtService jwtService = new JwtService(keyRing, permissionRegistry);
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 900_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 604_800_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedTokenCacheSize", 10_000);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        return jwtService;
+    }
+
+    static Path tempKeyDir() {
+        try {
+            Path dir = Files.createTempDirectory("stocksync-bench-keys");
+            // deleteOnExit cannot remove a directory that still holds the key files
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteRecursively(dir)));
+            return dir;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException ignored) {
+            // best effort, the directory is under the system temp dir
+        }
+    }
+
+    private static void writeKeyPair(JwtAlgorithm algorithm, Path keyDir) {
+        try {
+            KeyPair keys = keyPair(algorithm);
+            Files.writeString(keyDir.resolve(KID + ".private.pem"), pem("PRIVATE KEY", keys.getPrivate().getEncoded()));
+            Files.writeString(keyDir.resolve(KID + ".public.pem"), pem("PUBLIC KEY", keys.getPublic().getEncoded()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static KeyPair keyPair(JwtAlgorithm algorithm) throws GeneralSecurityException {
+        KeyPairGenerator generator;
+        switch (algorithm) {
+            case RS256 -> {
+                generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+            }
+            case ES256 -> {
+                generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            }
+            default -> generator = KeyPairGenerator.getInstance("Ed25519");
+        }
+        return generator.generateKeyPair();
+    }
+
+    private static String pem(String type, byte[] der) {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der);
+        return "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n";
+    }
+}
@@ -0,0 +1,54 @@
+package server.stocksyncbackend.benchmarks;
+
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import server.stocksyncbackend.utils.CookieUtil;
+
+import java.util.concurrent.TimeUnit;
+
+// Refresh-cookie lookup with the refresh token behind cookieCount - 1 unrelated cookies
+// (analytics, consent, ...), and writing the cookie on a response.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CookieUtilBenchmark {
+
+    @Param({"1", "8", "32"})
+    public int cookieCount;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private String refreshToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        refreshToken = "eyJraWQiOiJiZW5jaCJ9." + "x".repeat(300) + ".signature";
+
+        Cookie[] cookies = new Cookie[cookieCount];
+        for (int i = 0; i < cookieCount - 1; i++) {
+            cookies[i] = new Cookie("other_" + i, "value-" + i);
+        }
+        cookies[cookieCount - 1] = new Cookie("refreshToken", refreshToken);
+
+        request = new MockHttpServletRequest("POST", "/api/auth/refresh");
+        request.setCookies(cookies);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public String extractRefreshToken() {
+        return CookieUtil.extractRefreshToken(request);
+    }
+
+    @Benchmark
+    public Object addRefreshToken() {
+        response.reset();
+        CookieUtil.addRefreshToken(response, refreshToken);
+        return response.getCookies();
+    }
+}
@@ -0,0 +1,93 @@
+package server.stocksyncbackend.benchmarks;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import server.stocksyncbackend.config.filters.JwtAuthenticationFilter;
+import server.stocksyncbackend.config.security.PermissionRegistry;
+import server.stocksyncbackend.service.CustomUserDetailsService;
+import server.stocksyncbackend.service.user.UserPrincipal;
+import server.stocksyncbackend.service.user.UserPrincipalCache;
+import server.stocksyncbackend.utils.jwt.JwtAlgorithm;
+import server.stocksyncbackend.utils.jwt.JwtService;
+import server.stocksyncbackend.utils.types.UserStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of the authentication filter for a Bearer request whose token is already
+// in the verified-token cache (the steady state). The user lookups are in-memory stubs, so
+// claimsAuthentication=false shows the filter's own overhead, not database latency.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String USERNAME = "benchmark-user";
+    private static final Set<String> ROLES = Set.of("ADMIN", "PURCHASING");
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"true", "false"})
+    public boolean claimsAuthentication;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PermissionRegistry permissionRegistry = AuthFixtures.permissionRegistry();
+        JwtService jwtService = AuthFixtures.jwtService(JwtAlgorithm.RS256, AuthFixtures.tempKeyDir(), permissionRegistry);
+
+        List<GrantedAuthority> authorities = ROLES.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        UserPrincipal principal = new UserPrincipal(
+                1L, USERNAME, "bench@example.com", "{bcrypt}unused", UserStatus.ACTIVE,
+                ROLES, authorities, permissionRegistry.maskFor(ROLES)
+        );
+
+        UserPrincipalCache principals = new UserPrincipalCache(null, permissionRegistry) {
+            @Override
+            public Optional<UserPrincipal> get(String username) {
+                return Optional.of(principal);
+            }
+        };
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(principals, null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return new User(principal.getUsername(), principal.getPasswordHash(), principal.getAuthorities());
+            }
+        };
+
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, principals);
+        ReflectionTestUtils.setField(filter, "claimsAuthentication", claimsAuthentication);
+
+        request = new MockHttpServletRequest("GET", "/api/grns");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateAccessToken(USERNAME, ROLES));
+        response = new MockHttpServletResponse();
+    }
+
+    // Clears the context inside the measured call: the filter skips requests that are already
+    // authenticated, and a Level.Invocation teardown would add timer overhead to every call.
+    // Clearing a thread-local is a few nanoseconds, the same in both claimsAuthentication runs.
+    @Benchmark
+    public Object doFilter() throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,59 @@
+package server.stocksyncbackend.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import server.stocksyncbackend.utils.jwt.JwtAlgorithm;
+import server.stocksyncbackend.utils.jwt.JwtService;
+import server.stocksyncbackend.utils.jwt.VerifiedAccessToken;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Token issue and verification cost per signing algorithm.
+// validateToken is the full signature check; verifyAccessToken is the cached path the filter uses.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final Set<String> ROLES = Set.of("ADMIN", "PURCHASING");
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    private JwtService jwtService;
+    private String accessToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = AuthFixtures.jwtService(
+                JwtAlgorithm.fromName(algorithm),
+                AuthFixtures.tempKeyDir(),
+                AuthFixtures.permissionRegistry()
+        );
+        accessToken = jwtService.generateAccessToken("benchmark-user", ROLES);
+        jwtService.verifyAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken("benchmark-user", ROLES);
+    }
+
+    @Benchmark
+    public Object validateToken() {
+        return jwtService.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public Set<String> extractRoles() {
+        return jwtService.extractRoles(accessToken);
+    }
+
+    @Benchmark
+    public VerifiedAccessToken verifyAccessTokenCached() {
+        return jwtService.verifyAccessToken(accessToken);
+    }
+}
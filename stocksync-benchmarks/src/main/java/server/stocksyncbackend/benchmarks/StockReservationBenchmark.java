@@ -0,0 +1,146 @@
+package server.stocksyncbackend.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import server.stocksyncbackend.service.inventory.StockLocation;
+import server.stocksyncbackend.utils.concurrent.StripedLocks;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Reserve-then-release cycles of multi-line orders from 4 threads, each order touching
+// linesPerOrder distinct locations out of hotLocations in random (unsorted) order: fewer hot
+// locations means more orders fighting over the same stripes. The database round trip that
+// StockReservationService makes while holding its stripes is emulated with dbWork tokens of
+// Blackhole.consumeCPU, so these numbers rank locking schemes, not end-to-end latency.
+// globalLock is the single-lock baseline that striping replaces.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class StockReservationBenchmark {
+
+    private static final long WAREHOUSE_ID = 1;
+    private static final int STOCK_PER_LOCATION = 1_000_000;
+
+    @Param({"1", "16", "4096"})
+    public int hotLocations;
+
+    @Param({"1", "4"})
+    public int linesPerOrder;
+
+    @Param({"256"})
+    public int stripes;
+
+    @Param({"200"})
+    public int dbWork;
+
+    private StripedLocks stripedLocks;
+    private final ReentrantLock globalLock = new ReentrantLock();
+    // available quantity per hot location, written only under the location's stripe (or the global lock)
+    private int[] available;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stripedLocks = new StripedLocks(stripes);
+        available = new int[hotLocations];
+        Arrays.fill(available, STOCK_PER_LOCATION);
+    }
+
+    @State(Scope.Thread)
+    public static class Order {
+        private final SplittableRandom random = new SplittableRandom();
+        int[] locations;
+        long[] keys;
+
+        @Setup(Level.Invocation)
+        public void next(StockReservationBenchmark benchmark) {
+            int lines = Math.min(benchmark.linesPerOrder, benchmark.hotLocations);
+            locations = new int[lines];
+            keys = new long[lines];
+            for (int i = 0; i < lines; i++) {
+                int location;
+                do {
+                    location = random.nextInt(benchmark.hotLocations);
+                } while (contains(locations, i, location));
+                locations[i] = location;
+                keys[i] = StockLocation.key(location + 1, WAREHOUSE_ID);
+            }
+        }
+
+        private static boolean contains(int[] values, int length, int value) {
+            for (int i = 0; i < length; i++) {
+                if (values[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean stripedLocks(Order order) {
+        boolean reserved;
+        StripedLocks.Held held = stripedLocks.lockAll(order.keys);
+        try {
+            reserved = reserve(order.locations);
+        } finally {
+            held.close();
+        }
+        if (reserved) {
+            held = stripedLocks.lockAll(order.keys);
+            try {
+                release(order.locations);
+            } finally {
+                held.close();
+            }
+        }
+        return reserved;
+    }
+
+    @Benchmark
+    public boolean globalLock(Order order) {
+        boolean reserved;
+        globalLock.lock();
+        try {
+            reserved = reserve(order.locations);
+        } finally {
+            globalLock.unlock();
+        }
+        if (reserved) {
+            globalLock.lock();
+            try {
+                release(order.locations);
+            } finally {
+                globalLock.unlock();
+            }
+        }
+        return reserved;
+    }
+
+    // all lines or none, as the conditional UPDATEs do
+    private boolean reserve(int[] locations) {
+        Blackhole.consumeCPU(dbWork);
+        for (int location : locations) {
+            if (available[location] < 1) {
+                return false;
+            }
+        }
+        for (int location : locations) {
+            available[location]--;
+        }
+        return true;
+    }
+
+    private void release(int[] locations) {
+        Blackhole.consumeCPU(dbWork);
+        for (int location : locations) {
+            available[location]++;
+        }
+    }
+}
@@ -7,7 +7,7 @@ import { useRouter } from 'next/navigation';
 import { DropdownSelect } from '@/components/ui/dropdown-select';
 import Loader from '@/components/ui/loader';
 import { getGrnKpi, getGrns } from '@/service/grn';
-import type { GrnKpiResponse, GrnStatus } from '@/utils/types/grn';
+import type { GrnKpiResponse, GrnListItemResponse, GrnStatus } from '@/utils/types/grn';
 
 type GrnStatusFilter = 'All' | GrnStatus | 'UNDER_INSPECTION' | string;
 
@@ -22,13 +22,26 @@ type GrnCard = {
     inspectionLevel: string | null;
 };
 
+const toCard = (g: GrnListItemResponse): GrnCard => ({
+    id: g.id,
+    poId: g.Poid,
+    receivedDate: g.receivedDate === 'null' ? null : g.receivedDate,
+    grnNote: g.grnNote,
+    status: g.status,
+    receivedBy: g.receivedBy,
+    notes: g.notes,
+    inspectionLevel: g.inspectionLevel,
+});
+
 const GRNPage: React.FC = () => {
 
     const router = useRouter();
 
     const [grns, setGrns] = useState<GrnCard[]>([]);
     const [kpi, setKpi] = useState<GrnKpiResponse | null>(null);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
     const [isLoading, setIsLoading] = useState(true);
+    const [isLoadingMore, setIsLoadingMore] = useState(false);
     const [error, setError] = useState<string | null>(null);
 
     useEffect(() => {
@@ -38,22 +51,12 @@ const GRNPage: React.FC = () => {
             try {
                 setIsLoading(true);
                 setError(null);
-                const [data, kpiData] = await Promise.all([getGrns(), getGrnKpi()]);
+                const [page, kpiData] = await Promise.all([getGrns(), getGrnKpi()]);
 
                 if (!isMounted) return;
 
-                const mapped: GrnCard[] = data.map((g) => ({
-                    id: g.id,
-                    poId: g.Poid,
-                    receivedDate: g.receivedDate === 'null' ? null : g.receivedDate,
-                    grnNote: g.grnNote,
-                    status: g.status,
-                    receivedBy: g.receivedBy,
-                    notes: g.notes,
-                    inspectionLevel: g.inspectionLevel,
-                }));
-
-                setGrns(mapped);
+                setGrns(page.items.map(toCard));
+                setNextCursor(page.nextCursor);
                 setKpi(kpiData);
             } catch (e: unknown) {
                 if (!isMounted) return;
@@ -70,6 +73,20 @@ const GRNPage: React.FC = () => {
         };
     }, []);
 
+    const loadMore = async () => {
+        if (!nextCursor || isLoadingMore) return;
+        try {
+            setIsLoadingMore(true);
+            const page = await getGrns(nextCursor);
+            setGrns(prev => [...prev, ...page.items.map(toCard)]);
+            setNextCursor(page.nextCursor);
+        } catch (e: unknown) {
+            setError(e instanceof Error ? e.message : 'Failed to load GRNs');
+        } finally {
+            setIsLoadingMore(false);
+        }
+    };
+
     const [searchTerm, setSearchTerm] = useState('');
     const [statusFilter, setStatusFilter] = useState<GrnStatusFilter>('All');
 
@@ -309,6 +326,20 @@ const GRNPage: React.FC = () => {
                         <p>No GRNs found</p>
                     </motion.div>
                 )}
+
+                {nextCursor && (
+                    <div className="flex justify-center mt-6">
+                        <motion.button
+                            whileHover={{ scale: 1.05 }}
+                            whileTap={{ scale: 0.95 }}
+                            onClick={() => { void loadMore(); }}
+                            disabled={isLoadingMore}
+                            className="bg-secondary text-secondary-foreground px-6 py-3 rounded-lg font-medium transition-all disabled:opacity-50"
+                        >
+                            {isLoadingMore ? 'Loading…' : 'Load more'}
+                        </motion.button>
+                    </div>
+                )}
             </div>
         </div>
     );
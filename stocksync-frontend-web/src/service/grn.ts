@@ -2,12 +2,15 @@ import api from '@/lib/axios';
 import type {
 	CreateGrnRequest,
 	GrnKpiResponse,
-	GrnListItemResponse,
+	GrnPageResponse,
 	PurchaseOrderResponse,
 } from '@/utils/types/grn';
 
-export async function getGrns(): Promise<GrnListItemResponse[]> {
-	const res = await api.get<GrnListItemResponse[]>('/api/grns');
+// Pass the previous page's nextCursor to fetch the following page.
+export async function getGrns(cursor?: string | null): Promise<GrnPageResponse> {
+	const res = await api.get<GrnPageResponse>('/api/grns', {
+		params: cursor ? { cursor } : undefined,
+	});
 	return res.data;
 }
 
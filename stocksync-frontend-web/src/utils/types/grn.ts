@@ -2,7 +2,7 @@ export type GrnStatus = 'RECEIVED' | 'UNDER_INSPECTION' | 'COMPLETED' | 'INCOMPL
 export type LocationLevel = 'WAREHOUSE' | string;
 export type CategoryStatus = 'FINISHED_GOODS' | 'RAW_MATERIALS' | string;
 
-// Shape returned by GET /api/grns (list endpoint)
+// One GRN in a page returned by GET /api/grns
 export interface GrnListItemResponse {
     id: number;
     Poid: number;
@@ -14,6 +14,13 @@ export interface GrnListItemResponse {
     inspectionLevel: LocationLevel | null;
 }
 
+// Shape returned by GET /api/grns (keyset page, newest first)
+export interface GrnPageResponse {
+    items: GrnListItemResponse[];
+    nextCursor: string | null;
+    hasMore: boolean;
+}
+
 export interface SupplierResponse {
     supplierId: number;
     supplierName: string;